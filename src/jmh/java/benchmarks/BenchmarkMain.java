@@ -0,0 +1,22 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of target/benchmarks.jar: the standard JMH command line, always with the gc profiler attached so
+ * every result carries its allocation rate (gc.alloc.rate.norm is bytes allocated per operation).
+ * Example: {@code java -jar target/benchmarks.jar HotMethodBenchmark -p method=Day9.solvePartTwo}
+ */
+public class BenchmarkMain {
+
+	public static void main(String[] args) throws Exception {
+		var options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
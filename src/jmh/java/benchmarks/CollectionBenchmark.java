@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the primitive collections against the boxed JDK collections they replaced, filling a fresh collection
+ * with the same random keys; each primitive operation is listed right before its boxed equivalent.
+ * Example: {@code java -jar target/benchmarks.jar CollectionBenchmark -p op=LongLongMap.addTo,HashMap<Long,Long>.merge}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+
+	@Param({
+			"LongLongMap.addTo",
+			"HashMap<Long,Long>.merge",
+			"IntIntMap.addTo",
+			"HashMap<Integer,Integer>.merge",
+			"LongHashSet.add",
+			"HashSet<Long>.add",
+			"IntHashSet.add",
+			"HashSet<Integer>.add",
+			"IntList.add",
+			"ArrayList<Integer>.add"
+	})
+	public String op;
+
+	@Param({"1000", "100000"})
+	public int size;
+
+	private Supplier<Object> target;
+
+	@Setup
+	public void setUp() throws Exception {
+		target = Targets.collectionOp(op, size);
+	}
+
+	@Benchmark
+	public Object run() {
+		return target.get();
+	}
+}
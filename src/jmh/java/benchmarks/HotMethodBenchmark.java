@@ -0,0 +1,78 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the hot method of every day on an input parsed once per trial.
+ * Sweep input sizes with {@code -p input=small.txt,medium.txt,large.txt} and a single {@code -p method=...};
+ * the default empty input is the day's checked-in puzzle input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotMethodBenchmark {
+
+	@Param({
+			"SetDifferenceCalculator.readColumns",
+			"SetDifferenceCalculator.totalDistance",
+			"SetDifferenceCalculator.similarityScore",
+			"SafeRowChecker.countSafeRows",
+			"CorruptedMemorySolver.calculateSumWithControlInstructions",
+			"WordSearchSolver.countWordOccurrences",
+			"XMASFinder.countXMASPatterns",
+			"Day05.partTwoMiddle",
+			"GuardPatrol.countVisitedPositions",
+			"GuardPatrolWithObstruction.countLoopingObstructions",
+			"Day7.calculateCalibrationResultWithAllOperators",
+			"Day8.calculateAntinodePositions",
+			"Day9.solvePartTwo",
+			"Day10.sumRatings",
+			"Day11.blink",
+			"Grid.regions",
+			"ClawMachineGame.tokens",
+			"Day14.find3x3ClusterTime",
+			"Challenge.gpsSum",
+			"Day16Grid.shortestPath",
+			"Computer.selfReplicator",
+			"Day18.steps",
+			"Day19Puzzle.solutions",
+			"Day20Grid.countGoodCheats",
+			"KeyPad.complexity",
+			"Market.iterateAllBuyers",
+			"Day23Puzzle.embiggen",
+			"Day24Puzzle.swappedWires",
+			"Day25Puzzle.fittingPieces"
+	})
+	public String method;
+
+	@Param("")
+	public String input;
+
+	private Supplier<Object> target;
+
+	@Setup
+	public void setUp() throws Exception {
+		target = Targets.hotMethod(method, input);
+	}
+
+	@Benchmark
+	public Object run() {
+		return target.get();
+	}
+}
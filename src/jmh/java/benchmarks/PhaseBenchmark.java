@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Measures the parse, part one and part two phases of every day separately, the same split the Launcher reports.
+ * The parse phase maps and reads the input on every call. The parts share a model parsed again before each iteration
+ * and, for the days whose parts change their model (e.g. Day 19's memo), work on a fresh copy of it on every call, so
+ * nothing one call leaves behind makes the next one cheaper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhaseBenchmark {
+
+	@Param({"4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16", "17", "18", "19", "20", "21", "22", "23", "24", "25"})
+	public int day;
+
+	@Param("")
+	public String input;
+
+	private Callable<Object> parse;
+
+	// The parsed model the parts run on, kept apart so the parse benchmark never pays for parsing it
+	@State(Scope.Benchmark)
+	public static class Model {
+		private Function<Object, Object> partOne;
+		private Function<Object, Object> partTwo;
+		private UnaryOperator<Object> copy;
+		private Callable<Object> parse;
+		private Object model;
+
+		@Setup
+		public void setUp(BenchmarkParams params) throws Exception {
+			int day = Integer.parseInt(params.getParam("day"));
+			parse = Targets.parse(day, params.getParam("input"));
+			partOne = Targets.partOne(day);
+			partTwo = Targets.partTwo(day);
+			copy = Targets.copy(day);
+		}
+
+		@Setup(Level.Iteration)
+		public void parseModel() throws Exception {
+			model = parse.call();
+		}
+	}
+
+	@Setup
+	public void setUp() throws Exception {
+		parse = Targets.parse(day, input);
+	}
+
+	@Benchmark
+	public Object parse() throws Exception {
+		return parse.call();
+	}
+
+	@Benchmark
+	public Object partOne(Model model) {
+		return model.partOne.apply(model.copy.apply(model.model));
+	}
+
+	@Benchmark
+	public Object partTwo(Model model) {
+		return model.partTwo.apply(model.copy.apply(model.model));
+	}
+}
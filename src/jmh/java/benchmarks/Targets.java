@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// Reflective access to BenchmarkTargets, which lives in the default package with the days
+final class Targets {
+
+	private static final String BRIDGE = "BenchmarkTargets";
+
+	private Targets() {
+	}
+
+	@SuppressWarnings("unchecked")
+	static Supplier<Object> hotMethod(String name, String input) throws Exception {
+		return (Supplier<Object>) invoke("hotMethod", new Class<?>[]{String.class, String.class}, name, input);
+	}
+
+	@SuppressWarnings("unchecked")
+	static Supplier<Object> collectionOp(String name, int size) throws Exception {
+		return (Supplier<Object>) invoke("collectionOp", new Class<?>[]{String.class, int.class}, name, size);
+	}
+
+	@SuppressWarnings("unchecked")
+	static Callable<Object> parse(int day, String input) throws Exception {
+		return (Callable<Object>) invoke("parse", new Class<?>[]{int.class, String.class}, day, input);
+	}
+
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> partOne(int day) throws Exception {
+		return (Function<Object, Object>) invoke("partOne", new Class<?>[]{int.class}, day);
+	}
+
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> partTwo(int day) throws Exception {
+		return (Function<Object, Object>) invoke("partTwo", new Class<?>[]{int.class}, day);
+	}
+
+	@SuppressWarnings("unchecked")
+	static UnaryOperator<Object> copy(int day) throws Exception {
+		return (UnaryOperator<Object>) invoke("copy", new Class<?>[]{int.class}, day);
+	}
+
+	private static Object invoke(String method, Class<?>[] types, Object... args) throws Exception {
+		try {
+			return Class.forName(BRIDGE).getMethod(method, types).invoke(null, args);
+		} catch (InvocationTargetException e) {
+			// Surface the bridge's own exception, e.g. a missing input file
+			throw e.getCause() instanceof Exception cause ? cause : e;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * A solver whose model is a list of independent lines or sections, so lines appended to an input can be parsed on
+ * their own and added to a model parsed earlier instead of parsing the whole input again.
+ * The same lets a file too large to map in one piece, or a compressed one, be parsed piece by piece as it's read.
+ * @param <M> The type the input is parsed into.
+ */
+interface AppendableSolver<M> extends Solver<M> {
+
+	// The most bytes of a file parsed at once when it's read in pieces
+	int CHUNK_BYTES = 64 << 20;
+
+	/**
+	 * Parses the part of an input after {@code from} into a model parsed from the bytes before it.
+	 * Both parts answered from the extended model must give the same answers as from a full parse of the input.
+	 * Only the bytes from {@code from} on may be read: when a file is read in pieces the input is just the next piece,
+	 * and {@code from} is 0. A piece is cut after a line break, not between sections, so a model of sections keeps the
+	 * lines of one that's cut off and finishes it from the next piece.
+	 * @param model The model parsed from the input up to this point
+	 * @param input The input holding the new lines, possibly after what the model was parsed from
+	 * @param from Where the new lines start; always just after a line break
+	 */
+	void append(M model, PuzzleInput input, int from);
+
+	/**
+	 * Parses a file as it's read in pieces, the first parsed and the rest appended, so it's never held in one piece:
+	 * a compressed file is decoded straight into the parser, and a plain one can be larger than 2 GB.
+	 * @param path Path to the input file
+	 * @return The parsed model
+	 * @throws IOException If the file can't be read or decoded
+	 */
+	default M parse(Path path) throws IOException {
+		// Parses the first piece and appends every later one to its model
+		class Pieces implements Consumer<PuzzleInput> {
+			M model;
+
+			@Override
+			public void accept(PuzzleInput piece) {
+				if (model == null) {
+					model = parse(piece);
+				} else {
+					append(model, piece, 0);
+				}
+			}
+		}
+		Pieces pieces = new Pieces();
+		PuzzleInput.readChunks(path, CHUNK_BYTES, pieces);
+		return pieces.model != null ? pieces.model : parse(PuzzleInput.of(new byte[0])); // An empty file has no piece
+	}
+}
@@ -0,0 +1,151 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves every input in a directory with the same day's solver, spread over the cores, and writes one CSV row per
+ * input with its answers and phase timings.
+ * Usage: {@code java BatchSolver --day N [--threads N] [--out FILE] [--glob PATTERN] DIR}
+ * Inputs are listed lazily and at most two per thread are in flight at a time, so memory stays flat however many
+ * files the directory holds; rows are written in the order inputs finish. The solvers share their read-only
+ * precomputation through static state, such as Day21's keypad path table and instruction cache, so only the first
+ * inputs pay for it. The CSV goes to stdout unless {@code --out} is given; the summary, with throughput in inputs
+ * per second, always goes to stderr.
+ */
+public class BatchSolver {
+
+	// One row of the CSV; answers and error are null where they don't apply
+	private record Row(Path file, SolverResult result, Throwable error) {
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int day = 0;
+		int threads = Runtime.getRuntime().availableProcessors();
+		Path out = null;
+		String glob = "*";
+		Path dir = null;
+
+		// Parse the command line
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--day" -> day = Integer.parseInt(args[++i]);
+				case "--threads" -> threads = Math.max(1, Integer.parseInt(args[++i]));
+				case "--out" -> out = Path.of(args[++i]);
+				case "--glob" -> glob = args[++i];
+				default -> dir = Path.of(args[i]);
+			}
+		}
+		if (day == 0 || dir == null) {
+			System.err.println("Usage: java BatchSolver --day N [--threads N] [--out FILE] [--glob PATTERN] DIR");
+			System.exit(2);
+		}
+		Solvers.forDay(day); // Fails fast on an unknown day, before any file is opened
+
+		PrintWriter csv = out == null
+				? new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16))
+				: new PrintWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8));
+		csv.println("file,part one,part two,parse ms,part one ms,part two ms,allocated bytes,error");
+
+		ExecutorService workers = Executors.newFixedThreadPool(threads);
+		CompletionService<Row> completed = new ExecutorCompletionService<>(workers);
+		int limit = 2 * threads; // Enough queued for a free thread to pick up, few enough to bound memory
+		int inFlight = 0, solved = 0, failed = 0;
+		long start = System.nanoTime();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, glob)) {
+			for (Path file : files) {
+				if (!Files.isRegularFile(file)) {
+					continue;
+				}
+				if (inFlight == limit) {
+					if (write(csv, completed.take())) {
+						solved++;
+					} else {
+						failed++;
+					}
+					inFlight--;
+				}
+				int batchDay = day;
+				completed.submit(() -> solve(batchDay, file));
+				inFlight++;
+			}
+			for (; inFlight > 0; inFlight--) {
+				if (write(csv, completed.take())) {
+					solved++;
+				} else {
+					failed++;
+				}
+			}
+		} finally {
+			workers.shutdownNow();
+			csv.flush();
+			if (out != null) {
+				csv.close();
+			}
+		}
+		long nanos = System.nanoTime() - start;
+		Diagnostics.flush();
+
+		System.err.printf(Locale.ROOT, "Day %d: %d inputs solved, %d failed in %.3f s on %d threads, %.1f inputs/s%n",
+				day, solved, failed, nanos / 1e9, threads, (solved + failed) / (nanos / 1e9));
+	}
+
+	// Solves one input, catching a failure so it becomes a row instead of stopping the batch
+	private static Row solve(int day, Path file) {
+		try {
+			return new Row(file, Solvers.run(day, file), null);
+		} catch (IOException e) {
+			return new Row(file, null, new UncheckedIOException(e));
+		} catch (RuntimeException e) {
+			return new Row(file, null, e);
+		}
+	}
+
+	/**
+	 * Writes the row of an input that finished.
+	 * @return Whether the input was solved
+	 */
+	private static boolean write(PrintWriter csv, Future<Row> done) throws InterruptedException {
+		Row row;
+		try {
+			row = done.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Solving can't fail outside the row", e.getCause());
+		}
+		SolverResult result = row.result();
+		if (result == null) {
+			Throwable error = row.error() instanceof UncheckedIOException io ? io.getCause() : row.error();
+			csv.println(String.join(",", quote(row.file().toString()), "", "", "", "", "", "", quote(error.toString())));
+			return false;
+		}
+		csv.println(String.join(",", quote(row.file().toString()), quote(String.valueOf(result.partOne())),
+				result.partTwo() == null ? "" : quote(result.partTwo().toString()),
+				millis(result.parseNanos()), millis(result.partOneNanos()), millis(result.partTwoNanos()),
+				Long.toString(result.allocatedBytes()), ""));
+		return true;
+	}
+
+	// Quotes a field if it has to be; some answers are comma-separated lists
+	private static String quote(String field) {
+		if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+			return field;
+		}
+		return '"' + field.replace("\"", "\"\"") + '"';
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+	}
+}
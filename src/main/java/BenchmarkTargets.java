@@ -0,0 +1,322 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Entry points for the JMH benchmarks in src/jmh/java (built with {@code mvn -P jmh package}).
+ * JMH refuses to generate benchmarks for classes in the default package, and a named package cannot see the days,
+ * so the benchmarks look these methods up reflectively once during setup and only call JDK functional interfaces
+ * while measuring.
+ * An empty input means the day's checked-in input (e.g. Day9.txt); pass a bigger file to measure at a larger size.
+ */
+public final class BenchmarkTargets {
+
+	// Parses the input once and returns the hot method bound to the parsed model
+	private interface Binder {
+		Supplier<Object> bind(PuzzleInput input);
+	}
+
+	// A hot method together with the day whose input it runs on
+	private record HotMethod(int day, Binder binder) {}
+
+	private static final Map<String, HotMethod> HOT_METHODS = new LinkedHashMap<>();
+
+	// Collection operations by name, each bound to a run of random keys, primitive ones next to their boxed equivalent
+	private static final Map<String, Function<long[], Supplier<Object>>> COLLECTION_OPS = new LinkedHashMap<>();
+
+	static {
+		hot("SetDifferenceCalculator.readColumns", 1, input -> () -> SetDifferenceCalculator.readColumns(input));
+		hot("SetDifferenceCalculator.totalDistance", 1, input -> {
+			var columns = SetDifferenceCalculator.readColumns(input);
+			return () -> SetDifferenceCalculator.totalDistance(columns);
+		});
+		hot("SetDifferenceCalculator.similarityScore", 1, input -> {
+			var columns = SetDifferenceCalculator.readColumns(input);
+			return () -> SetDifferenceCalculator.similarityScore(columns);
+		});
+		hot("SafeRowChecker.countSafeRows", 2, input -> {
+			var rows = SafeRowChecker.readRows(input);
+			return () -> SafeRowChecker.countSafeRows(rows, true);
+		});
+		hot("CorruptedMemorySolver.calculateSumWithControlInstructions", 3, input -> {
+			var memory = input.chars();
+			return () -> CorruptedMemorySolver.calculateSumWithControlInstructions(memory);
+		});
+		hot("WordSearchSolver.countWordOccurrences", 4, input -> {
+			var grid = new WordSearchSolver().parse(input);
+			return () -> WordSearchSolver.countWordOccurrences(grid, "XMAS");
+		});
+		hot("XMASFinder.countXMASPatterns", 4, input -> {
+			var grid = new WordSearchSolver().parse(input);
+			return () -> XMASFinder.countXMASPatterns(grid);
+		});
+		hot("Day05.partTwoMiddle", 5, input -> {
+			var solver = new Day05();
+			var manual = solver.parse(input);
+			return () -> solver.partTwo(manual);
+		});
+		hot("GuardPatrol.countVisitedPositions", 6, input -> {
+			var map = new GuardPatrol().parse(input);
+			return () -> GuardPatrol.countVisitedPositions(map);
+		});
+		hot("GuardPatrolWithObstruction.countLoopingObstructions", 6, input -> {
+			var map = new GuardPatrol().parse(input);
+			return () -> GuardPatrolWithObstruction.countLoopingObstructions(map);
+		});
+		hot("Day7.calculateCalibrationResultWithAllOperators", 7, input -> {
+			var equations = new Day7().parse(input);
+			return () -> Day7.calculateCalibrationResultWithAllOperators(equations);
+		});
+		hot("Day8.calculateAntinodePositions", 8, input -> {
+			var day = new Day8().parse(input);
+			return () -> day.calculateAntinodePositions(true);
+		});
+		hot("Day9.solvePartTwo", 9, input -> {
+			var filesystem = new Day9().parse(input);
+			// Part two compacts the disk map in place, so every call gets a fresh copy
+			return () -> Day9.solvePartTwo(filesystem.clone());
+		});
+		hot("Day10.sumRatings", 10, input -> {
+			var map = new Day10().parse(input);
+			return () -> Day10.sumRatings(map);
+		});
+		hot("Day11.blink", 11, input -> {
+			// Measure the 75th blink, the largest map the puzzle produces
+			var stoneCounts = new Day11().parse(input);
+			for (int i = 0; i < 74; i++) {
+				stoneCounts = Day11.blink(stoneCounts);
+			}
+			var lastBlink = stoneCounts;
+			return () -> Day11.blink(lastBlink);
+		});
+		hot("Grid.regions", 12, input -> {
+			var grid = new Day12().parse(input);
+			return grid::regions;
+		});
+		hot("ClawMachineGame.tokens", 13, input -> {
+			var game = new Day13().parse(input);
+			return () -> game.tokens(10000000000000L);
+		});
+		hot("Day14.find3x3ClusterTime", 14, input -> {
+			var robots = new Day14().parse(input);
+			return () -> Day14.find3x3ClusterTime(robots);
+		});
+		hot("Challenge.gpsSum", 15, input -> {
+			var day = new Day15();
+			var warehouses = day.parse(input);
+			return () -> day.partTwo(warehouses);
+		});
+		hot("Day16Grid.shortestPath", 16, input -> {
+			var grid = new Day16().parse(input);
+			return grid::shortestPath;
+		});
+		hot("Computer.selfReplicator", 17, input -> {
+			var computer = new Day17().parse(input);
+			return computer::selfReplicator;
+		});
+		hot("Day18.steps", 18, input -> {
+			var fallen = Day18.firstFallen(new Day18().parse(input));
+			return () -> Day18.steps(fallen);
+		});
+		hot("Day19Puzzle.solutions", 19, input -> {
+			var puzzle = new Day19().parse(input);
+			// Start every call with an empty memo so the recursion is measured, not the lookups
+			return () -> puzzle.withoutMemo().allArrangements();
+		});
+		hot("Day20Grid.countGoodCheats", 20, input -> {
+			var grid = new Day20().parse(input);
+			var distances = grid.distanceMap();
+			return () -> grid.countGoodCheats(distances, 20);
+		});
+		hot("KeyPad.complexity", 21, input -> {
+			var day = new Day21();
+			var puzzle = day.parse(input);
+			return () -> day.partTwo(puzzle);
+		});
+		hot("Market.iterateAllBuyers", 22, input -> {
+			var market = new Day22().parse(input);
+			return market::iterateAllBuyers;
+		});
+		hot("Day23Puzzle.embiggen", 23, input -> {
+			var puzzle = new Day23().parse(input);
+			return () -> puzzle.embiggen(puzzle.computerPairs());
+		});
+		hot("Day24Puzzle.swappedWires", 24, input -> {
+			var puzzle = new Day24().parse(input);
+			return puzzle::swappedWires;
+		});
+		hot("Day25Puzzle.fittingPieces", 25, input -> {
+			var puzzle = new Day25().parse(input);
+			return puzzle::fittingPieces;
+		});
+	}
+
+	static {
+		// Each run fills a fresh collection with every key, as the days do once per blink, buyer or input
+		COLLECTION_OPS.put("LongLongMap.addTo", keys -> () -> {
+			LongLongMap counts = new LongLongMap();
+			for (long key : keys) {
+				counts.addTo(key, 1);
+			}
+			return counts.size();
+		});
+		COLLECTION_OPS.put("HashMap<Long,Long>.merge", keys -> () -> {
+			Map<Long, Long> counts = new HashMap<>();
+			for (long key : keys) {
+				counts.merge(key, 1L, Long::sum);
+			}
+			return counts.size();
+		});
+		COLLECTION_OPS.put("IntIntMap.addTo", keys -> () -> {
+			IntIntMap counts = new IntIntMap();
+			for (long key : keys) {
+				counts.addTo((int) key, 1);
+			}
+			return counts.size();
+		});
+		COLLECTION_OPS.put("HashMap<Integer,Integer>.merge", keys -> () -> {
+			Map<Integer, Integer> counts = new HashMap<>();
+			for (long key : keys) {
+				counts.merge((int) key, 1, Integer::sum);
+			}
+			return counts.size();
+		});
+		COLLECTION_OPS.put("LongHashSet.add", keys -> () -> {
+			LongHashSet set = new LongHashSet();
+			for (long key : keys) {
+				set.add(key);
+			}
+			return set.size();
+		});
+		COLLECTION_OPS.put("HashSet<Long>.add", keys -> () -> {
+			Set<Long> set = new HashSet<>();
+			for (long key : keys) {
+				set.add(key);
+			}
+			return set.size();
+		});
+		COLLECTION_OPS.put("IntHashSet.add", keys -> () -> {
+			IntHashSet set = new IntHashSet();
+			for (long key : keys) {
+				set.add((int) key);
+			}
+			return set.size();
+		});
+		COLLECTION_OPS.put("HashSet<Integer>.add", keys -> () -> {
+			Set<Integer> set = new HashSet<>();
+			for (long key : keys) {
+				set.add((int) key);
+			}
+			return set.size();
+		});
+		COLLECTION_OPS.put("IntList.add", keys -> () -> {
+			IntList list = new IntList();
+			for (long key : keys) {
+				list.add((int) key);
+			}
+			return list.size();
+		});
+		COLLECTION_OPS.put("ArrayList<Integer>.add", keys -> () -> {
+			List<Integer> list = new ArrayList<>();
+			for (long key : keys) {
+				list.add((int) key);
+			}
+			return list.size();
+		});
+	}
+
+	private BenchmarkTargets() {
+	}
+
+	private static void hot(String name, int day, Binder binder) {
+		HOT_METHODS.put(name, new HotMethod(day, binder));
+	}
+
+	// Names of all hot methods that can be benchmarked, e.g. "Day9.solvePartTwo"
+	public static Set<String> hotMethods() {
+		return HOT_METHODS.keySet();
+	}
+
+	/**
+	 * Parses the input for a hot method and binds the method to it.
+	 * @param name The hot method, e.g. "Day9.solvePartTwo"
+	 * @param input Path to the input file, or empty for the checked-in input
+	 * @return The hot method, ready to be called repeatedly on the same input
+	 * @throws IOException If there's an error reading the input
+	 */
+	public static Supplier<Object> hotMethod(String name, String input) throws IOException {
+		var hotMethod = HOT_METHODS.get(name);
+		if (hotMethod == null) {
+			throw new IllegalArgumentException("Unknown hot method: " + name);
+		}
+		return hotMethod.binder().bind(PuzzleInput.map(resolve(hotMethod.day(), input)));
+	}
+
+	// Names of all collection operations that can be benchmarked, e.g. "LongLongMap.addTo"
+	public static Set<String> collectionOps() {
+		return COLLECTION_OPS.keySet();
+	}
+
+	/**
+	 * Binds a collection operation to a run of random keys, about four of each, spread over the whole int range the
+	 * way stone numbers and packed coordinates are, so hashing and probing are measured rather than a dense table.
+	 * @param name The operation, e.g. "LongLongMap.addTo"
+	 * @param size How many keys one call adds
+	 * @return The operation, ready to be called repeatedly on the same keys
+	 */
+	public static Supplier<Object> collectionOp(String name, int size) {
+		var op = COLLECTION_OPS.get(name);
+		if (op == null) {
+			throw new IllegalArgumentException("Unknown collection operation: " + name);
+		}
+		SplittableRandom random = new SplittableRandom(size);
+		long[] distinct = random.ints(Math.max(1, size / 4)).asLongStream().toArray();
+		long[] keys = new long[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = distinct[random.nextInt(distinct.length)];
+		}
+		return op.apply(keys);
+	}
+
+	// The parse phase of a day, mapping and reading the given input on every call
+	public static Callable<Object> parse(int day, String input) {
+		var solver = solver(day);
+		var path = resolve(day, input);
+		return () -> solver.parse(PuzzleInput.map(path));
+	}
+
+	// Part one of a day, applied to a model returned by the parse phase
+	public static Function<Object, Object> partOne(int day) {
+		return solver(day)::partOne;
+	}
+
+	// Part two of a day, applied to a model returned by the parse phase
+	public static Function<Object, Object> partTwo(int day) {
+		return solver(day)::partTwo;
+	}
+
+	// Copies a model returned by the parse phase, so a part called on it again does the same work as the first time
+	public static UnaryOperator<Object> copy(int day) {
+		return solver(day)::copy;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Solver<Object> solver(int day) {
+		return (Solver<Object>) Solvers.forDay(day);
+	}
+
+	private static Path resolve(int day, String input) {
+		return input == null || input.isEmpty() ? Solvers.defaultInput(day) : Path.of(input);
+	}
+}
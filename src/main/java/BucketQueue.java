@@ -0,0 +1,74 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone priority queue of ints for small integer priorities (Dial's algorithm): one bucket per priority, in a
+ * ring just long enough for the largest step between the smallest priority and any other, so adding and removing
+ * are constant time instead of a heap's logarithm.
+ * Priorities must never be below the last one removed, nor more than {@code maxStep} above it, which is what a
+ * Dijkstra search whose edges weigh at most {@code maxStep} does. An element can be added more than once; the
+ * search skips the stale copies when it removes them.
+ */
+final class BucketQueue {
+
+	private final int[][] buckets;
+	private final int[] sizes;
+	private int priority; // The smallest priority that may still have elements
+	private int size;
+
+	// An empty queue for priorities that increase by at most maxStep from the smallest one queued
+	BucketQueue(int maxStep) {
+		buckets = new int[maxStep + 1][];
+		sizes = new int[maxStep + 1];
+	}
+
+	void add(int value, int valuePriority) {
+		if (valuePriority < priority || valuePriority - priority >= buckets.length) {
+			if (size > 0) {
+				throw new IllegalArgumentException("Priority " + valuePriority + " out of range from " + priority);
+			}
+			priority = valuePriority; // An empty queue can start again anywhere
+		}
+		int bucket = valuePriority % buckets.length;
+		int[] elements = buckets[bucket];
+		if (elements == null) {
+			elements = buckets[bucket] = new int[8];
+		} else if (sizes[bucket] == elements.length) {
+			elements = buckets[bucket] = Arrays.copyOf(elements, elements.length * 2);
+		}
+		elements[sizes[bucket]++] = value;
+		size++;
+	}
+
+	// Removes an element with the smallest priority; which of those comes first isn't defined
+	int remove() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		int bucket = priority % buckets.length;
+		while (sizes[bucket] == 0) {
+			priority++;
+			bucket = priority % buckets.length;
+		}
+		size--;
+		return buckets[bucket][--sizes[bucket]];
+	}
+
+	// The priority of the element last removed
+	int priority() {
+		return priority;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		Arrays.fill(sizes, 0);
+		size = 0;
+	}
+}
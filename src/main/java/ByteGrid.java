@@ -0,0 +1,192 @@
+import java.util.Arrays;
+
+/**
+ * A rectangular grid of ASCII cells, stored row-major in a single byte array with a one-cell border of
+ * {@link #BORDER} around the puzzle's cells.
+ * Every cell has one int index, so a neighbour is the index plus an {@link #offset(int)} and stepping off the
+ * puzzle lands on a border cell rather than outside the array: walks that stop at anything they don't expect need no
+ * bounds checks. Flags such as visited or wall go in a {@link CellSet} over the same indices.
+ */
+final class ByteGrid {
+
+	// The value of every cell outside the puzzle
+	static final byte BORDER = 0;
+
+	// Directions for offset(), the orthogonal ones clockwise from north so that turning right is (direction + 1) & 3
+	static final int NORTH = 0;
+	static final int EAST = 1;
+	static final int SOUTH = 2;
+	static final int WEST = 3;
+	static final int NORTH_EAST = 4;
+	static final int SOUTH_EAST = 5;
+	static final int SOUTH_WEST = 6;
+	static final int NORTH_WEST = 7;
+
+	private final int width;
+	private final int height;
+	private final int stride; // Bytes per row, including the border on both sides
+	private final byte[] cells;
+	private final int[] offsets;
+
+	/**
+	 * Creates a grid with every cell set to the same value.
+	 * @param width Number of columns, not counting the border
+	 * @param height Number of rows, not counting the border
+	 * @param fill The value of every cell
+	 */
+	ByteGrid(int width, int height, byte fill) {
+		this.width = width;
+		this.height = height;
+		this.stride = width + 2;
+		this.cells = new byte[stride * (height + 2)];
+		this.offsets = new int[]{-stride, 1, stride, -1, 1 - stride, 1 + stride, stride - 1, -stride - 1};
+		for (int y = 0; y < height; y++) {
+			Arrays.fill(cells, index(0, y), index(width, y), fill);
+		}
+	}
+
+	private ByteGrid(ByteGrid other) {
+		this.width = other.width;
+		this.height = other.height;
+		this.stride = other.stride;
+		this.cells = other.cells.clone();
+		this.offsets = other.offsets;
+	}
+
+	/**
+	 * Reads one row per line; the first line sets the width and shorter lines are padded with the border.
+	 * @param input The puzzle input, or one section of it
+	 * @return The grid
+	 */
+	static ByteGrid from(PuzzleInput input) {
+		return from(input.cursor());
+	}
+
+	// Reads the lines left in a cursor, e.g. the map section of an input that has more sections after it
+	static ByteGrid from(InputCursor cursor) {
+		InputCursor line = new InputCursor();
+		int width = 0;
+		int height = 0;
+		// First pass: measure, so the cells can be allocated once
+		InputCursor measure = cursor.duplicate();
+		while (measure.nextLine(line)) {
+			if (height == 0) {
+				width = line.remaining();
+			}
+			height++;
+		}
+		ByteGrid grid = new ByteGrid(width, height, BORDER);
+		for (int y = 0; y < height; y++) {
+			cursor.nextLine(line);
+			int index = grid.index(0, y);
+			for (int x = 0; x < width && line.hasRemaining(); x++) {
+				grid.cells[index + x] = line.next();
+			}
+		}
+		return grid;
+	}
+
+	// A copy that can be changed without affecting this grid
+	ByteGrid copy() {
+		return new ByteGrid(this);
+	}
+
+	int width() {
+		return width;
+	}
+
+	int height() {
+		return height;
+	}
+
+	// Number of indices including the border, i.e. the capacity a CellSet over this grid needs
+	int size() {
+		return cells.length;
+	}
+
+	// Whether a column and row are inside the puzzle, for jumps that can go further than the border
+	boolean contains(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	int index(int x, int y) {
+		return (y + 1) * stride + x + 1;
+	}
+
+	// Column of an index
+	int x(int index) {
+		return index % stride - 1;
+	}
+
+	// Row of an index
+	int y(int index) {
+		return index / stride - 1;
+	}
+
+	// What to add to an index to move one cell in a direction, e.g. offset(NORTH) is minus one row
+	int offset(int direction) {
+		return offsets[direction];
+	}
+
+	// Index of the neighbouring cell in a direction
+	int neighbour(int index, int direction) {
+		return index + offsets[direction];
+	}
+
+	byte get(int index) {
+		return cells[index];
+	}
+
+	byte get(int x, int y) {
+		return cells[index(x, y)];
+	}
+
+	void set(int index, byte value) {
+		cells[index] = value;
+	}
+
+	boolean isBorder(int index) {
+		return cells[index] == BORDER;
+	}
+
+	// Index of the first cell, in reading order, with a value; -1 if there is none
+	int indexOf(byte value) {
+		for (int y = 0; y < height; y++) {
+			for (int index = index(0, y), end = index + width; index < end; index++) {
+				if (cells[index] == value) {
+					return index;
+				}
+			}
+		}
+		return -1;
+	}
+
+	// All cells with a value, e.g. the walls of a maze
+	CellSet cellsOf(byte value) {
+		CellSet set = new CellSet(cells.length);
+		for (int index = 0; index < cells.length; index++) {
+			if (cells[index] == value) {
+				set.add(index);
+			}
+		}
+		return set;
+	}
+
+	// An empty overlay for flags on this grid's cells
+	CellSet newCellSet() {
+		return new CellSet(cells.length);
+	}
+
+	// The puzzle's rows, without the border, one per line
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder((width + 1) * height);
+		for (int y = 0; y < height; y++) {
+			for (int index = index(0, y), end = index + width; index < end; index++) {
+				sb.append((char) cells[index]);
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+}
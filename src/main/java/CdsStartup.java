@@ -0,0 +1,95 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares cold starts of the launcher with starts from an application class-data sharing archive, one day at a time.
+ * Usage: {@code java CdsStartup --archive FILE --classpath CP [--inputs DIR] [--runs N] [DAY ...]}
+ * Every run is a fresh JVM running {@code Launcher --no-cache DAY}, timed from process start to exit; the fastest of
+ * {@code --runs} is reported for each mode. Cold runs still get the JDK's own default archive, so the difference is
+ * what archiving the application's classes (the solvers, regex, records, lambdas) saves.
+ * The archived runs use {@code -Xshare:on}, which makes a JVM refuse to start rather than quietly ignore an archive
+ * that no longer matches the classpath, so a stale archive fails here instead of just looking slow.
+ */
+public class CdsStartup {
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Path archive = null;
+		String classpath = null;
+		Path inputDir = Path.of("");
+		int runs = 5;
+		List<Integer> days = new ArrayList<>();
+
+		// Parse the command line
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--archive" -> archive = Path.of(args[++i]);
+				case "--classpath" -> classpath = args[++i];
+				case "--inputs" -> inputDir = Path.of(args[++i]);
+				case "--runs" -> runs = Math.max(1, Integer.parseInt(args[++i]));
+				default -> days.add(Integer.parseInt(args[i]));
+			}
+		}
+		if (archive == null || classpath == null) {
+			System.err.println("Usage: java CdsStartup --archive FILE --classpath CP [--inputs DIR] [--runs N] [DAY ...]");
+			System.exit(2);
+		}
+		if (!Files.isRegularFile(archive)) {
+			System.err.println("No archive at " + archive);
+			System.exit(1);
+		}
+		if (days.isEmpty()) {
+			days.addAll(Solvers.days());
+		}
+
+		// The launcher writes a runtime history; keep it away from the real one
+		File history = File.createTempFile("cds-history", ".properties");
+		history.deleteOnExit();
+
+		String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+		List<String> cold = List.of(java, "-cp", classpath);
+		List<String> archived = List.of(java, "-XX:SharedArchiveFile=" + archive, "-Xshare:on", "-cp", classpath);
+
+		System.out.printf("%-4s %10s %12s %10s%n", "Day", "Cold ms", "Archived ms", "Saved");
+		long coldTotal = 0, archivedTotal = 0;
+		for (int day : days) {
+			Path input = inputDir.resolve(Solvers.defaultInput(day));
+			if (!Files.isRegularFile(input)) {
+				System.err.println("Day " + day + ": input not found: " + input);
+				continue;
+			}
+			List<String> launcher = List.of("Launcher", "--no-cache", "--history", history.getPath(), day + "=" + input);
+			long coldNanos = fastest(cold, launcher, runs);
+			long archivedNanos = fastest(archived, launcher, runs);
+			System.out.printf("%-4d %10.1f %12.1f %9.0f%%%n", day, coldNanos / 1e6, archivedNanos / 1e6,
+					100.0 * (coldNanos - archivedNanos) / coldNanos);
+			coldTotal += coldNanos;
+			archivedTotal += archivedNanos;
+		}
+		System.out.printf("%-4s %10.1f %12.1f %9.0f%%%n", "All", coldTotal / 1e6, archivedTotal / 1e6,
+				coldTotal == 0 ? 0.0 : 100.0 * (coldTotal - archivedTotal) / coldTotal);
+	}
+
+	// The shortest wall time of several fresh JVMs solving one day
+	private static long fastest(List<String> jvm, List<String> launcher, int runs) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>(jvm);
+		command.addAll(launcher);
+		ProcessBuilder builder = new ProcessBuilder(command)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+				.redirectError(ProcessBuilder.Redirect.INHERIT);
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < runs; i++) {
+			long start = System.nanoTime();
+			int exit = builder.start().waitFor();
+			long nanos = System.nanoTime() - start;
+			if (exit != 0) {
+				throw new IllegalStateException("Exited with " + exit + ": " + String.join(" ", command));
+			}
+			best = Math.min(best, nanos);
+		}
+		return best;
+	}
+}
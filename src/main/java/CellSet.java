@@ -0,0 +1,93 @@
+import java.util.Arrays;
+
+/**
+ * A set of cell indices backed by a bitset, one bit per cell, e.g. the visited cells of a {@link ByteGrid} walk.
+ * Membership is a shift and a mask instead of boxing a coordinate and hashing it.
+ */
+final class CellSet {
+
+	private final long[] words;
+	private int size;
+
+	// An empty set that can hold the indices 0 to capacity - 1
+	CellSet(int capacity) {
+		words = new long[(capacity + 63) >>> 6];
+	}
+
+	private CellSet(CellSet other) {
+		words = other.words.clone();
+		size = other.size;
+	}
+
+	// Adds an index; returns false if it was already in the set
+	boolean add(int index) {
+		long bit = 1L << index;
+		long word = words[index >>> 6];
+		if ((word & bit) != 0) {
+			return false;
+		}
+		words[index >>> 6] = word | bit;
+		size++;
+		return true;
+	}
+
+	// Removes an index; returns false if it wasn't in the set
+	boolean remove(int index) {
+		long bit = 1L << index;
+		long word = words[index >>> 6];
+		if ((word & bit) == 0) {
+			return false;
+		}
+		words[index >>> 6] = word & ~bit;
+		size--;
+		return true;
+	}
+
+	boolean contains(int index) {
+		return (words[index >>> 6] & 1L << index) != 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		Arrays.fill(words, 0L);
+		size = 0;
+	}
+
+	// Adds every index in another set of the same capacity
+	void addAll(CellSet other) {
+		int count = 0;
+		for (int i = 0; i < words.length; i++) {
+			words[i] |= other.words[i];
+			count += Long.bitCount(words[i]);
+		}
+		size = count;
+	}
+
+	// The smallest index in the set that is at least {@code from}; -1 if there is none
+	int next(int from) {
+		int i = from >>> 6;
+		if (i >= words.length) {
+			return -1;
+		}
+		long word = words[i] & -1L << from;
+		while (word == 0) {
+			if (++i == words.length) {
+				return -1;
+			}
+			word = words[i];
+		}
+		return (i << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+	// A copy that can be changed without affecting this set
+	CellSet copy() {
+		return new CellSet(this);
+	}
+}
@@ -0,0 +1,46 @@
+/**
+ * Grid coordinates packed into one long, for grids with no fixed bounds or too sparse for a {@link ByteGrid}; a
+ * bounded grid uses the grid's int cell index instead. Sets and maps of them are a {@link LongHashSet} or
+ * {@link LongLongMap}, so a position is never an object.
+ * The packing is {@code y * 2^32 + x}, a plain sum rather than separate bit fields, so moving is adding: the
+ * neighbour in a direction is the coordinate plus {@link #offset(int)}, and a move by dx, dy is
+ * {@code c + pack(dx, dy)}, with negative components borrowing correctly. Either component may be any int, as long
+ * as a move doesn't take it past Integer.MAX_VALUE or Integer.MIN_VALUE.
+ */
+final class Coordinates {
+
+	// Offsets of the eight neighbours, indexed by ByteGrid's direction constants
+	private static final long[] OFFSETS = {
+			pack(0, -1), pack(1, 0), pack(0, 1), pack(-1, 0), pack(1, -1), pack(1, 1), pack(-1, 1), pack(-1, -1)
+	};
+
+	private Coordinates() {
+	}
+
+	static long pack(int x, int y) {
+		return ((long) y << 32) + x;
+	}
+
+	static int x(long coordinate) {
+		return (int) coordinate;
+	}
+
+	static int y(long coordinate) {
+		return (int) (coordinate - x(coordinate) >> 32);
+	}
+
+	// The neighbour in a direction, one of ByteGrid.NORTH to ByteGrid.NORTH_WEST
+	static long neighbour(long coordinate, int direction) {
+		return coordinate + OFFSETS[direction];
+	}
+
+	// What to add to move in a direction
+	static long offset(int direction) {
+		return OFFSETS[direction];
+	}
+
+	// "x,y", as puzzles print a position
+	static String text(long coordinate) {
+		return x(coordinate) + "," + y(coordinate);
+	}
+}
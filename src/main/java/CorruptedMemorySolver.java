@@ -1,7 +1,8 @@
 import java.io.*;
+import java.nio.file.Path;
 import java.util.regex.*;
 
-public class CorruptedMemorySolver {
+public class CorruptedMemorySolver implements Solver<CharSequence> {
 	public static void main(String[] args) {
 		// Prompt the user for the file path
 		BufferedReader consoleReader = new BufferedReader(new InputStreamReader(System.in));
@@ -11,8 +12,8 @@ public class CorruptedMemorySolver {
 			// Read the file path input from the user
 			String filePath = consoleReader.readLine();
 
-			// Read the contents of the file into a single string
-			String fileContent = readFile(filePath);
+			// Read the contents of the file
+			CharSequence fileContent = PuzzleInput.map(Path.of(filePath)).chars();
 
 			// Process the content to calculate the total sum of valid mul(X,Y) instructions
 			int totalSum = calculateSumWithControlInstructions(fileContent);
@@ -24,27 +25,35 @@ public class CorruptedMemorySolver {
 		}
 	}
 
+	@Override
+	public CharSequence parse(PuzzleInput input) {
+		// Match directly against the input bytes rather than decoding them into a String
+		return input.chars();
+	}
+
+	@Override
+	public Object partOne(CharSequence memory) {
+		return calculateSum(memory);
+	}
+
+	@Override
+	public Object partTwo(CharSequence memory) {
+		return calculateSumWithControlInstructions(memory);
+	}
+
 	/**
-	 * Reads the entire content of a file into a single string.
-	 * @param filePath Path to the input file
-	 * @return The content of the file as a string
-	 * @throws IOException If there's an error reading the file
+	 * Parses the corrupted memory to find valid mul(X,Y) instructions and computes their sum.
+	 * Every instruction counts; do() and don't() are ignored.
+	 * @param input The corrupted memory string
+	 * @return The sum of all multiplications
 	 */
-	public static String readFile(String filePath) throws IOException {
-		StringBuilder contentBuilder = new StringBuilder();
-		try (BufferedReader fileReader = new BufferedReader(new FileReader(filePath))) {
-			String line;
-			while ((line = fileReader.readLine()) != null) {
-				contentBuilder.append(line).append("\n");
-			}
-		} catch (FileNotFoundException e) {
-			System.err.println("File not found: " + filePath);
-			System.exit(1);
-		} catch (IOException e) {
-			System.err.println("Error reading the file: " + e.getMessage());
-			System.exit(1);
+	public static int calculateSum(CharSequence input) {
+		int totalSum = 0;
+		Matcher matcher = Pattern.compile("mul\\((\\d{1,3}),(\\d{1,3})\\)").matcher(input);
+		while (matcher.find()) {
+			totalSum += Integer.parseInt(matcher.group(1)) * Integer.parseInt(matcher.group(2));
 		}
-		return contentBuilder.toString();
+		return totalSum;
 	}
 
 	/**
@@ -53,7 +62,7 @@ public class CorruptedMemorySolver {
 	 * @param input The corrupted memory string
 	 * @return The sum of all enabled multiplications
 	 */
-	public static int calculateSumWithControlInstructions(String input) {
+	public static int calculateSumWithControlInstructions(CharSequence input) {
 		int totalSum = 0;
 
 		// Regex patterns for instructions
@@ -76,10 +85,10 @@ public class CorruptedMemorySolver {
 			// Check if the matched instruction is a control instruction
 			if (matchedInstruction.equals("do()")) {
 				isEnabled = true;
-				System.out.println("do() encountered: mul instructions are ENABLED.");
+				Diagnostics.trace(() -> "do() encountered: mul instructions are ENABLED.");
 			} else if (matchedInstruction.equals("don't()")) {
 				isEnabled = false;
-				System.out.println("don't() encountered: mul instructions are DISABLED.");
+				Diagnostics.trace(() -> "don't() encountered: mul instructions are DISABLED.");
 			}
 			// Check if the matched instruction is a valid mul(X,Y)
 			else {
@@ -93,10 +102,10 @@ public class CorruptedMemorySolver {
 						totalSum += product;
 
 						// Log the multiplication for debugging
-						System.out.println("Found mul(" + x + "," + y + ") -> Product: " + product);
+						Diagnostics.trace(() -> "Found mul(" + x + "," + y + ") -> Product: " + product);
 					}
 				} else {
-					System.out.println("Skipping " + matchedInstruction + " as mul instructions are DISABLED.");
+					Diagnostics.trace(() -> "Skipping " + matchedInstruction + " as mul instructions are DISABLED.");
 				}
 			}
 		}
@@ -1,32 +1,25 @@
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Scanner;
-import java.util.Set;
-import java.util.stream.Collectors;
 
-public class Day05 {
+public class Day05 implements Solver<Day05.Manual> {
 
 	/**
 	 * Custom comparator for page numbers based on their ordering rules.
 	 * This comparator determines if one page should come before another according to the given rules.
 	 */
 	static class PageComparator implements Comparator<Integer> {
-		private final Map<Integer, Set<Integer>> map;
+		private final LongHashSet rules;
 
-		public PageComparator(Map<Integer, Set<Integer>> map) {
-			this.map = map;
+		public PageComparator(LongHashSet rules) {
+			this.rules = rules;
 		}
 
 		@Override
 		public int compare(Integer i1, Integer i2) {
-			if (map.get(i1).contains(i2)) {
+			if (rules.contains(rule(i1, i2))) {
 				// i1 must be before i2, so return 1 to indicate i1 is 'greater'
 				return 1;
 			} else {
@@ -36,19 +29,24 @@ public class Day05 {
 		}
 	}
 
-	// An empty set used as a default when checking for rules in the map
-	private static final Set<Integer> emptySet = new LinkedHashSet<>();
+	/**
+	 * The key of the rule "from|to" in the rule set: both pages packed into one long, so a rule is looked up without
+	 * boxing either page or going through a set per page.
+	 */
+	static long rule(int from, int to) {
+		return (long) from << 32 | to & 0xffffffffL;
+	}
 
 	/**
 	 * Checks if the given list of pages respects the ordering rules.
 	 *
-	 * @param map The map containing the ordering rules.
+	 * @param rules The set of ordering rules.
 	 * @param pages The list of pages to check.
 	 * @return true if the pages are in valid order, false otherwise.
 	 */
-	private static boolean valid(Map<Integer, Set<Integer>> map, List<Integer> pages) {
+	private static boolean valid(LongHashSet rules, List<Integer> pages) {
 		for (int i = 0; i < pages.size()-1; i++) {
-			if (!map.getOrDefault(pages.get(i), emptySet).contains(pages.get(i+1))) {
+			if (!rules.contains(rule(pages.get(i), pages.get(i+1)))) {
 				return false; // The current page does not come before the next one according to rules
 			}
 		}
@@ -58,12 +56,12 @@ public class Day05 {
 	/**
 	 * Calculates the middle page number for Part 1 if the page order is valid, otherwise returns 0.
 	 *
-	 * @param map The map of ordering rules.
+	 * @param rules The set of ordering rules.
 	 * @param pages The list of pages to evaluate.
 	 * @return The middle page number or 0 if not valid.
 	 */
-	public static int partOneMiddle(Map<Integer, Set<Integer>> map, List<Integer> pages) {
-		if (valid(map, pages)) {
+	public static int partOneMiddle(LongHashSet rules, List<Integer> pages) {
+		if (valid(rules, pages)) {
 			return pages.get(pages.size()/2); // Middle element for odd-numbered list
 		} else {
 			return 0;
@@ -74,61 +72,97 @@ public class Day05 {
 	 * Calculates the middle page number for Part 2 if the page order is invalid.
 	 * Sorts the pages according to the rules and returns the middle number.
 	 *
-	 * @param map The map of ordering rules.
+	 * @param rules The set of ordering rules.
 	 * @param pages The list of pages to evaluate.
 	 * @return The middle page number after sorting if invalid, otherwise 0.
 	 */
-	public static int partTwoMiddle(Map<Integer, Set<Integer>> map, List<Integer> pages) {
-		if (valid(map, pages)) {
+	public static int partTwoMiddle(LongHashSet rules, List<Integer> pages) {
+		if (valid(rules, pages)) {
 			return 0; // If valid, no sorting needed, return 0 as per requirement
 		} else {
-			pages.sort(new PageComparator(map)); // Sort pages based on custom rules
+			pages.sort(new PageComparator(rules)); // Sort pages based on custom rules
 			return pages.get(pages.size()/2); // Middle element after sorting
 		}
 	}
 
+	/**
+	 * The parsed input: the page ordering rules and the list of page updates.
+	 */
+	record Manual(LongHashSet rules, List<List<Integer>> updates) {}
+
+	/**
+	 * Parses the rules section and the page updates section of the input.
+	 *
+	 * @param input The puzzle input.
+	 * @return The rules and page updates.
+	 */
+	static Manual read(PuzzleInput input) {
+		// The input has two sections: rules and pages
+		InputCursor cursor = input.cursor();
+		InputCursor section = new InputCursor();
+		InputCursor line = new InputCursor();
+
+		// Set to store page ordering rules, one "from|to" rule per line
+		LongHashSet rules = new LongHashSet(1024);
+		cursor.nextSection(section);
+		while (section.nextLine(line)) {
+			int from = line.nextInt(); // Parse the page that must come first
+			int to = line.nextInt(); // Parse the page that must come after
+			rules.add(rule(from, to)); // Add the rule: 'from' must come before 'to'
+		}
+
+		// Parse each page update, one comma-separated list per line
+		List<List<Integer>> updates = new ArrayList<>();
+		cursor.nextSection(section);
+		while (section.nextLine(line)) {
+			List<Integer> pages = new ArrayList<>();
+			while (line.hasNextNumber()) {
+				pages.add(line.nextInt());
+			}
+			updates.add(pages);
+		}
+		return new Manual(rules, updates);
+	}
+
+	@Override
+	public Manual parse(PuzzleInput input) {
+		return read(input);
+	}
+
+	@Override
+	public Object partOne(Manual manual) {
+		int partOneSum = 0;
+		for (List<Integer> pages : manual.updates()) {
+			partOneSum += partOneMiddle(manual.rules(), pages);
+		}
+		return partOneSum;
+	}
+
+	@Override
+	public Object partTwo(Manual manual) {
+		int partTwoSum = 0;
+		for (List<Integer> pages : manual.updates()) {
+			// Sort a copy so the parsed update keeps its original order
+			partTwoSum += partTwoMiddle(manual.rules(), new ArrayList<>(pages));
+		}
+		return partTwoSum;
+	}
+
 	public static void main(String[] args) throws Exception {
 		Scanner scanner = new Scanner(System.in);
 		System.out.print("Enter the grid file name (e.g., Day6.txt): ");
 		String filePath = scanner.nextLine();
 
-		// Read the entire content of the file as a string
-		String input = Files.readString(Path.of(filePath));
+		// Map the file rather than reading it into a string
+		PuzzleInput input = PuzzleInput.map(Path.of(filePath));
 
 		scanner.close(); // Close the scanner to free system resources
 
-		// Split the input into sections: rules and pages
-		String[] section = input.split("\n\n");
-		String[] ruleSection = section[0].split("\n"); // Each line contains a rule
-		String[] pageSection = section[1].split("\n"); // Each line contains a page update
-
-		// Map to store page ordering rules
-		Map<Integer, Set<Integer>> map = new HashMap<>();
-		for (String rule : ruleSection) {
-			String[] R = rule.split("\\|");
-			int from = Integer.parseInt(R[0]); // Parse the page that must come first
-			int to = Integer.parseInt(R[1]); // Parse the page that must come after
-			Set<Integer> set = map.getOrDefault(from, new LinkedHashSet<>());
-			set.add(to); // Add the rule: 'from' must come before 'to'
-			map.put(from, set);
-		}
-
-		int partOneSum = 0; // Sum for part one
-		int partTwoSum = 0; // Sum for part two
-
-		// Process each page update
-		for (String pageString : pageSection) {
-			List<Integer> pages = Arrays.stream(pageString.split(","))
-					.mapToInt(Integer::parseInt)
-					.boxed() // Convert int to Integer for list
-					.collect(Collectors.toList());
-
-			partOneSum += partOneMiddle(map, pages);
-			partTwoSum += partTwoMiddle(map, pages);
-		}
+		Day05 day = new Day05();
+		Manual manual = read(input);
 
 		// Output results
-		System.out.println("Day 5 part 1: " + partOneSum);
-		System.out.println("Day 5 part 2: " + partTwoSum);
+		System.out.println("Day 5 part 1: " + day.partOne(manual));
+		System.out.println("Day 5 part 2: " + day.partTwo(manual));
 	}
-}
\ No newline at end of file
+}
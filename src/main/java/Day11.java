@@ -1,7 +1,8 @@
-import java.io.*;
-import java.util.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Scanner;
 
-public class Day11 {
+public class Day11 implements Solver<LongLongMap> {
 
 	public static void main(String[] args) {
 		Scanner scanner = new Scanner(System.in);
@@ -11,18 +12,11 @@ public class Day11 {
 		String filePath = scanner.nextLine();
 
 		// Map to store the count of stones with the same value
-		Map<Long, Long> stoneCounts = new HashMap<>();
+		LongLongMap stoneCounts;
 
 		// Read the initial arrangement of stones from the file
-		try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-			String line = br.readLine();
-			if (line != null) {
-				// Parse the numbers and populate the map with initial counts
-				for (String num : line.split("\\s+")) {
-					long stone = Long.parseLong(num);
-					stoneCounts.put(stone, stoneCounts.getOrDefault(stone, 0L) + 1);
-				}
-			}
+		try {
+			stoneCounts = readStones(PuzzleInput.map(Path.of(filePath)));
 		} catch (IOException e) {
 			System.err.println("Error reading the file: " + e.getMessage());
 			return;
@@ -35,10 +29,63 @@ public class Day11 {
 		// Simulate the blinking process for the specified number of times
 		for (int i = 1; i <= blinks; i++) {
 			stoneCounts = blink(stoneCounts); // Process one blink
-			// Calculate the total number of stones after this blink
-			long totalStones = stoneCounts.values().stream().mapToLong(Long::longValue).sum();
-			System.out.println("After blink " + i + ": " + totalStones + " stones");
+			// Trace the total number of stones after this blink
+			int blink = i;
+			LongLongMap counts = stoneCounts;
+			Diagnostics.trace(() -> "After blink " + blink + ": " + totalStones(counts) + " stones");
+		}
+		System.out.println("After blink " + blinks + ": " + totalStones(stoneCounts) + " stones");
+	}
+
+	@Override
+	public LongLongMap parse(PuzzleInput input) {
+		return readStones(input);
+	}
+
+	@Override
+	public Object partOne(LongLongMap stoneCounts) {
+		return countAfterBlinks(stoneCounts, 25);
+	}
+
+	@Override
+	public Object partTwo(LongLongMap stoneCounts) {
+		return countAfterBlinks(stoneCounts, 75);
+	}
+
+	/**
+	 * Reads the initial arrangement of stones.
+	 * @param input The puzzle input.
+	 * @return A map where the key is the stone value and the value is its count.
+	 */
+	private static LongLongMap readStones(PuzzleInput input) {
+		LongLongMap stoneCounts = new LongLongMap();
+		InputCursor line = new InputCursor();
+		if (input.cursor().nextLine(line)) {
+			// Parse the numbers and populate the map with initial counts
+			while (line.hasNextNumber()) {
+				long stone = line.nextLong();
+				stoneCounts.addTo(stone, 1);
+			}
 		}
+		return stoneCounts;
+	}
+
+	/**
+	 * Counts the stones after blinking a number of times.
+	 * @param stoneCounts The initial stone counts, left unchanged.
+	 * @param blinks The number of blinks to simulate.
+	 * @return The total number of stones after the last blink.
+	 */
+	private static long countAfterBlinks(LongLongMap stoneCounts, int blinks) {
+		for (int i = 0; i < blinks; i++) {
+			stoneCounts = blink(stoneCounts);
+		}
+		return totalStones(stoneCounts);
+	}
+
+	// Sum of the counts, i.e. how many stones there are
+	private static long totalStones(LongLongMap stoneCounts) {
+		return stoneCounts.sumValues();
 	}
 
 	/**
@@ -46,16 +93,15 @@ public class Day11 {
 	 * @param stoneCounts A map where the key is the stone value and the value is its count.
 	 * @return A new map representing the stone counts after the blink.
 	 */
-	private static Map<Long, Long> blink(Map<Long, Long> stoneCounts) {
-		Map<Long, Long> newCounts = new HashMap<>();
-
-		for (Map.Entry<Long, Long> entry : stoneCounts.entrySet()) {
-			long stone = entry.getKey(); // Current stone value
-			long count = entry.getValue(); // Count of stones with this value
+	static LongLongMap blink(LongLongMap stoneCounts) {
+		// Most stones split or change, so the next blink has about as many distinct numbers again
+		LongLongMap newCounts = new LongLongMap(stoneCounts.size() * 2);
 
+		stoneCounts.forEach((stone, count) -> {
+			// stone is the current stone value, count how many stones have it
 			if (stone == 0) {
 				// Rule 1: If the stone value is 0, replace it with a stone of value 1
-				newCounts.put(1L, newCounts.getOrDefault(1L, 0L) + count);
+				newCounts.addTo(1L, count);
 			} else if (hasEvenDigits(stone)) {
 				// Rule 2: If the stone has an even number of digits, split it into two stones
 				String numStr = String.valueOf(stone);
@@ -64,14 +110,13 @@ public class Day11 {
 				long right = Long.parseLong(numStr.substring(mid));  // Right half
 
 				// Add the left and right parts to the new stone map
-				newCounts.put(left, newCounts.getOrDefault(left, 0L) + count);
-				newCounts.put(right, newCounts.getOrDefault(right, 0L) + count);
+				newCounts.addTo(left, count);
+				newCounts.addTo(right, count);
 			} else {
 				// Rule 3: If none of the other rules apply, multiply the stone by 2024
-				long newStone = stone * 2024;
-				newCounts.put(newStone, newCounts.getOrDefault(newStone, 0L) + count);
+				newCounts.addTo(stone * 2024, count);
 			}
-		}
+		});
 
 		return newCounts; // Return the updated map of stone counts
 	}
@@ -1,13 +1,27 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
-public class Day12 {
+public class Day12 implements Solver<Grid> {
 	public static void main(String[] args) throws IOException {
 		// Create a new Puzzle instance and solve it
 		new Puzzle().solve();
 	}
+
+	@Override
+	public Grid parse(PuzzleInput input) {
+		return Grid.from(input);
+	}
+
+	@Override
+	public Object partOne(Grid grid) {
+		return grid.regions().stream().mapToInt(Region::price).sum();
+	}
+
+	@Override
+	public Object partTwo(Grid grid) {
+		return grid.regions().stream().mapToLong(Region::betterPrice).sum();
+	}
 }
 
 class Puzzle {
@@ -24,7 +38,7 @@ class Puzzle {
 		String filePath = scanner.nextLine(); // Read the file path input by the user
 
 		// Initialize the grid by reading the file content
-		grid = Grid.from(filePath);
+		grid = Grid.from(PuzzleInput.map(Path.of(filePath)));
 	}
 
 	// Method to solve the puzzle and output the results for both parts
@@ -38,143 +52,85 @@ class Puzzle {
 	}
 }
 
-record Coordinate(int x, int y) implements Comparable<Coordinate> {
-
-	// Get the neighboring coordinates (up, down, left, right)
-	Collection<Coordinate> neighbours() {
-		return Set.of(
-				new Coordinate(x + 1, y),
-				new Coordinate(x, y + 1),
-				new Coordinate(x - 1, y),
-				new Coordinate(x, y - 1)
-		);
-	}
-
-	// Get the edges of the current coordinate (including the diagonal)
-	Collection<Coordinate> edges() {
-		return Set.of(
-				new Coordinate(x, y),
-				new Coordinate(x, y + 1),
-				new Coordinate(x + 1, y),
-				new Coordinate(x + 1, y + 1)
-		);
-	}
-
-	// Check if two coordinates are neighbors (horizontally or vertically)
-	boolean isNeighbor(Coordinate other) {
-		return x == other.x || y == other.y;
-	}
-
-	// Compare two coordinates based on x and y values (for sorting purposes)
-	@Override
-	public int compareTo(Coordinate o) {
-		return y == o.y ? Integer.compare(x, o.x) : Integer.compare(y, o.y);
-	}
-}
-
-record Region(Map<Coordinate, Integer> plots) {
-
-	// Calculate the area of the region (number of plots in the region)
-	int area() {
-		return plots.size();
-	}
-
-	// Calculate the perimeter of the region (sum of all fences)
-	int perimeter() {
-		return plots.values().stream().mapToInt(i -> i).sum();
-	}
+record Region(int area, int perimeter, int sides) {
 
 	// Calculate the price of the region (area * perimeter)
 	int price() {
-		return area() * perimeter();
+		return area * perimeter;
 	}
 
-	// Calculate the edges of the region (based on sides between adjacent plots)
+	// The edges of the region: the number of straight sides, which is the number of corners
 	long edges() {
-		Map<Coordinate, SortedSet<Coordinate>> edges = new HashMap<>();
-		for (Coordinate coordinate : plots.keySet()) {
-			for (Coordinate edge : coordinate.edges()) {
-				edges.computeIfAbsent(edge, c -> new TreeSet<>());
-				edges.get(edge).add(coordinate);
-			}
-		}
-		// Count the hidden edges and return the total number of edges
-		long hidden = 2 * edges.values().stream().filter(s -> s.size() == 2 && !s.first().isNeighbor(s.last())).count();
-		return edges.values().stream().filter(s -> (s.size() & 1) == 1).count() + hidden;
+		return sides;
 	}
 
 	// Calculate the better price using the area and the edges of the region
 	long betterPrice() {
-		return area() * edges();
+		return area * edges();
 	}
 }
 
-record Grid(Map<Coordinate, Character> plots) {
-
-	// Load the grid from a file based on the file path
-	static Grid from(String filePath) throws IOException {
-		Map<Coordinate, Character> plots = new HashMap<>();
-		try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-			String line;
-			int y = 0;
-			// Read each line and process each character in the line
-			while ((line = reader.readLine()) != null) {
-				int x = 0;
-				for (char c : line.toCharArray()) {
-					// Store each plot in the grid (coordinate -> plant type)
-					plots.put(new Coordinate(x, y), c);
-					x++;
-				}
-				y++;
-			}
-		}
-		return new Grid(plots);
+record Grid(ByteGrid plots) {
+
+	// Load the grid from the puzzle input, one plant type per cell
+	static Grid from(PuzzleInput input) {
+		return new Grid(ByteGrid.from(input));
 	}
 
 	// Get the region of plots connected by the same plant type
-	Region region(Coordinate coordinate, Set<Coordinate> visited) {
-		var thisPlant = plots.get(coordinate); // Get the plant type at the given coordinate
-		Map<Coordinate, Integer> bits = new HashMap<>();
-		Deque<Coordinate> queue = new ArrayDeque<>();
-		queue.addLast(coordinate); // Start from the initial coordinate
+	Region region(int start, CellSet visited) {
+		var thisPlant = plots.get(start); // Get the plant type at the given plot
+		int area = 0;
+		int perimeter = 0;
+		int corners = 0;
+
+		// Every plot is queued at most once, as it is marked visited when queued
+		int[] queue = new int[plots.size()];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = start; // Start from the initial plot
+		visited.add(start);
 
 		// Perform a breadth-first search (BFS) to find all connected plots
-		while (!queue.isEmpty()) {
-			if (queue.size() > plots.size()) {
-				throw new IllegalStateException(); // Avoid infinite loop
-			}
-			Coordinate c = queue.removeFirst();
-			visited.add(c);
-			int fences = 4; // Assume all sides are fences initially
-
-			// Check all neighboring plots
-			for (Coordinate neighbour : c.neighbours()) {
-				var otherPlant = plots.get(neighbour);
-				if (Objects.equals(otherPlant, thisPlant)) {
-					--fences; // Reduce fence count if the plot is part of the same region
-					if (!visited.contains(neighbour)) {
-						if (!queue.contains(neighbour)) {
-							queue.addLast(neighbour); // Add neighboring plot to queue if not visited
-						}
-					}
+		while (head < tail) {
+			int c = queue[head++];
+			area++;
+
+			// Check all neighboring plots; the border is never the same plant, so it counts as a fence
+			for (int direction = 0; direction < 4; direction++) {
+				int neighbour = plots.neighbour(c, direction);
+				if (plots.get(neighbour) != thisPlant) {
+					++perimeter; // A fence on this side
+				} else if (visited.add(neighbour)) {
+					queue[tail++] = neighbour; // Add neighboring plot to queue if not visited
+				}
+
+				// Each corner of the region is a corner of one of its plots: look at this side and the next one
+				boolean side = plots.get(neighbour) == thisPlant;
+				boolean nextSide = plots.get(plots.neighbour(c, (direction + 1) & 3)) == thisPlant;
+				boolean diagonal = plots.get(plots.neighbour(c, 4 + direction)) == thisPlant;
+				if (!side && !nextSide || side && nextSide && !diagonal) {
+					corners++; // An outside corner, or an inside corner
 				}
 			}
-			bits.put(c, fences); // Store the fence count for the current plot
 		}
-		return new Region(bits); // Return the region with the plots
+		return new Region(area, perimeter, corners); // Return the region with its measurements
 	}
 
 	// Get all the regions in the grid
 	List<Region> regions() {
 		List<Region> regions = new ArrayList<>();
-		Set<Coordinate> visited = new HashSet<>();
-		// Iterate through all coordinates in the grid
-		for (Coordinate coordinate : plots.keySet()) {
-			if (!visited.contains(coordinate)) {
-				// Add region for unvisited coordinates
-				regions.add(region(coordinate, visited));
+		CellSet visited = plots.newCellSet();
+		// Iterate through all plots in the grid
+		for (int y = 0; y < plots.height(); y++) {
+			for (int x = 0; x < plots.width(); x++) {
+				int plot = plots.index(x, y);
+				if (!visited.contains(plot)) {
+					// Add region for unvisited plots
+					regions.add(region(plot, visited));
+				}
 			}
 		}
 		return regions; // Return all the regions found
 	}
-}
\ No newline at end of file
+}
@@ -1,18 +1,39 @@
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
-import java.util.regex.Pattern;
 
-public class Day13 {
+public class Day13 implements AppendableSolver<ClawMachineGame> {
 	public static void main(String[] args) throws Exception {
 		new ClawMachineGame().solve();
 	}
+
+	@Override
+	public ClawMachineGame parse(PuzzleInput input) {
+		return new ClawMachineGame(input);
+	}
+
+	@Override
+	public void append(ClawMachineGame game, PuzzleInput input, int from) {
+		game.parse(new InputCursor(input, from, input.length()));
+	}
+
+	@Override
+	public Object partOne(ClawMachineGame game) {
+		return game.tokens(0L);
+	}
+
+	@Override
+	public Object partTwo(ClawMachineGame game) {
+		return game.tokens(10000000000000L);
+	}
 }
 
 class ClawMachineGame {
 	final List<ClawMachine> clawMachines = new ArrayList<>();
+	// The numbers read so far of a machine whose lines aren't all parsed yet, e.g. at the end of a piece of a file
+	private final long[] pending = new long[ClawMachine.NUMBERS];
+	private int pendingCount;
 
 	ClawMachineGame() throws Exception {
 		Scanner scanner = new Scanner(System.in);
@@ -22,27 +43,62 @@ class ClawMachineGame {
 		String filePath = scanner.nextLine();
 
 		// Read the input file based on the provided file path
-		String input = Files.readString(Paths.get(filePath));
+		parse(PuzzleInput.map(Path.of(filePath)));
+	}
+
+	ClawMachineGame(PuzzleInput input) {
+		parse(input);
+	}
+
+	private void parse(PuzzleInput input) {
+		parse(input.cursor());
+	}
+
+	/**
+	 * Parses the remaining input into claw machines, one per section, line by line.
+	 * A file read in pieces is cut after a line break, not necessarily between sections, so the numbers of a machine
+	 * whose section goes on in the next piece are kept until that piece is parsed.
+	 * @throws IllegalArgumentException If a section doesn't hold exactly the numbers of one machine
+	 */
+	void parse(InputCursor cursor) {
+		InputCursor line = new InputCursor();
+		while (cursor.nextLine(line)) {
+			if (!line.hasRemaining()) {
+				// A blank line ends a section, which must have held a whole machine
+				if (pendingCount != 0) {
+					throw new IllegalArgumentException("Claw machine with only " + pendingCount + " of its "
+							+ ClawMachine.NUMBERS + " numbers");
+				}
+				continue;
+			}
+			while (line.hasNextNumber()) {
+				pending[pendingCount++] = line.nextLong();
+				if (pendingCount == ClawMachine.NUMBERS) {
+					clawMachines.add(ClawMachine.from(pending));
+					pendingCount = 0;
+				}
+			}
+		}
+	}
 
-		// Parse the input into claw machines
-		for (String instruction : input.split("\\n\\n")) {
-			clawMachines.add(ClawMachine.from(instruction));
+	// Total tokens needed to win every winnable prize, with the prizes moved by the given distance
+	long tokens(long prizeDistance) {
+		if (pendingCount != 0) {
+			throw new IllegalArgumentException("Last claw machine has only " + pendingCount + " of its "
+					+ ClawMachine.NUMBERS + " numbers");
 		}
+		return clawMachines.stream().mapToLong(c -> c.tokens(prizeDistance)).sum();
 	}
 
 	void solve() {
-		System.out.println("Part 1: " + clawMachines.stream().mapToLong(c -> c.tokens(0L)).sum());
-		System.out.println("Part 2: " + clawMachines.stream().mapToLong(c -> c.tokens(10000000000000L)).sum());
+		System.out.println("Part 1: " + tokens(0L));
+		System.out.println("Part 2: " + tokens(10000000000000L));
 	}
 }
 
 record Position(long x, long y) {
 	static final Position ZERO = new Position(0L, 0L);
 
-	static Position from(String x, String y) {
-		return new Position(Long.parseLong(x), Long.parseLong(y));
-	}
-
 	Position mod(long d) {
 		return new Position(x % d, y % d);
 	}
@@ -55,19 +111,13 @@ record Position(long x, long y) {
 record ClawMachine(Position buttonA, Position buttonB, Position prize) {
 	static final long BUTTON_A_TOKENS = 3;
 	static final long BUTTON_B_TOKENS = 1;
-	static final Pattern PATTERN = Pattern.compile("\\+(\\d+),.*\\+(\\d+)\\n.*\\+(\\d+),.*\\+(\\d+)\\n.*=(\\d+),.*=(\\d+)");
+	// The X and Y of "Button A", "Button B" and "Prize", in that order in a section
+	static final int NUMBERS = 6;
 
-	static ClawMachine from(String instruction) {
-		var matcher = PATTERN.matcher(instruction);
-		if (!matcher.find()) {
-			System.err.println(instruction);
-			throw new IllegalArgumentException();
-		}
-		return new ClawMachine(
-				Position.from(matcher.group(1), matcher.group(2)),
-				Position.from(matcher.group(3), matcher.group(4)),
-				Position.from(matcher.group(5), matcher.group(6))
-		);
+	// A machine from the six numbers of its section
+	static ClawMachine from(long[] numbers) {
+		return new ClawMachine(new Position(numbers[0], numbers[1]), new Position(numbers[2], numbers[3]),
+				new Position(numbers[4], numbers[5]));
 	}
 
 	long determinant() {
@@ -1,9 +1,12 @@
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
 
-public class Day14 {
+public class Day14 implements Solver<List<Day14.Robot>> {
+	private static final Progress.Counter FRAMES = Progress.of("Day14")
+			.counter("FramesSimulated", "Seconds of robot movement simulated looking for the picture");
 
 	public static void main(String[] args) throws IOException {
 		Scanner scanner = new Scanner(System.in);
@@ -12,13 +15,7 @@ public class Day14 {
 		String filePath = scanner.nextLine();
 		scanner.close();
 
-		List<String> lines = Files.readAllLines(Paths.get(filePath));
-
-		List<Robot> robots = new ArrayList<>();
-		for (String line : lines) {
-			String[] parts = line.split(" ");
-			robots.add(new Robot(parsePosition(parts[0]), parsePosition(parts[1])));
-		}
+		List<Robot> robots = readRobots(PuzzleInput.map(Path.of(filePath)));
 
 		System.out.println("Part 1: " + calculateSafetyFactorAfter100(robots));
 
@@ -26,56 +23,74 @@ public class Day14 {
 		System.out.println("Part 2 (3x3 Cluster Time): " + clusterTime);
 	}
 
-	private static int calculateSafetyFactorAfter100(List<Robot> robots) {
-		HashMap<Position, Integer> robotPositions = new HashMap<>();
-		for (Robot robot : robots) {
-			Position finalPos = robot.getPositionAfterTime(100);
-			robotPositions.put(finalPos, robotPositions.getOrDefault(finalPos, 0) + 1);
-		}
-		return calculateSafetyFactor(robotPositions);
+	@Override
+	public List<Robot> parse(PuzzleInput input) {
+		return readRobots(input);
 	}
 
-	private static Position parsePosition(String positionString) {
-		String[] parts = positionString.substring(2).split(",");
-		return new Position(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+	@Override
+	public Object partOne(List<Robot> robots) {
+		return calculateSafetyFactorAfter100(robots);
 	}
 
-	private static int calculateSafetyFactor(HashMap<Position, Integer> robotPositions) {
-		int topLeft = 0, topRight = 0, bottomLeft = 0, bottomRight = 0;
+	@Override
+	public Object partTwo(List<Robot> robots) {
+		return find3x3ClusterTime(robots);
+	}
+
+	private static List<Robot> readRobots(PuzzleInput input) {
+		InputCursor cursor = input.cursor();
+		InputCursor line = new InputCursor();
 
-		for (Position position : robotPositions.keySet()) {
-			if (position.getX() < 50 && position.getY() < 51) topLeft += robotPositions.get(position);
-			else if (position.getX() > 50 && position.getY() < 51) topRight += robotPositions.get(position);
-			else if (position.getX() < 50 && position.getY() > 51) bottomLeft += robotPositions.get(position);
-			else if (position.getX() > 50 && position.getY() > 51) bottomRight += robotPositions.get(position);
+		List<Robot> robots = new ArrayList<>();
+		while (cursor.nextLine(line)) {
+			// "p=x,y v=dx,dy", where the velocity may be negative
+			robots.add(new Robot(line.nextInt(), line.nextInt(), line.nextInt(), line.nextInt()));
+		}
+		return robots;
+	}
+
+	private static int calculateSafetyFactorAfter100(List<Robot> robots) {
+		int topLeft = 0, topRight = 0, bottomLeft = 0, bottomRight = 0;
+		for (Robot robot : robots) {
+			long finalPos = robot.getPositionAfterTime(100);
+			int x = Coordinates.x(finalPos), y = Coordinates.y(finalPos);
+			if (x < 50 && y < 51) topLeft++;
+			else if (x > 50 && y < 51) topRight++;
+			else if (x < 50 && y > 51) bottomLeft++;
+			else if (x > 50 && y > 51) bottomRight++;
 		}
 
 		return Math.max(1, topLeft) * Math.max(1, topRight) * Math.max(1, bottomLeft) * Math.max(1, bottomRight);
 	}
 
-	private static int find3x3ClusterTime(List<Robot> robots) {
+	static int find3x3ClusterTime(List<Robot> robots) {
+		// Reused for every frame, so the search allocates nothing once it's grown to hold all robots
+		LongHashSet positions = new LongHashSet(robots.size());
 		for (int time = 0; time <= 10000; time++) {
-			Set<Position> positions = new HashSet<>();
+			FRAMES.increment();
+			positions.clear();
 			for (Robot robot : robots) {
 				positions.add(robot.getPositionAfterTime(time));
 			}
 
-			if (is3x3Cluster(positions)) {
+			if (is3x3Cluster(robots, time, positions)) {
 				return time;
 			}
 		}
 		return -1;
 	}
 
-	private static boolean is3x3Cluster(Set<Position> positions) {
-		for (Position p : positions) {
+	private static boolean is3x3Cluster(List<Robot> robots, int time, LongHashSet positions) {
+		for (Robot robot : robots) {
+			long p = robot.getPositionAfterTime(time);
 			int clusterCount = 0;
 			for (int dx = -1; dx <= 1; dx++) {
 				for (int dy = -1; dy <= 1; dy++) {
-					int nx = (p.getX() + dx + 101) % 101;
-					int ny = (p.getY() + dy + 103) % 103;
+					int nx = (Coordinates.x(p) + dx + 101) % 101;
+					int ny = (Coordinates.y(p) + dy + 103) % 103;
 
-					if (positions.contains(new Position(nx, ny))) {
+					if (positions.contains(Coordinates.pack(nx, ny))) {
 						clusterCount++;
 					}
 				}
@@ -87,52 +102,25 @@ public class Day14 {
 		return false;
 	}
 
+	// A robot's starting position and velocity per second
 	static class Robot {
-		Position position;
-		Position velocity;
+		final int x, y;
+		final int vx, vy;
 
-		public Robot(Position position, Position velocity) {
-			this.position = position;
-			this.velocity = velocity;
-		}
-
-		public Position getPositionAfterTime(int time) {
-			int newX = (position.getX() + velocity.getX() * time) % 101;
-			if (newX < 0) newX += 101;
-			int newY = (position.getY() + velocity.getY() * time) % 103;
-			if (newY < 0) newY += 103;
-			return new Position(newX, newY);
-		}
-	}
-
-	static class Position {
-		private final int x;
-		private final int y;
-
-		public Position(int x, int y) {
+		public Robot(int x, int y, int vx, int vy) {
 			this.x = x;
 			this.y = y;
+			this.vx = vx;
+			this.vy = vy;
 		}
 
-		public int getX() {
-			return x;
-		}
-
-		public int getY() {
-			return y;
-		}
-
-		@Override
-		public boolean equals(Object o) {
-			if (this == o) return true;
-			if (o == null || getClass() != o.getClass()) return false;
-			Position position = (Position) o;
-			return x == position.x && y == position.y;
-		}
-
-		@Override
-		public int hashCode() {
-			return 31 * x + y;
+		// Where the robot is after some seconds, wrapping around the edges, as packed Coordinates
+		public long getPositionAfterTime(int time) {
+			int newX = (x + vx * time) % 101;
+			if (newX < 0) newX += 101;
+			int newY = (y + vy * time) % 103;
+			if (newY < 0) newY += 103;
+			return Coordinates.pack(newX, newY);
 		}
 	}
-}
\ No newline at end of file
+}
@@ -1,25 +1,21 @@
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 // Enum to represent possible headings (directions) the robot can face
-// Each direction has a corresponding character and a movement function
+// Each direction has a corresponding character and ByteGrid direction
 enum Heading {
-	EAST('>', Location::east), // Represents moving right
-	SOUTH('v', Location::south), // Represents moving down
-	WEST('<', Location::west), // Represents moving left
-	NORTH('^', Location::north); // Represents moving up
+	EAST('>', ByteGrid.EAST), // Represents moving right
+	SOUTH('v', ByteGrid.SOUTH), // Represents moving down
+	WEST('<', ByteGrid.WEST), // Represents moving left
+	NORTH('^', ByteGrid.NORTH); // Represents moving up
 
 	final char c; // The character representing the direction (e.g., '>' for EAST)
-	final Function<Location, Location> mover; // Function to calculate the next position in this direction
+	final int direction; // The ByteGrid direction to move a cell index in
 
 	// Constructor for each heading
-	Heading(char c, Function<Location, Location> mover) {
+	Heading(char c, int direction) {
 		this.c = c;
-		this.mover = mover;
+		this.direction = direction;
 	}
 
 	// Method to find a Heading from its character representation
@@ -31,7 +27,11 @@ enum Heading {
 	}
 }
 
-public class Day15 {
+public class Day15 implements Solver<Day15.Warehouses> {
+
+	// The warehouse parsed once for each configuration
+	record Warehouses(Place normal, Place wide) {}
+
 	public static void main(String[] args) throws Exception {
 		// Prompt the user for the file path containing the warehouse map
 		Scanner scanner = new Scanner(System.in);
@@ -43,22 +43,40 @@ public class Day15 {
 		new Challenge(false, filePath).solve(); // Normal mode
 		new Challenge(true, filePath).solve();  // Wide mode
 	}
+
+	@Override
+	public Warehouses parse(PuzzleInput input) {
+		return new Warehouses(Place.from(input, false), Place.from(input, true));
+	}
+
+	@Override
+	public Object partOne(Warehouses warehouses) {
+		return new Challenge(warehouses.normal()).gpsSum();
+	}
+
+	@Override
+	public Object partTwo(Warehouses warehouses) {
+		return new Challenge(warehouses.wide()).gpsSum();
+	}
 }
 
 // Class to encapsulate the entire challenge logic
 class Challenge {
 	final Place initialGrid; // The initial state of the warehouse
-	final String filePath; // Path to the input file
 
 	// Constructor to initialize the challenge
 	Challenge(boolean wide, String filePath) throws Exception {
-		this.filePath = filePath;
 		// Parse the warehouse map from the file
-		initialGrid = Place.from(Files.readString(Paths.get(filePath)), wide);
+		this(Place.from(PuzzleInput.map(Path.of(filePath)), wide));
 	}
 
-	// Method to solve the challenge
-	void solve() {
+	// Constructor to start the challenge from an already parsed warehouse
+	Challenge(Place initialGrid) {
+		this.initialGrid = initialGrid;
+	}
+
+	// Method to run every instruction and return the GPS sum of box locations
+	long gpsSum() {
 		var grid = initialGrid; // Start with the initial grid
 		while (true) {
 			var newGrid = grid.move(); // Attempt to move
@@ -67,118 +85,130 @@ class Challenge {
 			}
 			grid = newGrid; // Update the grid state
 		}
-		System.out.println(grid.gpsSum()); // Output the GPS sum of box locations
+		return grid.gpsSum();
 	}
-}
 
-// Class to represent a specific location in the grid
-record Location(int x, int y) {
-	// Methods to calculate adjacent locations in each direction
-	Location north() { return new Location(x, y - 1); }
-	Location south() { return new Location(x, y + 1); }
-	Location west() { return new Location(x - 1, y); }
-	Location east() { return new Location(x + 1, y); }
-
-	// Generic movement based on a Heading
-	Location move(Heading heading) {
-		return heading.mover.apply(this);
+	// Method to solve the challenge
+	void solve() {
+		System.out.println(gpsSum()); // Output the GPS sum of box locations
 	}
 }
 
 // Class to represent the warehouse state (robot, boxes, walls, etc.)
-record Place(Location position, Set<Location> boxes, Set<Location> walls, List<Heading> headings,
+// The walls grid is shared by every state; the robot and boxes are cell indices in it, a wide box by its left half
+record Place(int position, CellSet boxes, ByteGrid walls, List<Heading> headings,
 			 int instructionPointer, boolean wide) {
-	// Parse the warehouse map and instructions from the input string
-	static Place from(String input, boolean wide) {
-		var parts = input.split("\n\n"); // Split map and instructions
-		int y = 0;
-		Location position = null; // Robot's position
-		Set<Location> boxes = new HashSet<>(); // Box locations
-		Set<Location> walls = new HashSet<>(); // Wall locations
+	// Parse the warehouse map and instructions from the input
+	static Place from(PuzzleInput input, boolean wide) {
+		InputCursor cursor = input.cursor();
+		InputCursor section = new InputCursor(); // The map section, then the instructions section
+		InputCursor line = new InputCursor();
 
 		// Parse the grid map
-		for (String line : parts[0].split("\n")) {
-			int x = 0;
-			for (char c : line.toCharArray()) {
-				Location coordinate = new Location(x, y);
+		cursor.nextSection(section);
+		ByteGrid map = ByteGrid.from(section);
+		ByteGrid walls = new ByteGrid(wide ? 2 * map.width() : map.width(), map.height(), (byte) '.');
+		int position = -1; // Robot's position
+		CellSet boxes = walls.newCellSet(); // Box locations
+		for (int y = 0; y < map.height(); y++) {
+			for (int x = 0; x < map.width(); x++) {
+				byte c = map.get(x, y);
+				int cell = walls.index(wide ? 2 * x : x, y); // Adjust x coordinate for wide mode
 				switch (c) {
-					case '@' -> position = coordinate; // Robot's position
-					case '#' -> walls.add(coordinate); // Wall
-					case 'O' -> boxes.add(coordinate); // Box
+					case '@' -> position = cell; // Robot's position
+					case '#' -> walls.set(cell, c); // Wall
+					case 'O' -> boxes.add(cell); // Box
 				}
 				// Handle wide mode by adding additional wall spaces
 				if (wide && c == '#') {
-					walls.add(coordinate.east());
+					walls.set(cell + 1, c);
 				}
-				x += wide ? 2 : 1; // Adjust x coordinate for wide mode
 			}
-			y++;
 		}
 
 		// Parse the movement instructions
 		List<Heading> headings = new ArrayList<>();
-		for (String line : parts[1].split("\n")) {
-			for (char c : line.toCharArray()) {
-				headings.add(Heading.from(c));
+		cursor.nextSection(section);
+		while (section.nextLine(line)) {
+			while (line.hasRemaining()) {
+				headings.add(Heading.from((char) line.next()));
 			}
 		}
 		return new Place(position, boxes, walls, headings, 0, wide);
 	}
 
+	// The cell next to another in a heading
+	int move(int cell, Heading heading) {
+		return walls.neighbour(cell, heading.direction);
+	}
+
+	// Anything that isn't open floor blocks a move, including the border around the grid
+	boolean isWall(int cell) {
+		return walls.get(cell) != '.';
+	}
+
 	// Check if a box is next to a wall
-	boolean isBoxNextToWall(Location box, Heading heading) {
-		return walls.contains(box.move(heading)) || wide && walls.contains(box.move(heading).east());
+	boolean isBoxNextToWall(int box, Heading heading) {
+		return isWall(move(box, heading)) || wide && isWall(move(box, heading) + 1);
 	}
 
-	// Determine all boxes movable from a starting location
-	Set<Location> movableBoxes(Location initialPos, Heading heading) {
-		Set<Location> visited = new HashSet<>();
-		Deque<Location> queue = new ArrayDeque<>(); // BFS queue
+	// Determine all boxes movable from a starting location; empty if any of them is blocked
+	CellSet movableBoxes(int initialPos, Heading heading) {
+		CellSet visited = walls.newCellSet();
 		if (!boxes.contains(initialPos)) {
 			throw new IllegalStateException(); // Ensure the start is a box
 		}
-		queue.addLast(initialPos);
-		while (!queue.isEmpty()) {
-			var pos = queue.removeFirst();
-			if (visited.contains(pos)) {
-				continue; // Skip already visited locations
-			}
-			visited.add(pos);
-			var newPos = pos.move(heading);
-			if (boxes.contains(newPos)) {
-				queue.addLast(newPos);
+		// BFS queue; a box is queued at most once, as it is marked visited when queued
+		int[] queue = new int[boxes.size()];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = initialPos;
+		visited.add(initialPos);
+		while (head < tail) {
+			var pos = queue[head++];
+			var newPos = move(pos, heading);
+			if (boxes.contains(newPos) && visited.add(newPos)) {
+				queue[tail++] = newPos;
 			}
 			if (wide) {
-				if (boxes.contains(newPos.west())) {
-					queue.addLast(newPos.west());
+				int west = newPos - 1;
+				if (boxes.contains(west) && visited.add(west)) {
+					queue[tail++] = west;
 				}
-				if (boxes.contains(newPos.east())) {
-					queue.addLast(newPos.east());
+				int east = newPos + 1;
+				if (boxes.contains(east) && visited.add(east)) {
+					queue[tail++] = east;
 				}
 			}
 		}
 		// Ensure no box in the group is blocked by a wall
-		return visited.stream().noneMatch(c -> isBoxNextToWall(c, heading)) ? visited : Collections.emptySet();
+		for (int i = 0; i < tail; i++) {
+			if (isBoxNextToWall(queue[i], heading)) {
+				visited.clear();
+				break;
+			}
+		}
+		return visited;
 	}
 
 	// Check if the robot is next to a wall
 	boolean isRobotNextToWall(Heading heading) {
-		return walls.contains(position.move(heading));
+		return isWall(move(position, heading));
 	}
 
-	// Find the box next to the robot in a given direction
-	Location boxNextToRobot(Heading heading) {
-		Location next = position.move(heading);
+	// Find the box next to the robot in a given direction; -1 if there is none
+	int boxNextToRobot(Heading heading) {
+		int next = move(position, heading);
 		if (boxes.contains(next)) {
 			return next;
 		}
 		if (wide) {
-			Location west = next.west();
+			int west = next - 1;
 			if (boxes.contains(west)) {
 				return west;
 			}
 		}
-		return null;
+		return -1;
 	}
 
 	// Perform a single move based on the current instruction
@@ -188,60 +218,66 @@ record Place(Location position, Set<Location> boxes, Set<Location> walls, List<H
 		}
 		var heading = headings.get(instructionPointer);
 		boolean robotCanMove;
-		Set<Location> movableBoxes;
+		CellSet movableBoxes;
 
 		// Determine if the robot or boxes can move
 		if (isRobotNextToWall(heading)) {
 			robotCanMove = false;
-			movableBoxes = Collections.emptySet();
+			movableBoxes = null;
 		} else {
 			var possibleBox = boxNextToRobot(heading);
-			if (possibleBox == null) {
+			if (possibleBox == -1) {
 				robotCanMove = true;
-				movableBoxes = Collections.emptySet();
+				movableBoxes = null;
 			} else {
 				movableBoxes = movableBoxes(possibleBox, heading);
 				robotCanMove = !movableBoxes.isEmpty();
 			}
 		}
 
-		// Update the state of the boxes after the move
-		Set<Location> newBoxes;
-		if (movableBoxes.isEmpty()) {
+		// Update the state of the boxes after the move; the old state keeps its own copy
+		CellSet newBoxes;
+		if (movableBoxes == null || movableBoxes.isEmpty()) {
 			newBoxes = boxes;
 		} else {
-			newBoxes = new HashSet<>();
-			newBoxes.addAll(boxes.stream().filter(Predicate.not(movableBoxes::contains)).collect(Collectors.toSet()));
-			newBoxes.addAll(boxes.stream().filter(movableBoxes::contains).map(c -> c.move(heading)).collect(Collectors.toSet()));
+			newBoxes = boxes.copy();
+			for (int box = movableBoxes.next(0); box != -1; box = movableBoxes.next(box + 1)) {
+				newBoxes.remove(box);
+			}
+			for (int box = movableBoxes.next(0); box != -1; box = movableBoxes.next(box + 1)) {
+				newBoxes.add(move(box, heading));
+			}
 		}
 
 		// Return the updated state of the warehouse
-		return new Place(robotCanMove ? position.move(heading) : position, newBoxes, walls, headings, instructionPointer + 1, wide);
+		return new Place(robotCanMove ? move(position, heading) : position, newBoxes, walls, headings, instructionPointer + 1, wide);
 	}
 
 	// Calculate the GPS sum for all boxes
 	long gpsSum() {
-		return boxes.stream().mapToLong(c -> c.x() + 100L * c.y()).sum();
+		long sum = 0;
+		for (int box = boxes.next(0); box != -1; box = boxes.next(box + 1)) {
+			sum += walls.x(box) + 100L * walls.y(box);
+		}
+		return sum;
 	}
 
 	// Generate a string representation of the warehouse state
 	@Override
 	public String toString() {
-		int width = walls.stream().mapToInt(Location::x).max().orElseThrow() + 1;
-		int height = walls.stream().mapToInt(Location::y).max().orElseThrow() + 1;
 		var sb = new StringBuilder();
-		for (int y = 0; y < height; y++) {
-			char[] chars = new char[width];
-			for (int x = 0; x < width; x++) {
-				var xy = new Location(x, y);
+		for (int y = 0; y < walls.height(); y++) {
+			char[] chars = new char[walls.width()];
+			for (int x = 0; x < walls.width(); x++) {
+				int xy = walls.index(x, y);
 				char c;
-				if (xy.equals(position)) {
+				if (xy == position) {
 					c = '@';
-				} else if (walls.contains(xy)) {
+				} else if (walls.get(xy) == '#') {
 					c = '#';
 				} else if (boxes.contains(xy)) {
 					c = wide ? '[' : 'O';
-				} else if (wide && boxes.contains(xy.west())) {
+				} else if (wide && boxes.contains(xy - 1)) {
 					c = ']';
 				} else {
 					c = '.';
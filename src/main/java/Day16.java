@@ -1,38 +1,43 @@
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Stream;
 
-// Enum to represent the four cardinal directions and their movement logic
+// Enum to represent the four cardinal directions and their movement logic, clockwise so that turning is plus or
+// minus one ordinal
 enum Day16Heading {
-	EAST(Day16Coordinate::east),
-	SOUTH(Day16Coordinate::south),
-	WEST(Day16Coordinate::west),
-	NORTH(Day16Coordinate::north);
+	EAST(ByteGrid.EAST),
+	SOUTH(ByteGrid.SOUTH),
+	WEST(ByteGrid.WEST),
+	NORTH(ByteGrid.NORTH);
 
-	// Function that defines how a coordinate moves in this direction
-	final Function<Day16Coordinate, Day16Coordinate> mover;
+	// The ByteGrid direction a cell index moves in
+	final int direction;
 
-	Day16Heading(Function<Day16Coordinate, Day16Coordinate> mover) {
-		this.mover = mover;
-	}
-
-	// Returns possible orthogonal directions for rotation
-	Collection<Day16Heading> rotate() {
-		return switch (this) {
-			case EAST, WEST -> Set.of(NORTH, SOUTH); // Horizontal directions rotate to vertical
-			case NORTH, SOUTH -> Set.of(EAST, WEST); // Vertical directions rotate to horizontal
-		};
+	Day16Heading(int direction) {
+		this.direction = direction;
 	}
 }
 
 // Main entry point for the program
-public class Day16 {
+public class Day16 implements Solver<Day16Grid> {
 	public static void main(String[] args) throws Exception {
 		new Day16Puzzle().solve(); // Initialize and solve the puzzle
 	}
+
+	@Override
+	public Day16Grid parse(PuzzleInput input) {
+		return Day16Grid.from(input);
+	}
+
+	@Override
+	public Object partOne(Day16Grid grid) {
+		return grid.shortestPath().lowestScore();
+	}
+
+	@Override
+	public Object partTwo(Day16Grid grid) {
+		return grid.shortestPath().viewingSpots();
+	}
 }
 
 // Class to represent the puzzle logic
@@ -46,8 +51,7 @@ class Day16Puzzle {
 		scanner.close();
 
 		// Read the maze grid from the file
-		List<String> lines = Files.readAllLines(Path.of(filePath));
-		grid = Day16Grid.from(lines.stream()); // Convert the lines to a grid
+		grid = Day16Grid.from(PuzzleInput.map(Path.of(filePath)));
 	}
 
 	// Solves the puzzle and prints results
@@ -58,32 +62,11 @@ class Day16Puzzle {
 	}
 }
 
-// Record to represent a coordinate in the grid
-record Day16Coordinate(int x, int y) implements Comparable<Day16Coordinate> {
-	// Movement methods to return new coordinates in each direction
-	Day16Coordinate north() { return new Day16Coordinate(x, y - 1); }
-	Day16Coordinate south() { return new Day16Coordinate(x, y + 1); }
-	Day16Coordinate west() { return new Day16Coordinate(x - 1, y); }
-	Day16Coordinate east() { return new Day16Coordinate(x + 1, y); }
-
-	// Moves to a new coordinate based on a given heading
-	Day16Coordinate move(Day16Heading heading) {
-		return heading.mover.apply(this);
-	}
-
-	// Comparison method for sorting coordinates
-	@Override
-	public int compareTo(Day16Coordinate o) {
-		return y == o.y ? Integer.compare(x, o.x) : Integer.compare(y, o.y);
-	}
-}
-
-// Record to represent a reindeer, which has a position and a heading
-record Reindeer(Day16Coordinate position, Day16Heading heading) implements Comparable<Reindeer> {
-	@Override
-	public int compareTo(Reindeer o) {
-		// Compare first by position, then by heading
-		return position.equals(o.position) ? Integer.compare(heading.ordinal(), o.heading.ordinal()) : position.compareTo(o.position);
+// Record to represent a reindeer, which has a position (a cell index in the grid) and a heading
+record Reindeer(int position, Day16Heading heading) {
+	// Index of this state among four times the cells of the grid, as searched by ShortestPaths
+	int key() {
+		return position * 4 + heading.ordinal();
 	}
 }
 
@@ -92,104 +75,90 @@ record BestPaths(int lowestScore, int viewingSpots) {
 }
 
 // Record to represent the grid, including walls, start, and end points
-record Day16Grid(Set<Day16Coordinate> walls, Day16Coordinate start, Day16Coordinate end) {
-	// Parses a stream of lines into a grid
-	static Day16Grid from(Stream<String> lines) {
-		Set<Day16Coordinate> walls = new HashSet<>();
-		Day16Coordinate start = null;
-		Day16Coordinate end = null;
-		int y = 0;
-
-		// Parse each character in the input lines
-		for (String line : lines.toList()) {
-			int x = 0;
-			for (char c : line.toCharArray()) {
-				switch (c) {
-					case '#' -> walls.add(new Day16Coordinate(x, y)); // Wall
-					case 'S' -> start = new Day16Coordinate(x, y); // Start point
-					case 'E' -> end = new Day16Coordinate(x, y); // End point
-				}
-				x++;
-			}
-			y++;
-		}
+record Day16Grid(ByteGrid grid, int start, int end) {
+	private static final Progress PROGRESS = Progress.of("Day16");
+	private static final Progress.Counter STATES = PROGRESS.counter("StatesExpanded", "Reindeer states taken off the queue");
+	private static final Progress.Gauge QUEUE_SIZE = PROGRESS.gauge("QueueSize", "Reindeer states waiting in the queue");
+	// Headings by ordinal, the order a state encodes them in
+	private static final Day16Heading[] HEADINGS = Day16Heading.values();
+
+	// Parses the input lines into a grid
+	static Day16Grid from(PuzzleInput input) {
+		ByteGrid grid = ByteGrid.from(input);
+		int start = grid.indexOf((byte) 'S'); // Start point
+		int end = grid.indexOf((byte) 'E'); // End point
 
 		// Ensure start and end points exist and return the grid
-		return new Day16Grid(Set.copyOf(walls), Objects.requireNonNull(start), Objects.requireNonNull(end));
-	}
-
-	// Finds the neighbors (valid moves) for a given node
-	Collection<ND> neighbours(ND nd) {
-		Collection<ND> neighbours = new HashSet<>();
-		Reindeer reindeer = nd.node;
-		Day16Heading currentHeading = reindeer.heading();
-
-		// Add rotated directions as possible neighbors
-		for (Day16Heading heading : currentHeading.rotate()) {
-			neighbours.add(new ND(new Reindeer(reindeer.position(), heading), nd.distance + 1000, nd));
+		if (start == -1 || end == -1) {
+			throw new IllegalArgumentException("The maze needs a start and an end");
 		}
+		return new Day16Grid(grid, start, end);
+	}
 
-		// Add forward movement if the path is not blocked by a wall
-		var nextPosition = reindeer.position().move(currentHeading);
-		if (!walls.contains(nextPosition)) {
-			neighbours.add(new ND(new Reindeer(nextPosition, currentHeading), nd.distance + 1, nd));
-		}
-		return neighbours;
+	// Walls are '#'; the maze is enclosed by walls, so the border is never reached
+	boolean isWall(int position) {
+		return grid.get(position) == '#';
 	}
 
 	// Implements the shortest path algorithm
 	BestPaths shortestPath() {
-		int shortest = -1;
-		var queue = new PriorityQueue<ND>(); // Priority queue to prioritize shorter paths
-		Set<Day16Coordinate> viewingSpots = new HashSet<>();
-		Set<Reindeer> visited = new HashSet<>();
-
-		// Start from the initial position
-		queue.add(new ND(new Reindeer(start, Day16Heading.EAST), 0, null));
-
-		while (!queue.isEmpty()) {
-			var current = queue.remove();
-
-			// Check if the end position is reached
-			if (current.node.position().equals(end)) {
-				if (shortest == -1) {
-					shortest = current.distance; // Record the shortest path distance
-				}
-				if (shortest == current.distance) {
-					viewingSpots.addAll(current.path()); // Record viewing spots on the path
-				}
+		// A state is a cell index times four plus a heading; turning costs 1000 and a step forward 1, so Dial's
+		// bucket queue settles the states in order without a comparison heap
+		ShortestPaths paths = new ShortestPaths(grid.size() * 4);
+		paths.dial(new Reindeer(start, Day16Heading.EAST).key(), (state, edges) -> {
+			STATES.increment();
+			QUEUE_SIZE.set(paths.queued());
+			int position = state >> 2;
+			int heading = state & 3;
+			// Rotate a quarter either way
+			edges.edge(position << 2 | (heading + 1) & 3, 1000);
+			edges.edge(position << 2 | (heading + 3) & 3, 1000);
+			// Step forward if the path is not blocked by a wall
+			int next = grid.neighbour(position, HEADINGS[heading].direction);
+			if (!isWall(next)) {
+				edges.edge(next << 2 | heading, 1);
 			}
+		}, 1000, null);
 
-			visited.add(current.node); // Mark the current node as visited
+		// The lowest score over the headings the end can be reached in
+		int shortest = ShortestPaths.UNREACHED;
+		for (int heading = 0; heading < 4; heading++) {
+			shortest = Math.min(shortest, paths.distance(end << 2 | heading));
+		}
+		if (shortest == ShortestPaths.UNREACHED) {
+			return new BestPaths(-1, 0);
+		}
 
-			// Add neighbors to the queue if they haven't been visited
-			for (var next : neighbours(current)) {
-				if (!visited.contains(next.node)) {
-					queue.add(next);
-				}
+		// Walk back from the end over every edge that some shortest path takes, recording viewing spots on the way
+		CellSet viewingSpots = grid.newCellSet();
+		CellSet onBestPath = new CellSet(grid.size() * 4);
+		IntQueue queue = new IntQueue(64);
+		for (int heading = 0; heading < 4; heading++) {
+			if (paths.distance(end << 2 | heading) == shortest) {
+				onBestPath.add(end << 2 | heading);
+				queue.add(end << 2 | heading);
 			}
 		}
+		while (!queue.isEmpty()) {
+			int state = queue.remove();
+			int position = state >> 2;
+			int heading = state & 3;
+			int distance = paths.distance(state);
+			viewingSpots.add(position);
+			// Arrived by rotating here, or by stepping forward from the cell behind
+			int back = grid.neighbour(position, HEADINGS[(heading + 2) & 3].direction);
+			walkBack(paths, position << 2 | (heading + 1) & 3, distance - 1000, onBestPath, queue);
+			walkBack(paths, position << 2 | (heading + 3) & 3, distance - 1000, onBestPath, queue);
+			walkBack(paths, back << 2 | heading, distance - 1, onBestPath, queue);
+		}
 
 		return new BestPaths(shortest, viewingSpots.size()); // Return the results
 	}
 
-	// Record to represent a node in the shortest path search
-	record ND(Reindeer node, int distance, ND previous) implements Comparable<ND> {
-		@Override
-		public int compareTo(ND o) {
-			// Compare nodes by distance, breaking ties by node details
-			return distance == o.distance ? node.compareTo(o.node) : Integer.compare(distance, o.distance);
-		}
-
-		// Reconstruct the path from the start to this node
-		Collection<Day16Coordinate> path() {
-			Collection<Day16Coordinate> path = new HashSet<>();
-			var nd = this;
-			while (nd != null) {
-				path.add(nd.node.position());
-				nd = nd.previous;
-			}
-			return path;
+	// Queues a state the walk back reaches if a shortest path leaves it at the given distance and it isn't queued yet
+	private static void walkBack(ShortestPaths paths, int previous, int distance, CellSet onBestPath, IntQueue queue) {
+		if (paths.distance(previous) == distance && onBestPath.add(previous)) {
+			queue.add(previous);
 		}
 	}
 }
@@ -1,15 +1,28 @@
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-public class Day17 {
+public class Day17 implements Solver<Computer> {
 	// The main method that starts the program execution
 	public static void main(String[] args) throws Exception {
 		// Create an instance of Day17Puzzle and call the solve method
 		new Day17Puzzle().solve();
 	}
+
+	@Override
+	public Computer parse(PuzzleInput input) {
+		return Computer.from(input);
+	}
+
+	@Override
+	public Object partOne(Computer computer) {
+		return computer.output();
+	}
+
+	@Override
+	public Object partTwo(Computer computer) {
+		return computer.selfReplicator();
+	}
 }
 
 // A class to represent the puzzle solution
@@ -25,41 +38,18 @@ class Day17Puzzle {
 		System.out.print("Enter the file path: "); // Prompt the user
 		String filePath = scanner.nextLine(); // Read the input file path
 
-		// Read the content of the file and store it in a string
-		String program = readFile(filePath);
-
-		// Create an instance of the Computer class by parsing the program string
-		computer = Computer.from(program);
+		// Map the file and create an instance of the Computer class by parsing the program
+		computer = Computer.from(PuzzleInput.map(Path.of(filePath)));
 	}
 
 	// Method to solve the puzzle
 	void solve() {
 		// Run the program and print the output as a comma-separated string
-		System.out.println(computer.run().stream().map(String::valueOf).collect(Collectors.joining(",")));
+		System.out.println(computer.output());
 
 		// Print the result of the self-replicator calculation
 		System.out.println(computer.selfReplicator());
 	}
-
-	// Method to read file content and return it as a string
-	private String readFile(String filePath) throws FileNotFoundException {
-		// Create a Scanner object to read the file at the provided file path
-		Scanner fileScanner = new Scanner(new File(filePath));
-
-		// StringBuilder to build the file content as a string
-		StringBuilder content = new StringBuilder();
-
-		// Read each line of the file and append it to content
-		while (fileScanner.hasNextLine()) {
-			content.append(fileScanner.nextLine()).append("\n");
-		}
-
-		// Close the file scanner after reading the entire file
-		fileScanner.close();
-
-		// Return the entire content of the file as a string
-		return content.toString();
-	}
 }
 
 // A record class that represents the Computer
@@ -67,26 +57,35 @@ class Day17Puzzle {
 record Computer(int initialA, int initialB, int initialC, int[] instructions) {
 
 	// Static method to create a Computer instance from a program string
-	static Computer from(String program) {
-		// Split the input program into two parts: register values and instructions
-		var parts = program.split("\n\n");
+	static Computer from(PuzzleInput program) {
+		// The input has two sections: register values and instructions
+		InputCursor cursor = program.cursor();
+		InputCursor registers = new InputCursor();
+		InputCursor instructions = new InputCursor();
+		if (!cursor.nextSection(registers) || !cursor.nextSection(instructions)) {
+			throw new IllegalArgumentException("Invalid program format");
+		}
 
-		// Use a regular expression to match the initial values of registers A, B, and C
-		var matcher = Pattern.compile(".*: (\\d+)\n.*: (\\d+)\n.*: (\\d+)").matcher(parts[0]);
+		// Read the initial values of registers A, B and C, one per line
+		int a, b, c;
+		try {
+			a = registers.nextInt();
+			b = registers.nextInt();
+			c = registers.nextInt();
+		} catch (NoSuchElementException e) {
+			// If a register value is missing, the program is not in the expected format
+			throw new IllegalArgumentException("Invalid program format", e);
+		}
 
-		// If the regular expression does not match the expected format, throw an exception
-		if (!matcher.matches()) {
-			throw new IllegalArgumentException("Invalid program format");
+		// Parse the comma-separated program instructions
+		int[] codes = new int[instructions.remaining()];
+		int count = 0;
+		while (instructions.hasNextNumber()) {
+			codes[count++] = instructions.nextInt();
 		}
 
 		// Create a new Computer instance with parsed register values and instructions
-		return new Computer(
-				Integer.parseInt(matcher.group(1)), // Parse register A value
-				Integer.parseInt(matcher.group(2)), // Parse register B value
-				Integer.parseInt(matcher.group(3)), // Parse register C value
-				Arrays.stream(parts[1].split(":")[1].replaceAll("\\s", "").split(","))
-						.mapToInt(Integer::parseInt) // Parse the program instructions
-						.toArray());
+		return new Computer(a, b, c, Arrays.copyOf(codes, count));
 	}
 
 	// Helper method that returns a value based on an opcode and its operands
@@ -105,6 +104,11 @@ record Computer(int initialA, int initialB, int initialC, int[] instructions) {
 		return run(initialA);
 	}
 
+	// Method to run the program and join its output with commas
+	String output() {
+		return run().stream().map(String::valueOf).collect(Collectors.joining(","));
+	}
+
 	// Method to run the program with a custom value for register A
 	List<Integer> run(final long newA) {
 		List<Integer> output = new ArrayList<>(); // List to store the program output
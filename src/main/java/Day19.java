@@ -1,20 +1,47 @@
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.Arrays;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-public class Day19 {
+public class Day19 implements Solver<Day19Puzzle> {
 	public static void main(String[] args) throws Exception {
-		new Day19Puzzle().solve();
+		Scanner scanner = new Scanner(System.in);
+		System.out.print("Enter the file path: ");
+		String filePath = scanner.nextLine();
+
+		// Map the input file rather than reading it into a string
+		new Day19Puzzle(PuzzleInput.map(Path.of(filePath))).solve();
+	}
+
+	@Override
+	public Day19Puzzle parse(PuzzleInput input) {
+		return new Day19Puzzle(input);
+	}
+
+	@Override
+	public Object partOne(Day19Puzzle puzzle) {
+		return puzzle.possiblePatterns();
+	}
+
+	@Override
+	public Object partTwo(Day19Puzzle puzzle) {
+		return puzzle.allArrangements();
+	}
+
+	@Override
+	public Day19Puzzle copy(Day19Puzzle puzzle) {
+		// The memo outlives a part, so a copy starts without it
+		return puzzle.withoutMemo();
 	}
 }
 
 class Day19Puzzle {
+	private static final Progress.Gauge MEMO_SIZE = Progress.of("Day19")
+			.gauge("MemoSize", "Patterns whose number of arrangements is memoized");
 	// Set of all valid towel sizes (lengths) read from the input file
 	final Set<String> towels;
 	// List of all patterns to be checked against the valid towels
@@ -25,23 +52,40 @@ class Day19Puzzle {
 	// This is used for memoization to avoid redundant calculations
 	Map<String, Long> solutions = new HashMap<>();
 
-	Day19Puzzle() throws Exception {
-		Scanner scanner = new Scanner(System.in);
-		System.out.print("Enter the file path: ");
-		String filePath = scanner.nextLine();
-
-		// Read the input file content as a string
-		var input = Files.readString(Paths.get(filePath));
-		// Split the input into two parts based on two empty lines
-		var parts = input.split("\n\n");
-		// Read the first part (comma separated list) into a set of valid towel sizes
-		towels = Arrays.stream(parts[0].split(", ")).collect(Collectors.toSet());
-		// Read the second part (list of patterns) into a list of strings
-		patterns = Arrays.stream(parts[1].split("\n")).toList();
+	Day19Puzzle(PuzzleInput input) {
+		// The input has two sections separated by an empty line
+		InputCursor cursor = input.cursor();
+		InputCursor section = new InputCursor();
+		InputCursor line = new InputCursor();
+		// Read the first section (comma separated list) into a set of valid towel sizes
+		cursor.nextSection(section);
+		towels = new HashSet<>();
+		while (section.hasNextWord()) {
+			towels.add(section.nextWord());
+		}
+		// Read the second section (list of patterns) into a list of strings
+		cursor.nextSection(section);
+		List<String> patterns = new ArrayList<>();
+		while (section.nextLine(line)) {
+			patterns.add(line.text());
+		}
+		this.patterns = List.copyOf(patterns);
 		// Find the maximum length of a towel size
 		maxLen = towels.stream().mapToInt(String::length).max().orElseThrow();
 	}
 
+	// A puzzle sharing this one's towels and patterns but starting from an empty memo
+	private Day19Puzzle(Day19Puzzle puzzle) {
+		towels = puzzle.towels;
+		patterns = puzzle.patterns;
+		maxLen = puzzle.maxLen;
+	}
+
+	// Copy the puzzle without the solutions memoized so far, so the next count is worked out from scratch
+	Day19Puzzle withoutMemo() {
+		return new Day19Puzzle(this);
+	}
+
 	// This function recursively calculates the number of ways to form a pattern using valid towels
 	// It uses memoization to store solutions for previously seen patterns to avoid redundant calculations
 	long solutions(String pattern) {
@@ -66,13 +110,22 @@ class Day19Puzzle {
 		}
 		// Store the solution for the current pattern in the map before returning
 		solutions.put(pattern, total);
+		MEMO_SIZE.set(solutions.size());
 		return total;
 	}
 
+	// Count the number of patterns that can be formed with at least one valid combination of towels
+	long possiblePatterns() {
+		return patterns.stream().filter(p -> solutions(p) > 0).count();
+	}
+
+	// Calculate the total number of ways to form all the patterns
+	long allArrangements() {
+		return patterns.stream().mapToLong(this::solutions).sum();
+	}
+
 	void solve() {
-		// Count the number of patterns that can be formed with at least one valid combination of towels
-		System.out.println(patterns.stream().filter(p -> solutions(p) > 0).count());
-		// Calculate the total number of ways to form all the patterns
-		System.out.println(patterns.stream().mapToLong(this::solutions).sum());
+		System.out.println(possiblePatterns());
+		System.out.println(allArrangements());
 	}
 }
\ No newline at end of file
@@ -1,18 +1,9 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Scanner;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Stream;
 
 // Main class to run the program
-public class Day20 {
+public class Day20 implements Solver<Day20Grid> {
 
 	public static void main(String[] args) throws Exception {
 		// Prompt the user to enter the file path
@@ -23,6 +14,21 @@ public class Day20 {
 		// Initialize and solve the puzzle
 		new Day20Puzzle(filePath).solve();
 	}
+
+	@Override
+	public Day20Grid parse(PuzzleInput input) {
+		return Day20Grid.from(input);
+	}
+
+	@Override
+	public Object partOne(Day20Grid grid) {
+		return grid.countGoodCheats(grid.distanceMap(), 2);
+	}
+
+	@Override
+	public Object partTwo(Day20Grid grid) {
+		return grid.countGoodCheats(grid.distanceMap(), 20);
+	}
 }
 
 // Class representing the puzzle logic
@@ -31,10 +37,8 @@ class Day20Puzzle {
 
 	// Constructor to initialize the grid from the input file
 	Day20Puzzle(String filePath) throws Exception {
-		try (var reader = new BufferedReader(new FileReader(filePath))) {
-			// Parse the grid from the lines in the file
-			grid = Day20Grid.from(reader.lines());
-		}
+		// Parse the grid from the lines in the file
+		grid = Day20Grid.from(PuzzleInput.map(Path.of(filePath)));
 	}
 
 	// Method to solve the puzzle
@@ -48,109 +52,96 @@ class Day20Puzzle {
 	}
 }
 
-// Class representing a coordinate on the grid
-record Day20Coordinate(int x, int y) implements Comparable<Day20Coordinate> {
-
-	// Override compareTo to define natural ordering based on y and then x
-	@Override
-	public int compareTo(Day20Coordinate o) {
-		return y == o.y ? Integer.compare(x, o.x) : Integer.compare(y, o.y);
-	}
-
-	// Get immediate (orthogonal) neighbors of the coordinate
-	Collection<Day20Coordinate> neighbours() {
-		return Set.of(
-				new Day20Coordinate(x, y - 1), // Up
-				new Day20Coordinate(x + 1, y), // Right
-				new Day20Coordinate(x, y + 1), // Down
-				new Day20Coordinate(x - 1, y)  // Left
-		);
-	}
-
-	// Get neighbors within a specified cheat distance (diagonal moves allowed)
-	Collection<Day20Coordinate> neighbours(int cheatDistance) {
-		Collection<Day20Coordinate> neighbours = new TreeSet<>();
-		for (int i = 0; i < cheatDistance; i++) {
-			// Generate the diagonal neighbors within the cheat distance
-			neighbours.add(new Day20Coordinate(x + i, y - cheatDistance + i));
-			neighbours.add(new Day20Coordinate(x + cheatDistance - i, y + i));
-			neighbours.add(new Day20Coordinate(x - i, y + cheatDistance - i));
-			neighbours.add(new Day20Coordinate(x - cheatDistance + i, y - i));
-		}
-		return neighbours;
-	}
-}
-
-// Class representing the grid
-record Day20Grid(int width, int height, Set<Day20Coordinate> walls, Day20Coordinate start, Day20Coordinate finish) {
-
-	// Static method to create a grid from input lines
-	static Day20Grid from(Stream<String> lines) {
-		Set<Day20Coordinate> walls = new HashSet<>();
-		Day20Coordinate start = null;
-		Day20Coordinate end = null;
-		int y = 0;
-		int x = 0;
-
-		// Parse each line to identify walls, start, and end points
-		for (String line : lines.toList()) {
-			x = 0;
-			for (char c : line.toCharArray()) {
-				switch (c) {
-					case 'S' -> start = new Day20Coordinate(x, y); // Start point
-					case 'E' -> end = new Day20Coordinate(x, y);   // End point
-					case '#' -> walls.add(new Day20Coordinate(x, y)); // Wall
-					case '.' -> { /* Open space */ }
+// Class representing the grid; the start and finish are cell indices in it
+record Day20Grid(ByteGrid grid, int start, int finish) {
+
+	// Static method to create a grid from the input lines
+	static Day20Grid from(PuzzleInput input) {
+		ByteGrid grid = ByteGrid.from(input);
+		int start = -1;
+		int end = -1;
+
+		// Check each cell to identify walls, start, and end points
+		for (int y = 0; y < grid.height(); y++) {
+			for (int x = 0; x < grid.width(); x++) {
+				int index = grid.index(x, y);
+				switch (grid.get(index)) {
+					case 'S' -> start = index; // Start point
+					case 'E' -> end = index;   // End point
+					case '#', '.' -> { /* Wall or open space */ }
 					default -> throw new IllegalArgumentException(); // Invalid character
 				}
-				x++;
 			}
-			++y;
 		}
 		// Ensure start and end points are present and return the grid
-		return new Day20Grid(x, y, walls, Objects.requireNonNull(start), Objects.requireNonNull(end));
+		if (start == -1 || end == -1) {
+			throw new IllegalArgumentException("The track needs a start and an end");
+		}
+		return new Day20Grid(grid, start, end);
 	}
 
-	// Method to calculate the shortest distance map from the start
-	Map<Day20Coordinate, Integer> distanceMap() {
-		Map<Day20Coordinate, Integer> distanceMap = new HashMap<>();
-		Day20Coordinate pos = start;
+	// Method to calculate the shortest distance from the start to every cell on the track; -1 off the track
+	int[] distanceMap() {
+		int[] distanceMap = new int[grid.size()];
+		Arrays.fill(distanceMap, -1);
+		int pos = start;
 		int distance = 0;
 
-		// Perform a breadth-first traversal to calculate distances
+		// Follow the track, which has no branches, from the start to the end
 		do {
-			distanceMap.put(pos, distance++);
-			pos = pos.neighbours().stream()
-					.filter(c -> !walls.contains(c)) // Avoid walls
-					.filter(c -> !distanceMap.containsKey(c)) // Avoid already visited
-					.findFirst().orElse(null);
-		} while (pos != null);
+			distanceMap[pos] = distance++;
+			int next = -1;
+			for (int direction = 0; direction < 4; direction++) {
+				int neighbour = grid.neighbour(pos, direction);
+				byte cell = grid.get(neighbour);
+				// Avoid walls, the border and already visited cells
+				if (cell != '#' && cell != ByteGrid.BORDER && distanceMap[neighbour] == -1) {
+					next = neighbour;
+					break;
+				}
+			}
+			pos = next;
+		} while (pos != -1);
 
 		return distanceMap;
 	}
 
 	// Method to count "good cheats" with a distance threshold
-	long countGoodCheats(Map<Day20Coordinate, Integer> distances, int maxCheatDuration) {
-		Map<List<Day20Coordinate>, Integer> cheats = new HashMap<>();
-
-		// Iterate over each coordinate and its distance
-		for (Map.Entry<Day20Coordinate, Integer> e : distances.entrySet()) {
-			Day20Coordinate cheatStart = e.getKey();
-			int distance = e.getValue();
+	long countGoodCheats(int[] distances, int maxCheatDuration) {
+		long goodCheats = 0;
+
+		// Iterate over each cell on the track and its distance
+		for (int cheatStart = 0; cheatStart < distances.length; cheatStart++) {
+			int distance = distances[cheatStart];
+			if (distance == -1) {
+				continue;
+			}
+			int x = grid.x(cheatStart);
+			int y = grid.y(cheatStart);
 
-			// Check potential cheats with varying durations
+			// Check potential cheats with varying durations; each end is exactly that far away, so each cheat is
+			// seen once
 			for (int cheatDuration = 2; cheatDuration <= maxCheatDuration; cheatDuration++) {
-				for (var cheatEnd : cheatStart.neighbours(cheatDuration)) {
-					Integer newDistance = distances.get(cheatEnd);
-					if (newDistance != null) {
-						// Calculate the cheat gain and store it
-						cheats.put(List.of(cheatStart, cheatEnd), newDistance - distance - cheatDuration);
-					}
+				for (int i = 0; i < cheatDuration; i++) {
+					// The cells at this distance, one from each side of the diamond around the start
+					goodCheats += goodCheat(distances, distance, cheatDuration, x + i, y - cheatDuration + i);
+					goodCheats += goodCheat(distances, distance, cheatDuration, x + cheatDuration - i, y + i);
+					goodCheats += goodCheat(distances, distance, cheatDuration, x - i, y + cheatDuration - i);
+					goodCheats += goodCheat(distances, distance, cheatDuration, x - cheatDuration + i, y - i);
 				}
 			}
 		}
 
-		// Count the number of "good cheats" where the gain is >= 100
-		return cheats.entrySet().stream().filter(e -> e.getValue() >= 100).count();
+		return goodCheats;
+	}
+
+	// 1 if a cheat ending at a column and row is on the track and saves at least 100 picoseconds, otherwise 0
+	private int goodCheat(int[] distances, int distance, int cheatDuration, int endX, int endY) {
+		// A cheat can jump further than the border, so this needs a real bounds check
+		if (!grid.contains(endX, endY)) {
+			return 0;
+		}
+		int newDistance = distances[grid.index(endX, endY)];
+		return newDistance != -1 && newDistance - distance - cheatDuration >= 100 ? 1 : 0;
 	}
 }
@@ -1,8 +1,6 @@
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Enum representing the keys on the keypad with their neighbors and transition rules
 enum Key {
@@ -56,7 +54,7 @@ enum Key {
 }
 
 // Main class to run the program
-public class Day21 {
+public class Day21 implements Solver<Day21Puzzle> {
 	public static void main(String[] args) throws Exception {
 		// Use Scanner to take file path input from the user
 		Scanner scanner = new Scanner(System.in);
@@ -64,36 +62,82 @@ public class Day21 {
 		String filePath = scanner.nextLine();
 
 		// Create Puzzle instance with the provided file path
-		var puzzle = new Day21Puzzle(filePath);
+		var puzzle = new Day21Puzzle(PuzzleInput.map(Path.of(filePath)));
 
 		// Solve the puzzle for different repeat values
 		puzzle.solve(2); // Solve with 2 repeats
 		puzzle.solve(25); // Solve with 25 repeats
 	}
+
+	@Override
+	public Day21Puzzle parse(PuzzleInput input) {
+		return new Day21Puzzle(input);
+	}
+
+	@Override
+	public Object partOne(Day21Puzzle puzzle) {
+		return puzzle.complexity(2);
+	}
+
+	@Override
+	public Object partTwo(Day21Puzzle puzzle) {
+		return puzzle.complexity(25);
+	}
 }
 
 // Puzzle class to handle the input and solving logic
 class Day21Puzzle {
 	private final List<String> sequences; // Input sequences
 
-	// Constructor to initialize sequences from the given file path
-	Day21Puzzle(String filePath) throws Exception {
-		try (var input = new BufferedReader(new InputStreamReader(new FileInputStream(filePath)))) {
-			sequences = input.lines().toList();
+	// Constructor to initialize sequences from the input, one per line, skipping blank lines
+	Day21Puzzle(PuzzleInput input) {
+		InputCursor cursor = input.cursor();
+		InputCursor line = new InputCursor();
+		List<String> sequences = new ArrayList<>();
+		while (cursor.nextLine(line)) {
+			if (line.hasRemaining()) {
+				sequences.add(line.text());
+			}
 		}
+		this.sequences = List.copyOf(sequences);
+	}
+
+	// Calculate the total complexity of all sequences with a given number of repeats
+	long complexity(int repeats) {
+		var keyPad = new KeyPad(repeats); // Initialize keypad with repeats
+		return sequences.stream().mapToLong(keyPad::complexity).sum();
 	}
 
 	// Solve the puzzle with a given number of repeats
 	void solve(int repeats) {
-		var keyPad = new KeyPad(repeats); // Initialize keypad with repeats
-		// Calculate the total complexity of all sequences and print it
-		System.out.println(sequences.stream().mapToLong(keyPad::complexity).sum());
+		System.out.println(complexity(repeats));
 	}
 }
 
 // KeyPad class to manage the logic of instructions and complexity
 class KeyPad {
-	private static final Map<String, String> INSTRUCTION_CACHE = new HashMap<>(); // Cache for instructions
+	// Cache for instructions, shared by every key pad; concurrent since a long-running process may solve several inputs
+	// at once, and two threads computing the same entry compute the same value
+	private static final Map<String, String> INSTRUCTION_CACHE = new ConcurrentHashMap<>();
+	private static final Progress PROGRESS = Progress.of("KeyPad");
+	private static final Progress.Counter CACHE_HITS = PROGRESS.counter("CacheHits", "Instructions found in the cache");
+	private static final Progress.Counter CACHE_MISSES = PROGRESS.counter("CacheMisses", "Instructions worked out and cached");
+	// Shortest path between every pair of keys; it depends only on the keypad layout, so it's worked out once and
+	// shared, read-only, by every key pad and input
+	private static final Map<Key, Map<Key, String>> PATHS = new EnumMap<>(Key.class);
+	// The directions a key can be arrived at from, plus not having moved yet
+	private static final int ARRIVALS = 5;
+
+	static {
+		for (Key from : Key.values()) {
+			Map<Key, String> paths = new EnumMap<>(Key.class);
+			for (Key to : Key.values()) {
+				paths.put(to, shortestPath(from, to));
+			}
+			PATHS.put(from, paths);
+		}
+	}
+
 	private final int repeats; // Number of iterations
 
 	KeyPad(int repeats) {
@@ -104,8 +148,10 @@ class KeyPad {
 	String instructions(String sequence) {
 		var cached = INSTRUCTION_CACHE.get(sequence);
 		if (cached != null) {
+			CACHE_HITS.increment();
 			return cached; // Return cached instructions if available
 		}
+		CACHE_MISSES.increment();
 		Key state;
 		var sb = new StringBuilder();
 		Key previousState = Key.ACTIVATE; // Start from the ACTIVATE key
@@ -167,28 +213,57 @@ class KeyPad {
 				.sum();
 	}
 
-	// Find the shortest path from one key to another
+	// The shortest path from one key to another
 	String path(Key from, Key to) {
-		var queue = new PriorityQueue<ND>(); // Priority queue for Dijkstra's algorithm
-		Set<Turn> visited = new HashSet<>(); // Set to track visited turns
-		queue.add(new ND(from, 0, null, null)); // Start from the "from" key
-		ND bestPath = null; // Best path found
-		while (!queue.isEmpty()) {
-			var current = queue.remove();
-			if (current.key() == to) {
-				bestPath = current; // Path to the destination key found
-				break;
-			}
-			for (Neighbour neighbour : current.key().neighbours()) {
-				var turn = new Turn(current.key(), current.direction(), neighbour.direction(), neighbour.key());
-				if (!visited.contains(turn)) {
-					visited.add(turn);
-					queue.add(new ND(neighbour.key(), current.distance() + turn.cost(), neighbour.direction(), current));
-				}
+		return PATHS.get(from).get(to);
+	}
+
+	// Find the shortest path from one key to another
+	private static String shortestPath(Key from, Key to) {
+		// A state is the key the arm is over and the direction it last moved in; the cost of a move depends on that
+		// direction, so it's part of the state
+		ShortestPaths paths = new ShortestPaths(Key.values().length * ARRIVALS);
+		int reached = paths.dijkstra(state(from, null), (state, edges) -> {
+			Key key = Key.values()[state / ARRIVALS];
+			Key direction = arrival(state);
+			for (Neighbour neighbour : key.neighbours()) {
+				var turn = new Turn(key, direction, neighbour.direction(), neighbour.key());
+				edges.edge(state(neighbour.key(), neighbour.direction()), turn.cost());
 			}
+		}, state -> state / ARRIVALS == to.ordinal());
+
+		// Reconstruct the path from the predecessors: the directions moved in, then activate
+		var path = new StringBuilder("A");
+		for (int state = reached; paths.predecessor(state) != ShortestPaths.NONE; state = paths.predecessor(state)) {
+			path.append(arrival(state).symbol());
+		}
+		return path.reverse().toString();
+	}
+
+	// Number of a search state
+	private static int state(Key key, Key direction) {
+		if (direction == null) {
+			return key.ordinal() * ARRIVALS + 4;
 		}
-		// Reconstruct the path from the best ND object
-		return Objects.requireNonNull(bestPath).path();
+		int arrival = switch (direction) {
+			case UP -> 0;
+			case RIGHT -> 1;
+			case DOWN -> 2;
+			case LEFT -> 3;
+			default -> throw new IllegalArgumentException("Not a direction: " + direction);
+		};
+		return key.ordinal() * ARRIVALS + arrival;
+	}
+
+	// The direction a search state was arrived at from, or null for the start
+	private static Key arrival(int state) {
+		return switch (state % ARRIVALS) {
+			case 0 -> Key.UP;
+			case 1 -> Key.RIGHT;
+			case 2 -> Key.DOWN;
+			case 3 -> Key.LEFT;
+			default -> null;
+		};
 	}
 }
 
@@ -214,28 +289,3 @@ record Turn(Key key, Key fromDirection, Key toDirection, Key toKey) {
 		return fromDirection == toDirection ? 1 : 1000;
 	}
 }
-
-// Represents a node in the pathfinding process
-record ND(Key key, int distance, Key direction, ND previous) implements Comparable<ND> {
-
-	@Override
-	public int compareTo(ND o) {
-		return distance != o.distance ? Integer.compare(distance, o.distance)
-				: key != o.key ? key.compareTo(o.key)
-				: direction == null ? (o.direction == null ? 0 : -1)
-				: o.direction == null ? 1 : direction.compareTo(o.direction);
-	}
-
-	// Reconstruct the path as a string
-	String path() {
-		List<Key> l = new ArrayList<>();
-		l.add(Key.ACTIVATE);
-		var nd = this;
-		while (nd.direction != null) {
-			l.add(nd.direction);
-			nd = nd.previous;
-		}
-		Collections.reverse(l);
-		return l.stream().map(k -> String.valueOf(k.symbol())).collect(Collectors.joining());
-	}
-}
@@ -1,13 +1,9 @@
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
-import java.util.*;
-import java.util.function.BiConsumer;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-public class Day22 {
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.function.IntConsumer;
+
+public class Day22 implements AppendableSolver<Market> {
 	public static void main(String[] args) throws Exception {
 		// Use Scanner to take file path input from the user
 		Scanner scanner = new Scanner(System.in);
@@ -15,18 +11,36 @@ public class Day22 {
 		String filePath = scanner.nextLine();
 
 		// Initialize and solve the puzzle
-		new Day22Puzzle(filePath).solve();
+		new Day22Puzzle(PuzzleInput.map(Path.of(filePath))).solve();
+	}
+
+	@Override
+	public Market parse(PuzzleInput input) {
+		return new Market(input);
+	}
+
+	@Override
+	public void append(Market market, PuzzleInput input, int from) {
+		market.read(new InputCursor(input, from, input.length()));
+	}
+
+	@Override
+	public Object partOne(Market market) {
+		return market.sumSecrets();
+	}
+
+	@Override
+	public Object partTwo(Market market) {
+		return market.iterateAllBuyers().bestPrice();
 	}
 }
 
 class Day22Puzzle {
 	final Market market;
 
-	// Constructor reads secrets from the user-provided file path
-	Day22Puzzle(String filePath) throws Exception {
-		try (var input = new BufferedReader(new InputStreamReader(new FileInputStream(filePath)))) {
-			market = new Market(input.lines());
-		}
+	// Constructor reads secrets from the user-provided input
+	Day22Puzzle(PuzzleInput input) {
+		market = new Market(input);
 	}
 
 	void solve() {
@@ -41,52 +55,98 @@ class Market {
 	static final int ITERATIONS = 2000;
 	static final int SEQUENCE_LENGTH = 4;
 	static final int B24 = 0xffffff;
-	private final List<Integer> secrets;
+	// A price change is -9 to 9, so a sequence of them is a number in base 19
+	static final int DELTAS = 19;
+	static final int PATTERNS = DELTAS * DELTAS * DELTAS * DELTAS;
+	private final IntList secrets = new IntList();
 
-	Market(Stream<String> secrets) {
-		this.secrets = secrets.map(Integer::parseInt).toList();
+	// Receives the price at the first occurrence of each pattern of price changes in a buyer's sequence
+	@FunctionalInterface
+	interface PriceWatcher {
+		void price(int pattern, int price);
 	}
 
-	void iterateBuyer(final int initialSecret, BiConsumer<String, Integer> priceWatcher, Consumer<Integer> secretWatcher) {
+	// One initial secret per line
+	Market(PuzzleInput input) {
+		read(input.cursor());
+	}
+
+	// Adds the initial secrets on the remaining lines of the cursor
+	void read(InputCursor cursor) {
+		while (cursor.hasNextNumber()) {
+			secrets.add(cursor.nextInt());
+		}
+	}
+
+	/**
+	 * Generates a buyer's secrets and reports each pattern of the last four price changes the first time it occurs.
+	 * @param initialSecret The buyer's first secret
+	 * @param visited Cleared and filled with the patterns seen, so one set serves every buyer
+	 * @param priceWatcher Receives each new pattern, packed into an int, and the price it ends on
+	 * @param secretWatcher Receives the last secret
+	 */
+	void iterateBuyer(final int initialSecret, IntHashSet visited, PriceWatcher priceWatcher, IntConsumer secretWatcher) {
 		int secret = initialSecret;
-		List<Integer> deltas = new ArrayList<>();
-		Set<String> visited = new HashSet<>();
+		int pattern = 0; // The last SEQUENCE_LENGTH deltas, one base 19 digit each, oldest first
+		visited.clear();
 		for (int round = 0; round < ITERATIONS; round++) {
 			int oldPrice = secret % 10;
-			secret = (secret << 6 ^ secret) & B24;
-			secret = (secret >> 5 ^ secret) & B24;
-			secret = (secret << 11 ^ secret) & B24;
+			secret = next(secret);
 			int newPrice = secret % 10;
-			if (deltas.size() >= SEQUENCE_LENGTH) {
-				deltas.remove(0);
-			}
-			deltas.add(newPrice - oldPrice);
-			if (deltas.size() >= SEQUENCE_LENGTH) {
-				var pattern = deltas.stream().map(String::valueOf).collect(Collectors.joining());
-				if (!visited.contains(pattern)) {
-					visited.add(pattern);
-					priceWatcher.accept(pattern, newPrice);
-				}
+			// Shift the oldest delta out and the new one in
+			pattern = (pattern * DELTAS + newPrice - oldPrice + 9) % PATTERNS;
+			if (round >= SEQUENCE_LENGTH - 1 && visited.add(pattern)) {
+				priceWatcher.price(pattern, newPrice);
 			}
 		}
 		secretWatcher.accept(secret);
 	}
 
+	// The next secret in a buyer's sequence
+	static int next(int secret) {
+		secret = (secret << 6 ^ secret) & B24;
+		secret = (secret >> 5 ^ secret) & B24;
+		return (secret << 11 ^ secret) & B24;
+	}
+
+	// The sum of every buyer's last secret, without the prices and patterns part two needs
+	long sumSecrets() {
+		if (secrets.isEmpty()) {
+			throw new NoSuchElementException("No buyers");
+		}
+		long sum = 0;
+		for (int i = 0; i < secrets.size(); i++) {
+			int secret = secrets.get(i);
+			for (int round = 0; round < ITERATIONS; round++) {
+				secret = next(secret);
+			}
+			sum += secret;
+		}
+		return sum;
+	}
+
 	Pair iterateAllBuyers() {
-		Map<String, Integer> prices = new HashMap<>();
-		class SumHolder {
+		IntIntMap prices = new IntIntMap(PATTERNS / 2);
+		IntHashSet visited = new IntHashSet(ITERATIONS);
+		class Totals {
 			long sum;
+			int best;
 
 			void add(int i) {
 				sum += i;
 			}
+
+			void price(int pattern, int price) {
+				best = Math.max(best, prices.addTo(pattern, price));
+			}
+		}
+		var totals = new Totals();
+		for (int i = 0; i < secrets.size(); i++) {
+			iterateBuyer(secrets.get(i), visited, totals::price, totals::add);
+		}
+		if (secrets.isEmpty()) {
+			throw new NoSuchElementException("No buyers");
 		}
-		var sumHolder = new SumHolder();
-		secrets.forEach(initialSecret -> iterateBuyer(
-				initialSecret,
-				((pattern, price) -> prices.compute(pattern, (k, v) -> v == null ? price : v + price)),
-				sumHolder::add
-		));
-		return new Pair(sumHolder.sum, prices.values().stream().max(Integer::compareTo).orElseThrow());
+		return new Pair(totals.sum, totals.best);
 	}
 }
@@ -1,47 +1,72 @@
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
-import java.util.Arrays;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-public class Day23 {
+public class Day23 implements Solver<Day23Puzzle> {
 	public static void main(String[] args) throws Exception {
+		// Scanner to allow user to input the file path dynamically
+		Scanner scanner = new Scanner(System.in);
+		System.out.print("Enter the file path: "); // Prompt for input
+		String filePath = scanner.nextLine(); // Read the file path
+
 		// Entry point of the program
-		new Day23Puzzle().solve();
+		new Day23Puzzle(PuzzleInput.map(Path.of(filePath))).solve();
+	}
+
+	@Override
+	public Day23Puzzle parse(PuzzleInput input) {
+		return new Day23Puzzle(input);
+	}
+
+	@Override
+	public Object partOne(Day23Puzzle puzzle) {
+		return puzzle.countTripletsWithT(puzzle.embiggen(puzzle.computerPairs()));
+	}
+
+	@Override
+	public Object partTwo(Day23Puzzle puzzle) {
+		return puzzle.password();
 	}
 }
 
 class Day23Puzzle {
+	private static final Progress PROGRESS = Progress.of("Day23");
+	private static final Progress.Gauge CLIQUE_SIZE = PROGRESS.gauge("CliqueSize", "Size of the cliques being expanded");
+	private static final Progress.Counter CLIQUES_EXPANDED = PROGRESS.counter("CliquesExpanded",
+			"Cliques tried against every other computer");
+	private static final Progress.Counter CLIQUES_FOUND = PROGRESS.counter("CliquesFound", "Cliques one computer larger found");
 	private final Set<Set<String>> computerPairs; // Stores all computer pairs from the input
 	private final Set<String> computers; // Set of all unique computers
 
-	Day23Puzzle() throws Exception {
-		// Scanner to allow user to input the file path dynamically
-		Scanner scanner = new Scanner(System.in);
-		System.out.print("Enter the file path: "); // Prompt for input
-		String filePath = scanner.nextLine(); // Read the file path
-
-		// Read input file and process it into computer pairs and computers set
-		try (var input = new BufferedReader(new InputStreamReader(new FileInputStream(filePath)))) {
-			// Create a set of pairs from the input file
-			computerPairs = input.lines()
-					.map(Day23Puzzle::pair) // Convert each line to a pair of computers
-					.collect(Collectors.toSet());
-
-			// Create a set of all unique computers
-			computers = computerPairs.stream()
-					.flatMap(Set::stream) // Flatten the pairs to individual computers
-					.collect(Collectors.toSet());
+	Day23Puzzle(PuzzleInput input) {
+		// Process the input into computer pairs and computers set
+		InputCursor cursor = input.cursor();
+		InputCursor line = new InputCursor();
+		// Create a set of pairs from the input, converting each line to a pair of computers
+		computerPairs = new HashSet<>();
+		while (cursor.nextLine(line)) {
+			computerPairs.add(pair(line));
 		}
+
+		// Create a set of all unique computers
+		computers = computerPairs.stream()
+				.flatMap(Set::stream) // Flatten the pairs to individual computers
+				.collect(Collectors.toSet());
+	}
+
+	Set<Set<String>> computerPairs() {
+		return computerPairs;
 	}
 
 	// Helper method to convert a line (e.g., "A-B") into a pair (Set) of computers
-	static Set<String> pair(String line) {
-		return Arrays.stream(line.split("-")) // Split the line by "-"
-				.collect(Collectors.toSet()); // Collect as a set
+	static Set<String> pair(InputCursor line) {
+		Set<String> pair = new HashSet<>();
+		while (line.hasNextWord()) {
+			pair.add(line.nextWord()); // The names either side of the "-"
+		}
+		return pair;
 	}
 
 	// Counts the number of triplets in the given set that contain a computer starting with "t"
@@ -54,7 +79,9 @@ class Day23Puzzle {
 	// Expands the given set of cliques by adding one more computer to each clique
 	Set<Set<String>> embiggen(Set<Set<String>> cliques) {
 		Set<Set<String>> embiggened = new HashSet<>();
+		CLIQUE_SIZE.set(cliques.isEmpty() ? 0 : cliques.iterator().next().size());
 		for (var clique : cliques) {
+			CLIQUES_EXPANDED.increment();
 			// Find all computers not in the current clique
 			var others = new HashSet<>(computers);
 			others.removeAll(clique);
@@ -69,27 +96,38 @@ class Day23Puzzle {
 				}
 			}
 		}
+		CLIQUES_FOUND.add(embiggened.size());
 		return embiggened; // Return the set of expanded cliques
 	}
 
-	// Solves the puzzle and prints the results
-	void solve() {
+	// Finds the largest clique and returns it as a sorted, comma-separated string of computer names
+	String password() {
 		// Start with the initial set of pairs as cliques
 		var cliques = embiggen(computerPairs);
+		return password(cliques);
+	}
 
-		// Count and print the triplets containing a computer starting with "t"
-		System.out.println(countTripletsWithT(cliques));
-
-		// Expand cliques iteratively until no more expansion is possible
+	// Expands the given cliques iteratively until no more expansion is possible and names the largest
+	private String password(Set<Set<String>> cliques) {
 		for (var bigger = embiggen(cliques); !bigger.isEmpty(); bigger = embiggen(bigger)) {
 			cliques = bigger; // Update cliques with the expanded set
 		}
-
-		// Print the largest clique as a comma-separated string of computer names
-		System.out.println(cliques.iterator()
+		return cliques.iterator()
 				.next()
 				.stream()
 				.sorted(String::compareTo)
-				.collect(Collectors.joining(",")));
+				.collect(Collectors.joining(","));
+	}
+
+	// Solves the puzzle and prints the results
+	void solve() {
+		// Start with the initial set of pairs as cliques
+		var cliques = embiggen(computerPairs);
+
+		// Count and print the triplets containing a computer starting with "t"
+		System.out.println(countTripletsWithT(cliques));
+
+		// Print the largest clique as a comma-separated string of computer names
+		System.out.println(password(cliques));
 	}
 }
@@ -1,5 +1,4 @@
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,9 +26,28 @@ enum GateType {
 	abstract Integer apply(Integer a, Integer b); // Abstract method to apply the gate operation.
 }
 
-public class Day24 {
+public class Day24 implements Solver<Day24Puzzle> {
 	public static void main(String[] args) throws Exception {
-		new Day24Puzzle().solve(); // Solve the puzzle when the main method is called.
+		Scanner scanner = new Scanner(System.in);
+		System.out.print("Enter the file path: "); // Prompt the user to enter the file path
+		String filePath = scanner.nextLine(); // Read the file path
+
+		new Day24Puzzle(PuzzleInput.map(Path.of(filePath))).solve(); // Solve the puzzle when the main method is called.
+	}
+
+	@Override
+	public Day24Puzzle parse(PuzzleInput input) {
+		return new Day24Puzzle(input);
+	}
+
+	@Override
+	public Object partOne(Day24Puzzle puzzle) {
+		return puzzle.simulate();
+	}
+
+	@Override
+	public Object partTwo(Day24Puzzle puzzle) {
+		return puzzle.swappedWires();
 	}
 }
 
@@ -37,34 +55,33 @@ class Day24Puzzle {
 	final Map<String, Integer> initialValues = new HashMap<>(); // Map to store the initial values of wires
 	final Map<String, Wire> wires = new HashMap<>(); // Map to store the wires
 
-	// Constructor that initializes the puzzle from a file provided by the user
-	Day24Puzzle() throws Exception {
-		Scanner scanner = new Scanner(System.in);
-		System.out.print("Enter the file path: "); // Prompt the user to enter the file path
-		String filePath = scanner.nextLine(); // Read the file path
-
-		var parts = Files.readString(Paths.get(filePath)).split("\n\n"); // Read file and split into two parts
-		part0(parts[0]); // Initialize the initial values (part 0)
-		part1(parts[1]); // Initialize the gates (part 1)
-	}
-
-	// Initializes the initial values (wires with predefined values)
-	private void part0(String lines) {
-		for (String initLine : lines.split("\n")) {
-			var initSplit = initLine.split(": ");
-			String name = initSplit[0]; // Wire name
-			initialValues.put(name, Integer.parseInt(initSplit[1])); // Store the initial value for the wire
+	// Constructor that initializes the puzzle from the content of the input file
+	Day24Puzzle(PuzzleInput input) {
+		InputCursor cursor = input.cursor();
+		InputCursor section = new InputCursor(); // The input has two sections
+		cursor.nextSection(section);
+		part0(section); // Initialize the initial values (part 0)
+		cursor.nextSection(section);
+		part1(section); // Initialize the gates (part 1)
+	}
+
+	// Initializes the initial values (wires with predefined values), one "name: value" per line
+	private void part0(InputCursor lines) {
+		InputCursor initLine = new InputCursor();
+		while (lines.nextLine(initLine)) {
+			String name = initLine.nextWord(); // Wire name
+			initialValues.put(name, initLine.nextInt()); // Store the initial value for the wire
 		}
 	}
 
-	// Initializes the gates and connects them to the wires
-	private void part1(String lines) {
-		for (String gateLine : lines.split("\n")) {
-			var split = gateLine.split(" ");
-			var nameA = split[0]; // Name of the first input wire
-			var type = GateType.valueOf(split[1]); // Gate type (AND, OR, XOR)
-			var nameB = split[2]; // Name of the second input wire
-			var name = split[4]; // Name of the output wire
+	// Initializes the gates and connects them to the wires, one "A TYPE B -> OUT" per line
+	private void part1(InputCursor lines) {
+		InputCursor gateLine = new InputCursor();
+		while (lines.nextLine(gateLine)) {
+			var nameA = gateLine.nextWord(); // Name of the first input wire
+			var type = GateType.valueOf(gateLine.nextWord()); // Gate type (AND, OR, XOR)
+			var nameB = gateLine.nextWord(); // Name of the second input wire
+			var name = gateLine.nextWord(); // Name of the output wire, after the "->"
 
 			// Create or retrieve the wires from the map
 			var inputA = wires.computeIfAbsent(nameA, k -> new Wire(nameA));
@@ -97,15 +114,27 @@ class Day24Puzzle {
 		return value; // Return the computed value
 	}
 
-	// Traces the connections between wires and gates to detect swapped values
-	void traceAll() {
+	// Sets the initial values, lets them propagate through the gates, and reads the value of 'z'
+	long simulate() {
+		wires.values().forEach(Wire::reset); // Clear any values left by an earlier simulation
+		initialValues.forEach((k, v) -> wires.get(k).setValue(v)); // Set initial values for the wires
+		return getValue();
+	}
+
+	// Traces the connections between wires and gates and returns the sorted, comma-separated swapped wire names
+	String swappedWires() {
 		Set<String> swaps = new HashSet<>();
 		int i = 0;
 		do {
 			++i; // Increment the iteration counter
 		} while (cell(i, swaps)); // Keep tracing until no more swaps are found
+		return swaps.stream().sorted().collect(Collectors.joining(","));
+	}
+
+	// Traces the connections between wires and gates to detect swapped values
+	void traceAll() {
 		// Output the sorted list of swapped wire names
-		System.out.println(swaps.stream().sorted().collect(Collectors.joining(",")));
+		System.out.println(swappedWires());
 	}
 
 	// Helper method to check and trace the connections for a particular wire
@@ -140,8 +169,7 @@ class Day24Puzzle {
 
 	// Solves the puzzle by initializing the wires and printing the results
 	void solve() {
-		initialValues.forEach((k, v) -> wires.get(k).setValue(v)); // Set initial values for the wires
-		System.out.println(getValue()); // Print the final value of 'z'
+		System.out.println(simulate()); // Print the final value of 'z'
 		traceAll(); // Trace the connections and print any swapped wires
 	}
 }
@@ -170,6 +198,11 @@ record Wire(String name, State state, Set<Gate> gates) {
 		return state.value;
 	}
 
+	// Clear the value of the wire so the circuit can be simulated again
+	void reset() {
+		state.value = null;
+	}
+
 	// Set the value of the wire and trigger the connected gates
 	void setValue(int value) {
 		state.setValue(value); // Set the wire's value
@@ -1,31 +1,48 @@
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.Arrays;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 import java.util.stream.IntStream;
 
 enum Type {LOCK, KEY}
 
-public class Day25 {
+public class Day25 implements Solver<Day25Puzzle> {
 	public static void main(String[] args) throws Exception {
-		new Day25Puzzle().solve();
+		Scanner scanner = new Scanner(System.in);
+		System.out.print("Enter the file path: "); // Prompt the user to enter the file path
+		String filePath = scanner.nextLine();  // Read the file path from the user
+
+		new Day25Puzzle(PuzzleInput.map(Path.of(filePath))).solve();
+	}
+
+	@Override
+	public Day25Puzzle parse(PuzzleInput input) {
+		return new Day25Puzzle(input);
+	}
+
+	@Override
+	public Object partOne(Day25Puzzle puzzle) {
+		return puzzle.fittingPieces();
+	}
+
+	@Override
+	public Object partTwo(Day25Puzzle puzzle) {
+		return null; // Day 25 has no second part
 	}
 }
 
 class Day25Puzzle {
 	final List<Piece> pieces;
 
-	// Constructor that reads the file path dynamically
-	Day25Puzzle() throws Exception {
-		Scanner scanner = new Scanner(System.in);
-		System.out.print("Enter the file path: "); // Prompt the user to enter the file path
-		String filePath = scanner.nextLine();  // Read the file path from the user
-
-		// Read the file content from the specified path and process it
-		pieces = Arrays.stream(Files.readString(Paths.get(filePath)).split("\n\n"))
-				.map(Piece::from)
-				.toList();
+	// Constructor that processes the content of the input, one piece per section
+	Day25Puzzle(PuzzleInput input) {
+		InputCursor cursor = input.cursor();
+		InputCursor blob = new InputCursor();
+		List<Piece> pieces = new ArrayList<>();
+		while (cursor.nextSection(blob)) {
+			pieces.add(Piece.from(blob));
+		}
+		this.pieces = List.copyOf(pieces);
 	}
 
 	void solve() {
@@ -42,13 +59,15 @@ class Day25Puzzle {
 }
 
 record Piece(Type type, int[] heights) {
-	static Piece from(String blob) {
-		var lines = blob.split("\n");
-		var type = lines[0].startsWith("#") ? Type.LOCK : Type.KEY;
+	static Piece from(InputCursor blob) {
+		var line = new InputCursor();
+		blob.nextLine(line);
+		var type = line.startsWith("#") ? Type.LOCK : Type.KEY;
 		var heights = new int[5];
 		for (int i = 0; i < 5; i++) {
+			blob.nextLine(line);
 			for (int j = 0; j < 5; j++) {
-				if (lines[i + 1].charAt(j) == '#') {
+				if (line.peek(j) == '#') {
 					heights[j]++;
 				}
 			}
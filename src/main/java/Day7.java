@@ -1,10 +1,14 @@
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
-public class Day7 {
+public class Day7 implements AppendableSolver<List<Day7.Equation>> {
+
+	// One line of the input: the test value before the colon and the numbers after it
+	record Equation(long testValue, long[] numbers) {}
 
 	public static void main(String[] args) {
 		Scanner scanner = new Scanner(System.in);
@@ -12,65 +16,85 @@ public class Day7 {
 		String filePath = scanner.nextLine();
 
 		try {
-			List<String> equations = readEquationsFromFile(filePath);
+			List<Equation> equations = readEquationsFromFile(filePath);
 			long partOneResult = calculateCalibrationResultWithBasicOperators(equations);
 			long partTwoResult = calculateCalibrationResultWithAllOperators(equations);
 
 			System.out.println("Part One Total Calibration Result: " + partOneResult);
 			System.out.println("Part Two Total Calibration Result: " + partTwoResult);
-		} catch (FileNotFoundException e) {
+		} catch (IOException e) {
 			System.out.println("File not found: " + filePath);
 		}
 	}
 
-	private static List<String> readEquationsFromFile(String filePath) throws FileNotFoundException {
-		List<String> equations = new ArrayList<>();
-		Scanner fileScanner = new Scanner(new File(filePath));
+	@Override
+	public List<Equation> parse(PuzzleInput input) {
+		List<Equation> equations = new ArrayList<>();
+		readEquations(input.cursor(), equations);
+		return equations;
+	}
 
-		while (fileScanner.hasNextLine()) {
-			equations.add(fileScanner.nextLine());
-		}
+	@Override
+	public void append(List<Equation> equations, PuzzleInput input, int from) {
+		readEquations(new InputCursor(input, from, input.length()), equations);
+	}
 
-		fileScanner.close();
-		return equations;
+	@Override
+	public Object partOne(List<Equation> equations) {
+		return calculateCalibrationResultWithBasicOperators(equations);
 	}
 
-	private static long calculateCalibrationResultWithBasicOperators(List<String> equations) {
-		long total = 0;
+	@Override
+	public Object partTwo(List<Equation> equations) {
+		return calculateCalibrationResultWithAllOperators(equations);
+	}
+
+	private static List<Equation> readEquationsFromFile(String filePath) throws IOException {
+		return new Day7().parse(PuzzleInput.map(Path.of(filePath)));
+	}
 
-		for (String equation : equations) {
-			String[] parts = equation.split(":");
-			long testValue = Long.parseLong(parts[0].trim());
-			String[] numbers = parts[1].trim().split(" ");
+	// Reads each remaining line of the cursor as an equation, skipping blank lines
+	private static void readEquations(InputCursor cursor, List<Equation> equations) {
+		long[] numbers = new long[16]; // Scratch space for the current line, grown as needed
+		InputCursor line = new InputCursor(); // Reused for each line
 
-			long[] nums = new long[numbers.length];
-			for (int i = 0; i < numbers.length; i++) {
-				nums[i] = Long.parseLong(numbers[i]);
+		while (cursor.nextLine(line)) {
+			if (!line.hasNextNumber()) {
+				continue;
 			}
+			long testValue = line.nextLong();
+			int count = 0;
+			while (line.hasNextNumber()) {
+				if (count == numbers.length) {
+					numbers = Arrays.copyOf(numbers, count * 2);
+				}
+				numbers[count++] = line.nextLong();
+			}
+			if (count == 0) {
+				throw new IllegalArgumentException("Equation without numbers for test value " + testValue);
+			}
+			equations.add(new Equation(testValue, Arrays.copyOf(numbers, count)));
+		}
+	}
 
-			if (canEvaluateWithBasicOperators(nums, testValue)) {
-				total += testValue;
+	private static long calculateCalibrationResultWithBasicOperators(List<Equation> equations) {
+		long total = 0;
+
+		for (Equation equation : equations) {
+			if (canEvaluateWithBasicOperators(equation.numbers(), equation.testValue())) {
+				total += equation.testValue();
 			}
 		}
 
 		return total;
 	}
 
-	private static long calculateCalibrationResultWithAllOperators(List<String> equations) {
+	static long calculateCalibrationResultWithAllOperators(List<Equation> equations) {
 		long total = 0;
 
-		for (String equation : equations) {
-			String[] parts = equation.split(":");
-			long testValue = Long.parseLong(parts[0].trim());
-			String[] numbers = parts[1].trim().split(" ");
-
-			long[] nums = new long[numbers.length];
-			for (int i = 0; i < numbers.length; i++) {
-				nums[i] = Long.parseLong(numbers[i]);
-			}
-
-			if (canEvaluateWithAllOperators(nums, testValue)) {
-				total += testValue;
+		for (Equation equation : equations) {
+			if (canEvaluateWithAllOperators(equation.numbers(), equation.testValue())) {
+				total += equation.testValue();
 			}
 		}
 
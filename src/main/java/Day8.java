@@ -1,29 +1,21 @@
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Scanner;
-import java.util.Set;
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
 
-public class Day8 {
+public class Day8 implements Solver<Day8> {
 
-	// A record to represent the coordinates (y, x) of an antenna or an antinode
-	private record Coords(int y, int x) {}
+	// Grid storing the map of the antenna layout; antennas and antinodes are identified by their cell index
+	private ByteGrid map;
 
-	// 2D array to store the map of the antenna layout
-	private char[][] map;
-
-	// A map to store antennas by their character type (e.g., 'A', 'B', etc.)
-	private HashMap<Character, ArrayList<Coords>> antennas = new HashMap<>();
+	// A map to store antenna cells by their character type (e.g., 'A', 'B', etc.)
+	private HashMap<Character, ArrayList<Integer>> antennas = new HashMap<>();
 
 	// Part 1 - Finds and calculates unique antinode locations (doesn't include resonance)
 	public void part1() {
-		// Populate the antenna positions on the map
-		populateAntennaPositions();
-
 		// Calculate antinode positions for Part 1 (without resonance)
-		Set<Coords> antinodes = new HashSet<>(calculateAntinodePositions(false));
+		CellSet antinodes = calculateAntinodePositions(false);
 
 		// Print the result for Part 1
 		System.out.println("Unique Antinode Locations (Part 1): " + antinodes.size());
@@ -32,7 +24,7 @@ public class Day8 {
 	// Part 2 - Finds and calculates unique antinode locations (including resonance)
 	public void part2() {
 		// Calculate antinode positions for Part 2 (with resonance)
-		Set<Coords> antinodes = new HashSet<>(calculateAntinodePositions(true));
+		CellSet antinodes = calculateAntinodePositions(true);
 
 		// Print the result for Part 2
 		System.out.println("Unique Antinode Locations (Part 2): " + antinodes.size());
@@ -41,13 +33,12 @@ public class Day8 {
 	// Populates the antennas map with coordinates for each antenna type
 	private void populateAntennaPositions() {
 		// Loop through the map to find positions of each antenna
-		for(int i = 0; i < map.length; i++) {
-			for(int j = 0; j < map[i].length; j++) {
-				if (map[i][j] != '.') {  // If it's not an empty space ('.')
-					// Add the coordinates of the antenna to the corresponding character's list
-					ArrayList<Coords> coords = antennas.getOrDefault(map[i][j], new ArrayList<>());
-					coords.add(new Coords(i, j));
-					antennas.put(map[i][j], coords);  // Update the map of antennas
+		for(int i = 0; i < map.height(); i++) {
+			for(int j = 0; j < map.width(); j++) {
+				char c = (char) map.get(j, i);
+				if (c != '.') {  // If it's not an empty space ('.')
+					// Add the cell of the antenna to the corresponding character's list
+					antennas.computeIfAbsent(c, k -> new ArrayList<>()).add(map.index(j, i));
 				}
 			}
 		}
@@ -55,18 +46,18 @@ public class Day8 {
 
 	// Calculates the antinode positions based on the antenna positions
 	// Optionally, can include resonance (repeated antinodes) if `resonateHarmonics` is true
-	private Set<Coords> calculateAntinodePositions(boolean resonateHarmonics) {
-		Set<Coords> antinodes = new HashSet<>();  // Set to store unique antinode positions
+	CellSet calculateAntinodePositions(boolean resonateHarmonics) {
+		CellSet antinodes = map.newCellSet();  // Set to store unique antinode positions
 
 		// Loop through each type of antenna
-		for (ArrayList<Coords> value : antennas.values()) {
+		for (ArrayList<Integer> value : antennas.values()) {
 			if (value.size() > 1) {  // Only consider antenna types with more than one antenna
 				for (int i = 0; i < value.size(); i++) {
-					int y = value.get(i).y;  // y-coordinate of the first antenna
-					int x = value.get(i).x;  // x-coordinate of the first antenna
+					int y = map.y(value.get(i));  // y-coordinate of the first antenna
+					int x = map.x(value.get(i));  // x-coordinate of the first antenna
 					for (int j = i + 1; j < value.size(); j++) {
-						int compareY = value.get(j).y;  // y-coordinate of the second antenna
-						int compareX = value.get(j).x;  // x-coordinate of the second antenna
+						int compareY = map.y(value.get(j));  // y-coordinate of the second antenna
+						int compareX = map.x(value.get(j));  // x-coordinate of the second antenna
 
 						// Calculate the differences in coordinates (y and x)
 						int yDiff = y - compareY;
@@ -80,8 +71,9 @@ public class Day8 {
 						int antinode2X = compareX - xDiff;
 
 						// Add the first antinode and check if it stays within map bounds
-						while (antinode1Y < map.length && antinode1Y >= 0 && antinode1X < map[y].length && antinode1X >= 0) {
-							antinodes.add(new Coords(antinode1Y, antinode1X));  // Add the antinode location
+						// Antinodes can be any distance away, so this is a real bounds check rather than the border
+						while (map.contains(antinode1X, antinode1Y)) {
+							antinodes.add(map.index(antinode1X, antinode1Y));  // Add the antinode location
 
 							if (!resonateHarmonics) break;  // If resonance is not required, stop here
 
@@ -91,8 +83,8 @@ public class Day8 {
 						}
 
 						// Add the second antinode and check if it stays within map bounds
-						while (antinode2Y < map.length && antinode2Y >= 0 && antinode2X < map[y].length && antinode2X >= 0) {
-							antinodes.add(new Coords(antinode2Y, antinode2X));  // Add the antinode location
+						while (map.contains(antinode2X, antinode2Y)) {
+							antinodes.add(map.index(antinode2X, antinode2Y));  // Add the antinode location
 
 							if (!resonateHarmonics) break;  // If resonance is not required, stop here
 
@@ -103,8 +95,8 @@ public class Day8 {
 
 						// If resonance is enabled, include the original antennas as antinodes as well
 						if (resonateHarmonics) {
-							antinodes.add(new Coords(y, x));
-							antinodes.add(new Coords(compareY, compareX));
+							antinodes.add(value.get(i));
+							antinodes.add(value.get(j));
 						}
 					}
 				}
@@ -122,28 +114,37 @@ public class Day8 {
 		String filePath = scanner.nextLine();
 
 		try {
-			// Create a scanner to read the file content
-			Scanner fileScanner = new Scanner(new File(filePath));
-			ArrayList<String> lines = new ArrayList<>();
+			readMap(PuzzleInput.map(Path.of(filePath)));
+		} catch (IOException e) {
+			// Handle the exception if the file is not found
+			System.out.println("File not found: " + e.getMessage());
+		}
+	}
 
-			// Read each line of the file and store it in a list
-			while (fileScanner.hasNextLine()) {
-				lines.add(fileScanner.nextLine());
-			}
+	// Reads the map file and records where each antenna is
+	private void readMap(PuzzleInput input) {
+		// Each line of the input becomes one row of the map
+		map = ByteGrid.from(input);
+
+		// Populate the antenna positions on the map
+		populateAntennaPositions();
+	}
 
-			// Initialize the map array with the appropriate dimensions
-			map = new char[lines.size()][lines.get(0).length()];
+	@Override
+	public Day8 parse(PuzzleInput input) {
+		Day8 day = new Day8();
+		day.readMap(input);
+		return day;
+	}
 
-			// Convert each line into a char array and populate the map
-			for (int y = 0; y < lines.size(); y++) {
-				map[y] = lines.get(y).toCharArray();
-			}
+	@Override
+	public Object partOne(Day8 day) {
+		return day.calculateAntinodePositions(false).size();
+	}
 
-			fileScanner.close();  // Close the file scanner
-		} catch (FileNotFoundException e) {
-			// Handle the exception if the file is not found
-			System.out.println("File not found: " + e.getMessage());
-		}
+	@Override
+	public Object partTwo(Day8 day) {
+		return day.calculateAntinodePositions(true).size();
 	}
 
 	// Main method to run the program
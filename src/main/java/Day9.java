@@ -1,29 +1,52 @@
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
 
-public class Day9 {
-	public static void main(String[] args) throws FileNotFoundException {
+public class Day9 implements Solver<int[]> {
+	public static void main(String[] args) throws IOException {
 		// Use Scanner to read input file
 		Scanner scanner = new Scanner(System.in);
 		System.out.print("Enter the file path: ");
 		String filePath = scanner.nextLine();  // Accept file path as input
 
 		// Read file content
-		String input = new Scanner(new File(filePath)).nextLine();
-		int[] filesystem = new int[input.length()];
-		for (int i = 0; i < filesystem.length; i++) {
-			filesystem[i] = input.charAt(i) - '0';
-		}
+		int[] filesystem = readDiskMap(PuzzleInput.map(Path.of(filePath)));
 
 		// Call the methods to solve the parts
-		solvePartOne(filesystem);
-		solvePartTwo(filesystem);
+		System.out.println("Part 1 Checksum: " + solvePartOne(filesystem));
+		System.out.println("Part 2 Checksum: " + solvePartTwo(filesystem));
 
 		scanner.close();  // Close the scanner
 	}
 
-	private static void solvePartOne(int[] filesystem) {
+	@Override
+	public int[] parse(PuzzleInput input) {
+		return readDiskMap(input);
+	}
+
+	@Override
+	public Object partOne(int[] filesystem) {
+		return solvePartOne(filesystem);
+	}
+
+	@Override
+	public Object partTwo(int[] filesystem) {
+		// Part two moves files into the free space in place, so work on a copy
+		return solvePartTwo(filesystem.clone());
+	}
+
+	// Reads the disk map, one digit per block length
+	private static int[] readDiskMap(PuzzleInput input) {
+		InputCursor line = new InputCursor();
+		input.cursor().nextLine(line);
+		int[] filesystem = new int[line.remaining()];
+		for (int i = 0; i < filesystem.length; i++) {
+			filesystem[i] = line.next() - '0';
+		}
+		return filesystem;
+	}
+
+	private static long solvePartOne(int[] filesystem) {
 		long checksum = 0;
 		int currIndex = 0;
 
@@ -56,10 +79,10 @@ public class Day9 {
 			currIndex++;
 		}
 
-		System.out.println("Part 1 Checksum: " + checksum);
+		return checksum;
 	}
 
-	private static void solvePartTwo(int[] filesystem) {
+	static long solvePartTwo(int[] filesystem) {
 		long checksum = 0L;
 
 		int[] openStartIndex = new int[filesystem.length];
@@ -88,6 +111,6 @@ public class Day9 {
 			}
 		}
 
-		System.out.println("Part 2 Checksum: " + checksum);
+		return checksum;
 	}
 }
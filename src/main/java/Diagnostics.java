@@ -0,0 +1,74 @@
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * The one place solvers send debugging output to, instead of printing from their loops.
+ * Messages are suppliers, so nothing is built unless the level lets the message through; at the default level,
+ * {@link Level#OFF}, a solver's loops do no string building at all. What does get through is written to stderr through
+ * a large buffer, flushed at exit or by {@link #flush()}, so the answers on stdout stay clean.
+ * The level comes from the system property {@code aoc.diagnostics} (off, summary or trace), or {@link #setLevel}.
+ */
+final class Diagnostics {
+
+	enum Level {
+		// Nothing
+		OFF,
+		// A few lines per run, e.g. how many lines were read
+		SUMMARY,
+		// A line per item, e.g. every pair or every instruction
+		TRACE;
+
+		// Parses a level name in any case, e.g. from the command line
+		static Level of(String name) {
+			return valueOf(name.trim().toUpperCase(Locale.ROOT));
+		}
+	}
+
+	private static final PrintWriter OUT = new PrintWriter(new BufferedWriter(
+			new OutputStreamWriter(new FileOutputStream(FileDescriptor.err), StandardCharsets.UTF_8), 1 << 16));
+
+	private static volatile Level level = Level.of(System.getProperty("aoc.diagnostics", "off"));
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(Diagnostics::flush));
+	}
+
+	private Diagnostics() {
+	}
+
+	static void setLevel(Level newLevel) {
+		level = newLevel;
+	}
+
+	// Whether messages at a level get through; check this before building anything bigger than one message
+	static boolean isEnabled(Level messageLevel) {
+		return messageLevel != Level.OFF && messageLevel.compareTo(level) <= 0;
+	}
+
+	// Writes a message that is worth a line or two per run
+	static void summary(Supplier<String> message) {
+		log(Level.SUMMARY, message);
+	}
+
+	// Writes a message about one item of the input or one step of a solver
+	static void trace(Supplier<String> message) {
+		log(Level.TRACE, message);
+	}
+
+	private static void log(Level messageLevel, Supplier<String> message) {
+		if (isEnabled(messageLevel)) {
+			OUT.println(message.get());
+		}
+	}
+
+	// Writes out everything buffered so far, e.g. before printing a result table
+	static void flush() {
+		OUT.flush();
+	}
+}
@@ -0,0 +1,68 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes synthetic puzzle inputs from the {@link InputGenerators}, for load tests and benchmarks at sizes the real
+ * inputs don't reach.
+ * Usage: {@code java GenerateInputs [--scale X] [--seed N] [--dir DIR] [DAY ...]}
+ * With no days every day is generated. Each day's input goes to {@code DIR/DayN.txt}, so the directory can be handed
+ * straight to the launcher as {@code N=DIR/DayN.txt}; without {@code --dir} a single day is written to stdout.
+ * The same seed and scale always give the same files; each day's generator is seeded with the seed plus the day, so
+ * adding days to a run doesn't change the others.
+ */
+public class GenerateInputs {
+
+	public static void main(String[] args) throws IOException {
+		double scale = 1;
+		long seed = 2024;
+		Path dir = null;
+		Set<Integer> days = new LinkedHashSet<>();
+
+		// Parse the command line
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--scale" -> scale = Double.parseDouble(args[++i]);
+				case "--seed" -> seed = Long.parseLong(args[++i]);
+				case "--dir" -> dir = Path.of(args[++i]);
+				default -> days.add(Integer.parseInt(args[i]));
+			}
+		}
+		if (days.isEmpty()) {
+			days.addAll(InputGenerators.days());
+		}
+		if (dir == null && days.size() != 1) {
+			System.err.println("Writing more than one day needs --dir");
+			System.exit(2);
+		}
+
+		if (dir == null) {
+			Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), 1 << 16);
+			generate(days.iterator().next(), seed, scale, out);
+			out.flush();
+			return;
+		}
+		Files.createDirectories(dir);
+		for (int day : days) {
+			Path file = dir.resolve("Day" + day + ".txt");
+			long start = System.nanoTime();
+			try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.US_ASCII), 1 << 16)) {
+				generate(day, seed, scale, out);
+			}
+			System.out.printf("Day %d: %s, %,d bytes in %.3f ms%n", day, file, Files.size(file),
+					(System.nanoTime() - start) / 1_000_000.0);
+		}
+	}
+
+	// Writes one day's input with that day's own seed
+	private static void generate(int day, long seed, double scale, Writer out) throws IOException {
+		InputGenerators.forDay(day).generate(new Random(seed + day), scale, out);
+	}
+}
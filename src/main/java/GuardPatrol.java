@@ -1,7 +1,12 @@
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 
-public class GuardPatrol {
+// Day 6: part one walks the guard here, part two places obstructions with GuardPatrolWithObstruction
+public class GuardPatrol implements Solver<ByteGrid> {
+
+	// The guard facing each ByteGrid direction: up, right, down, left
+	private static final byte[] GUARDS = {'^', '>', 'v', '<'};
 	public static void main(String[] args) {
 		// Step 1: Get the input file from the user
 		Scanner scanner = new Scanner(System.in);
@@ -9,76 +14,73 @@ public class GuardPatrol {
 		String filePath = scanner.nextLine();
 
 		// Step 2: Read the map from the file
-		char[][] map = readMap(filePath);
+		ByteGrid map = readMap(filePath);
+		if (map == null) {
+			return;
+		}
+
+		// Step 3-4: Simulate the guard's movement and output the number of distinct positions visited
+		System.out.println("Total distinct positions visited: " + countVisitedPositions(map));
+	}
+
+	@Override
+	public ByteGrid parse(PuzzleInput input) {
+		return ByteGrid.from(input);
+	}
+
+	@Override
+	public Object partOne(ByteGrid map) {
+		return countVisitedPositions(map);
+	}
 
+	@Override
+	public Object partTwo(ByteGrid map) {
+		return GuardPatrolWithObstruction.countLoopingObstructions(map);
+	}
+
+	// Counts the distinct positions the guard visits before leaving the map, leaving the map unchanged
+	static int countVisitedPositions(ByteGrid map) {
 		// Step 3: Find the initial position of the guard and direction
-		int startX = -1, startY = -1;
-		char initialDirection = ' ';
-		for (int i = 0; i < map.length; i++) {
-			for (int j = 0; j < map[i].length; j++) {
-				if (map[i][j] == '^' || map[i][j] == 'v' || map[i][j] == '<' || map[i][j] == '>') {
-					startX = i;
-					startY = j;
-					initialDirection = map[i][j];
-					map[i][j] = '.'; // Mark the starting position as an empty space
-					break;
-				}
-			}
-			if (startX != -1) break; // Exit outer loop once found
+		// Directions are ByteGrid's: 0 -> up ('^'), 1 -> right ('>'), 2 -> down ('v'), 3 -> left ('<')
+		int position = -1;
+		int currentDirection = -1;
+		for (int direction = 0; direction < GUARDS.length && position == -1; direction++) {
+			position = map.indexOf(GUARDS[direction]);
+			currentDirection = direction;
 		}
 
 		// Step 4: Simulate the guard's movement
-		Set<String> visitedPositions = new HashSet<>();
-		int x = startX, y = startY;
-		char direction = initialDirection;
-		visitedPositions.add(x + "," + y); // Mark the starting position as visited
-
-		// Directions array: index 0 -> up ('^'), 1 -> right ('>'), 2 -> down ('v'), 3 -> left ('<')
-		int[] dx = {-1, 0, 1, 0}; // Up, Right, Down, Left
-		int[] dy = {0, 1, 0, -1}; // Up, Right, Down, Left
-		int currentDirection = direction == '^' ? 0 : direction == '>' ? 1 : direction == 'v' ? 2 : 3;
+		CellSet visitedPositions = map.newCellSet();
+		visitedPositions.add(position); // Mark the starting position as visited
 
 		while (true) {
-			int newX = x + dx[currentDirection];
-			int newY = y + dy[currentDirection];
+			int next = map.neighbour(position, currentDirection);
+			byte ahead = map.get(next);
 
 			// Check if the guard has left the map
-			if (newX < 0 || newX >= map.length || newY < 0 || newY >= map[0].length) {
+			if (ahead == ByteGrid.BORDER) {
 				break;
 			}
 
 			// If there is an obstacle in front, turn right 90 degrees
-			if (map[newX][newY] == '#') {
-				currentDirection = (currentDirection + 1) % 4;
+			if (ahead == '#') {
+				currentDirection = (currentDirection + 1) & 3;
 			} else {
 				// Otherwise, move forward
-				x = newX;
-				y = newY;
-				visitedPositions.add(x + "," + y);
+				position = next;
+				visitedPositions.add(position);
 			}
 		}
-
-		// Output the number of distinct positions visited
-		System.out.println("Total distinct positions visited: " + visitedPositions.size());
+		return visitedPositions.size();
 	}
 
-	// Step 2: Function to read the map from the file
-	private static char[][] readMap(String filePath) {
-		List<String> lines = new ArrayList<>();
-		try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-			String line;
-			while ((line = br.readLine()) != null) {
-				lines.add(line);
-			}
+	// Step 2: Function to read the map from the file, or null if it can't be read
+	private static ByteGrid readMap(String filePath) {
+		try {
+			return ByteGrid.from(PuzzleInput.map(Path.of(filePath)));
 		} catch (IOException e) {
 			System.err.println("Error reading the file: " + e.getMessage());
+			return null;
 		}
-
-		// Convert the lines into a 2D character array (map)
-		char[][] map = new char[lines.size()][lines.get(0).length()];
-		for (int i = 0; i < lines.size(); i++) {
-			map[i] = lines.get(i).toCharArray();
-		}
-		return map;
 	}
 }
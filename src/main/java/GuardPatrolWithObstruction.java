@@ -1,13 +1,13 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 public class GuardPatrolWithObstruction {
+	private static final Progress PROGRESS = Progress.of("GuardPatrolWithObstruction");
+	private static final Progress.Counter CANDIDATES = PROGRESS.counter("CandidatesEvaluated",
+			"Obstruction sites the guard has walked the grid for");
+	private static final Progress.Counter LOOPS = PROGRESS.counter("LoopsFound", "Obstruction sites that trap the guard");
+
 	public static void main(String[] args) throws IOException {
 		// Step 1: Ask the user for the file name (e.g., Day6.txt)
 		Scanner scanner = new Scanner(System.in);
@@ -15,136 +15,94 @@ public class GuardPatrolWithObstruction {
 		String filePath = scanner.nextLine();  // Get file path input from user
 
 		// Step 2: Read the grid data from the file specified by the user
-		BufferedReader br = new BufferedReader(new FileReader(filePath));  // Open the grid file
-		String s;
-		List<List<Character>> grid = new ArrayList<>();
-		int startRow = -1;
-		int startCol = -1;
-		int row = 0;
+		ByteGrid grid = ByteGrid.from(PuzzleInput.map(Path.of(filePath)));
+		int start = grid.indexOf((byte) '^');
 
-		// Step 3: Populate the grid
-		while ((s = br.readLine()) != null) {
-			List<Character> line = new ArrayList<>();
-			char[] charArray = s.toCharArray();
-			for (int i = 0; i < charArray.length; i++) {
-				char c = charArray[i];
-				line.add(c);
-				if (c == '^') {
-					startRow = row;
-					startCol = i;
-				}
-			}
-			grid.add(line);
-			row++;
-		}
+		// Step 3: Simulate the guard's walk, recording the route
+		CellSet route = grid.newCellSet();
+		simulateGuardWalk(grid, start, route, new CellSet(grid.size() * 4));
 
-		// Step 4: Simulate the guard's walk
-		simulateGuardWalk(grid, startRow, startCol);
+		// Step 4: Trace the grid with the route marked 'X' and count its positions
+		Diagnostics.trace(() -> routeMap(grid, route));
+		System.out.println(route.size());
 
-		// Step 5: Print grid and count positions marked with 'X'
-		int p1 = 0;
-		List<Pos> potentialSites = new ArrayList<>();
-		for (int i = 0; i < grid.size(); i++) {
-			List<Character> line = grid.get(i);
-			for (int j = 0; j < line.size(); j++) {
-				Character c = line.get(j);
-				if (c == 'X') {
-					potentialSites.add(new Pos(i, j));
-					p1++;
-				}
-				System.out.print(c);
+		// Step 5: Try adding an obstruction and check for loop
+		int p2 = countLoops(grid, route, start);
+		System.out.println(p2);
+	}
+
+	// The grid with every cell on the route marked 'X', one row per line
+	private static String routeMap(ByteGrid grid, CellSet route) {
+		StringBuilder sb = new StringBuilder((grid.width() + 1) * grid.height());
+		for (int row = 0; row < grid.height(); row++) {
+			for (int col = 0; col < grid.width(); col++) {
+				int index = grid.index(col, row);
+				sb.append(route.contains(index) ? 'X' : (char) grid.get(index));
 			}
-			System.out.println();
+			sb.append('\n');
 		}
+		return sb.toString();
+	}
 
-		System.out.println("\n" + p1);
+	// Counts the positions where a single new obstruction traps the guard in a loop
+	static int countLoopingObstructions(ByteGrid map) {
+		// Obstructions are placed on a copy so the parsed map stays unchanged
+		ByteGrid grid = map.copy();
+		int start = grid.indexOf((byte) '^');
 
-		// Step 6: Try adding an obstruction and check for loop
-		int p2 = 0;
-		for (Pos pot : potentialSites) {
-			resetGrid(grid);
-			grid.get(pot.row).set(pot.col, '#');
-			if (simulateGuardWalk(grid, startRow, startCol)) {
-				p2++;
-			}
-			grid.get(pot.row).set(pot.col, '.');
-		}
-		System.out.println(p2);
+		// Only positions on the guard's original route can change the route
+		CellSet route = grid.newCellSet();
+		simulateGuardWalk(grid, start, route, new CellSet(grid.size() * 4));
+		return countLoops(grid, route, start);
 	}
 
-	// Helper method to reset the grid
-	private static void resetGrid(List<List<Character>> grid) {
-		for (List<Character> line : grid) {
-			for (int j = 0; j < line.size(); j++) {
-				Character c = line.get(j);
-				if (c == 'X') {
-					line.set(j, '.');
-				}
+	// Helper method to try an obstruction at each potential site and count the resulting loops
+	private static int countLoops(ByteGrid grid, CellSet potentialSites, int start) {
+		int loops = 0;
+		CellSet turns = new CellSet(grid.size() * 4);
+		for (int site = potentialSites.next(0); site != -1; site = potentialSites.next(site + 1)) {
+			byte previous = grid.get(site);
+			grid.set(site, (byte) '#');
+			turns.clear();
+			if (simulateGuardWalk(grid, start, null, turns)) {
+				loops++;
+				LOOPS.increment();
 			}
+			grid.set(site, previous);
+			CANDIDATES.increment();
 		}
+		return loops;
 	}
 
-	// Method to simulate the guard's walk
-	private static boolean simulateGuardWalk(List<List<Character>> grid, int startRow, int startCol) {
-		int rows = grid.size();
-		int cols = grid.get(0).size();  // Use get(0) to fetch the first row size
-
-		Direction dir = Direction.NORTH;
-		int row = startRow;
-		int col = startCol;
-		Set<Turn> turns = new HashSet<>();
+	/**
+	 * Simulates the guard's walk from the start, facing north, until they leave the grid or repeat a turn.
+	 * @param grid The grid, with obstructions as '#'
+	 * @param start Index of the guard's starting cell
+	 * @param route Receives every cell the guard visits, or null if the route isn't needed
+	 * @param turns An empty set with room for four entries per cell, one per direction, to record the turns in
+	 * @return True if the guard is stuck in a loop, false if they leave the grid
+	 */
+	private static boolean simulateGuardWalk(ByteGrid grid, int start, CellSet route, CellSet turns) {
+		int dir = ByteGrid.NORTH;
+		int position = start;
 
 		while (true) {
-			grid.get(row).set(col, 'X');  // Mark the current position as visited
-			int nr = row + dir.r;
-			int nc = col + dir.c;
-			if (nr >= 0 && nc >= 0 && nr < rows && nc < cols) {
-				if (grid.get(nr).get(nc) == '#') {
-					Turn cur = new Turn(row, col, dir);
-					if (turns.contains(cur)) {
-						return true;  // Loop detected
-					}
-					dir = dir.right();  // Turn right
-					turns.add(cur);
-				} else {
-					row = nr;
-					col = nc;  // Move forward
+			if (route != null) {
+				route.add(position);  // Mark the current position as visited
+			}
+			int next = grid.neighbour(position, dir);
+			byte ahead = grid.get(next);
+			if (ahead == ByteGrid.BORDER) {
+				return false;  // Guard has moved out of the grid
+			}
+			if (ahead == '#') {
+				if (!turns.add(position * 4 + dir)) {
+					return true;  // Loop detected: the same turn at the same position again
 				}
+				dir = (dir + 1) & 3;  // Turn right
 			} else {
-				return false;  // Guard has moved out of the grid
+				position = next;  // Move forward
 			}
 		}
 	}
-
-	// Helper class to represent a position (row, col)
-	record Pos(int row, int col) {}
-
-	// Helper class to track turns
-	record Turn(int row, int col, Direction direction) {}
-
-	// Enum to represent the four possible directions (N, E, S, W)
-	enum Direction {
-		NORTH(-1, 0),
-		EAST(0, 1),
-		SOUTH(1, 0),
-		WEST(0, -1);
-
-		final int r;
-		final int c;
-
-		Direction(int r, int c) {
-			this.r = r;
-			this.c = c;
-		}
-
-		// Method to rotate 90 degrees to the right
-		Direction right() {
-			return switch (this) {
-				case NORTH -> EAST;
-				case EAST -> SOUTH;
-				case SOUTH -> WEST;
-				case WEST -> NORTH;
-			};
-		}
-	}
 }
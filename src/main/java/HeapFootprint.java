@@ -0,0 +1,172 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Measures how much heap each day's parsed model keeps alive, and the most heap in use while it's solved, to show
+ * which models are worth shrinking and how much memory a run needs.
+ * Usage: {@code java HeapFootprint [--inputs DIR] [--top N] [DAY[=FILE] ...]}
+ * The model's retained size is the difference between two class histograms of the live heap, the same ones
+ * {@code jcmd PID GC.class_histogram} prints, taken before and after parsing while the model is still reachable. Each
+ * histogram forces a full collection, so only what the model holds on to is counted; the classes that grew most
+ * are listed under each day. The day is parsed once beforehand so class loading and static caches aren't counted.
+ * Filler objects, which G1 writes over dead space in regions it hasn't compacted (jdk.internal.vm.FillerArray and
+ * FillerObject), show up in the histogram as live but belong to no model, so they're left out of both.
+ * Inputs are memory-mapped, so the input itself is off the heap and not counted either.
+ * The peak is the sum of each heap pool's peak usage during the solve, reset just before it. The pools can peak at
+ * different moments, so it's an upper bound on the heap the solve needed, including its garbage.
+ * Days are run one at a time on the main thread, so nothing else is on the heap; run with a fixed {@code -Xmx} to
+ * compare runs.
+ */
+public class HeapFootprint {
+
+	// One row of a class histogram: "   1:      12345    1234567  [B (java.base@21)"
+	private static final Pattern HISTOGRAM_ROW = Pattern.compile("^\\s*\\d+:\\s+(\\d+)\\s+(\\d+)\\s+(\\S+)", Pattern.MULTILINE);
+	// The classes the collector fills dead heap space with, e.g. "Ljdk.internal.vm.FillerArray;"
+	private static final String GC_FILLER = "jdk.internal.vm.Filler";
+
+	// Live instances and bytes of one class
+	private record Usage(long instances, long bytes) {
+	}
+
+	private static final Usage NONE = new Usage(0, 0);
+
+	public static void main(String[] args) throws IOException, JMException {
+		Path inputDir = Path.of("");
+		int top = 5;
+		Map<Integer, Path> inputs = new LinkedHashMap<>();
+
+		// Parse the command line
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--inputs" -> inputDir = Path.of(args[++i]);
+				case "--top" -> top = Math.max(0, Integer.parseInt(args[++i]));
+				default -> {
+					String[] dayAndFile = args[i].split("=", 2);
+					int day = Integer.parseInt(dayAndFile[0]);
+					inputs.put(day, dayAndFile.length == 2 ? Path.of(dayAndFile[1]) : null);
+				}
+			}
+		}
+		if (inputs.isEmpty()) {
+			for (int day : Solvers.days()) {
+				inputs.put(day, null);
+			}
+		}
+
+		System.out.printf("%-4s %12s %12s %12s%n", "Day", "Model MB", "Objects", "Peak MB");
+		for (Map.Entry<Integer, Path> entry : inputs.entrySet()) {
+			int day = entry.getKey();
+			Path input = entry.getValue() != null ? entry.getValue() : inputDir.resolve(Solvers.defaultInput(day));
+			if (!Files.isRegularFile(input)) {
+				System.err.println("Day " + day + ": input not found: " + input);
+				continue;
+			}
+			PuzzleInput puzzle = PuzzleInput.map(input);
+			// Parse once first, so the classes it loads and the static state it sets up aren't counted as the model
+			Solvers.parse(day, puzzle);
+
+			// Each histogram below is taken while exactly one earlier histogram is reachable, so the bookkeeping cancels
+			Map<String, Usage> before = histogramBeside(histogram());
+			Solvers.Parsed<?> parsed = Solvers.parse(day, puzzle);
+			Map<String, Usage> after = histogram();
+			Reference.reachabilityFence(parsed); // The model must survive the second histogram to be counted in it
+
+			Set<String> names = new HashSet<>(before.keySet());
+			names.addAll(after.keySet());
+			List<String> classes = new ArrayList<>(names);
+			Map<String, Usage> growth = new HashMap<>();
+			long bytes = 0, instances = 0;
+			for (String name : classes) {
+				Usage was = before.getOrDefault(name, NONE);
+				Usage now = after.getOrDefault(name, NONE);
+				Usage grew = new Usage(now.instances() - was.instances(), now.bytes() - was.bytes());
+				growth.put(name, grew);
+				bytes += grew.bytes();
+				instances += grew.instances();
+			}
+
+			long peak;
+			try {
+				resetPeaks();
+				parsed.solve();
+				peak = peakHeap();
+			} catch (RuntimeException e) {
+				System.err.println("Day " + day + ": failed on " + input + ": " + e);
+				continue;
+			}
+
+			System.out.printf("%-4d %12.3f %,12d %12.3f%n", day, megabytes(bytes), instances, megabytes(peak));
+			classes.sort((a, b) -> Long.compare(growth.get(b).bytes(), growth.get(a).bytes()));
+			for (String name : classes.subList(0, Math.min(top, classes.size()))) {
+				Usage grew = growth.get(name);
+				if (grew.bytes() > 0) {
+					System.out.printf("     %12.3f %,12d   %s%n", megabytes(grew.bytes()), grew.instances(), name);
+				}
+			}
+		}
+		Diagnostics.flush();
+	}
+
+	// A histogram taken while an earlier one is still reachable, which is then let go
+	private static Map<String, Usage> histogramBeside(Map<String, Usage> earlier) throws JMException {
+		Map<String, Usage> usage = histogram();
+		Reference.reachabilityFence(earlier);
+		return usage;
+	}
+
+	// Live instances and bytes per class, after a full collection, without the collector's own filler objects
+	private static Map<String, Usage> histogram() throws JMException {
+		String text = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+				new ObjectName("com.sun.management:type=DiagnosticCommand"), "gcClassHistogram",
+				new Object[] {new String[0]}, new String[] {String[].class.getName()});
+		Map<String, Usage> usage = new HashMap<>();
+		Matcher row = HISTOGRAM_ROW.matcher(text);
+		while (row.find()) {
+			if (row.group(3).contains(GC_FILLER)) {
+				continue;
+			}
+			usage.merge(row.group(3), new Usage(Long.parseLong(row.group(1)), Long.parseLong(row.group(2))),
+					(a, b) -> new Usage(a.instances() + b.instances(), a.bytes() + b.bytes()));
+		}
+		return usage;
+	}
+
+	private static void resetPeaks() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	// The sum of every heap pool's peak usage since the last reset
+	private static long peakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	private static double megabytes(long bytes) {
+		return bytes / (1024.0 * 1024.0);
+	}
+}
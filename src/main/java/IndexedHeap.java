@@ -0,0 +1,118 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of the ints 0 to capacity - 1, each with an int key, that knows where every element is so a
+ * queued element's key can be lowered in place (decrease-key) instead of queueing it again.
+ * Arrays are indexed by element, so it suits dense state numbers such as cell indices or encoded search states.
+ */
+final class IndexedHeap {
+
+	private final int[] heap; // Elements in heap order
+	private final int[] position; // Where each element is in the heap, or -1 if it isn't queued
+	private final int[] keys;
+	private int size;
+
+	IndexedHeap(int capacity) {
+		heap = new int[capacity];
+		position = new int[capacity];
+		keys = new int[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * Queues an element, or lowers its key if it is already queued with a higher one.
+	 * @return False if the element was already queued with a key no higher than this one
+	 */
+	boolean offer(int element, int key) {
+		int at = position[element];
+		if (at < 0) {
+			at = size++;
+			heap[at] = element;
+			position[element] = at;
+		} else if (key >= keys[element]) {
+			return false;
+		}
+		keys[element] = key;
+		siftUp(at);
+		return true;
+	}
+
+	// Removes and returns the element with the smallest key
+	int remove() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		int smallest = heap[0];
+		position[smallest] = -1;
+		if (--size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return smallest;
+	}
+
+	// The key an element was last queued with
+	int key(int element) {
+		return keys[element];
+	}
+
+	boolean contains(int element) {
+		return position[element] >= 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		for (int i = 0; i < size; i++) {
+			position[heap[i]] = -1;
+		}
+		size = 0;
+	}
+
+	private void siftUp(int at) {
+		int element = heap[at];
+		int key = keys[element];
+		while (at > 0) {
+			int parent = (at - 1) >>> 1;
+			if (keys[heap[parent]] <= key) {
+				break;
+			}
+			move(heap[parent], at);
+			at = parent;
+		}
+		move(element, at);
+	}
+
+	private void siftDown(int at) {
+		int element = heap[at];
+		int key = keys[element];
+		while (true) {
+			int child = 2 * at + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+				child++;
+			}
+			if (keys[heap[child]] >= key) {
+				break;
+			}
+			move(heap[child], at);
+			at = child;
+		}
+		move(element, at);
+	}
+
+	private void move(int element, int at) {
+		heap[at] = element;
+		position[element] = at;
+	}
+}
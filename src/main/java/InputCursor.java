@@ -0,0 +1,226 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A reusable window onto a range of a {@link PuzzleInput} that parses it front to back without allocating.
+ * Line and section methods narrow another cursor onto the next piece instead of returning a new object,
+ * so a parser creates one cursor per level of nesting and reuses it for every line or section.
+ */
+final class InputCursor {
+
+	private PuzzleInput input;
+	private int position;
+	private int limit;
+
+	// An empty cursor, to be narrowed onto a line or section
+	InputCursor() {
+	}
+
+	InputCursor(PuzzleInput input, int start, int end) {
+		set(input, start, end);
+	}
+
+	private void set(PuzzleInput input, int start, int end) {
+		this.input = input;
+		this.position = start;
+		this.limit = end;
+	}
+
+	// An independent cursor over the same remaining bytes, e.g. to look ahead
+	InputCursor duplicate() {
+		return new InputCursor(input, position, limit);
+	}
+
+	boolean hasRemaining() {
+		return position < limit;
+	}
+
+	int remaining() {
+		return limit - position;
+	}
+
+	// Absolute index of the next byte in the input
+	int position() {
+		return position;
+	}
+
+	// Absolute index just past the last byte of this cursor
+	int limit() {
+		return limit;
+	}
+
+	// The next byte without consuming it
+	byte peek() {
+		return input.at(position);
+	}
+
+	// The byte at an offset from the current position, without consuming anything
+	byte peek(int offset) {
+		return input.at(position + offset);
+	}
+
+	// Consume and return the next byte
+	byte next() {
+		return input.at(position++);
+	}
+
+	void skip(int count) {
+		position = Math.min(limit, position + count);
+	}
+
+	/**
+	 * Narrows {@code line} onto the next line, without its line terminator, and moves past it.
+	 * @param line The cursor to reuse for the line
+	 * @return False if there are no more lines
+	 */
+	boolean nextLine(InputCursor line) {
+		if (position >= limit) {
+			return false;
+		}
+		int start = position;
+		int end = start;
+		while (end < limit && input.at(end) != '\n') {
+			end++;
+		}
+		position = end < limit ? end + 1 : limit;
+		if (end > start && input.at(end - 1) == '\r') {
+			end--;
+		}
+		line.set(input, start, end);
+		return true;
+	}
+
+	/**
+	 * Narrows {@code section} onto the next block of lines, the blocks being separated by blank lines, and moves
+	 * past it and the blank lines after it.
+	 * @param section The cursor to reuse for the section
+	 * @return False if there are no more sections
+	 */
+	boolean nextSection(InputCursor section) {
+		skipLineBreaks();
+		if (position >= limit) {
+			return false;
+		}
+		int start = position;
+		int end = start;
+		while (end < limit) {
+			if (input.at(end) == '\n') {
+				int next = end + 1;
+				if (next < limit && input.at(next) == '\r') {
+					next++;
+				}
+				if (next >= limit || input.at(next) == '\n') {
+					break; // A blank line, or the end of the input, ends the section
+				}
+			}
+			end++;
+		}
+		position = end;
+		skipLineBreaks();
+		if (end > start && input.at(end - 1) == '\r') {
+			end--;
+		}
+		section.set(input, start, end);
+		return true;
+	}
+
+	private void skipLineBreaks() {
+		while (position < limit && (input.at(position) == '\n' || input.at(position) == '\r')) {
+			position++;
+		}
+	}
+
+	// Whether another number follows; consumes everything before it
+	boolean hasNextNumber() {
+		while (position < limit) {
+			byte b = input.at(position);
+			if (isDigit(b) || b == '-' && position + 1 < limit && isDigit(input.at(position + 1))) {
+				return true;
+			}
+			position++;
+		}
+		return false;
+	}
+
+	/**
+	 * Skips to the next number, which may be negative, and parses it.
+	 * @return The number
+	 * @throws NoSuchElementException If no number follows
+	 */
+	long nextLong() {
+		if (!hasNextNumber()) {
+			throw new NoSuchElementException("No number after index " + position);
+		}
+		boolean negative = input.at(position) == '-';
+		if (negative) {
+			position++;
+		}
+		long value = 0;
+		while (position < limit && isDigit(input.at(position))) {
+			value = value * 10 + (input.at(position++) - '0');
+		}
+		return negative ? -value : value;
+	}
+
+	int nextInt() {
+		return Math.toIntExact(nextLong());
+	}
+
+	// Whether another word of letters and digits follows; consumes everything before it
+	boolean hasNextWord() {
+		while (position < limit && !isWordByte(input.at(position))) {
+			position++;
+		}
+		return position < limit;
+	}
+
+	/**
+	 * Skips to the next word of letters and digits, e.g. a wire or computer name, and decodes it.
+	 * @return The word
+	 * @throws NoSuchElementException If no word follows
+	 */
+	String nextWord() {
+		if (!hasNextWord()) {
+			throw new NoSuchElementException("No word after index " + position);
+		}
+		int start = position;
+		while (position < limit && isWordByte(input.at(position))) {
+			position++;
+		}
+		return input.text(start, position);
+	}
+
+	// Whether the remaining bytes start with the given ASCII text
+	boolean startsWith(String prefix) {
+		if (prefix.length() > remaining()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (input.at(position + i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// The remaining bytes as a String
+	String text() {
+		return input.text(position, limit);
+	}
+
+	// The remaining bytes as characters, e.g. one row of a grid
+	char[] toCharArray() {
+		char[] chars = new char[remaining()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = (char) input.at(position + i);
+		}
+		return chars;
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	private static boolean isWordByte(byte b) {
+		return isDigit(b) || b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z';
+	}
+}
@@ -0,0 +1,18 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+// Writes a valid puzzle input for one day, as large as a scale factor asks, from a seeded random source
+@FunctionalInterface
+interface InputGenerator {
+
+	/**
+	 * Writes one input.
+	 * @param random The only source of randomness, so the same seed always gives the same input
+	 * @param scale How much bigger than the real puzzle input to make it, along each of its dimensions: 1 is about
+	 *              puzzle-sized, 10 is a list ten times as long or a grid ten times as wide and ten times as tall
+	 * @param out Where to write the input
+	 * @throws IOException If there's an error writing
+	 */
+	void generate(Random random, double scale, Writer out) throws IOException;
+}
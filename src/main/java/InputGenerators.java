@@ -0,0 +1,844 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Registry of every day's {@link InputGenerator}, keyed by day number like {@link Solvers}.
+ * Each generator writes the same format as the real input, keeps to whatever the solver assumes about it (e.g. the
+ * fixed 101x103 room of day 14 or the int registers of day 17) and plants a solution where the puzzle needs one to
+ * exist, such as the largest clique of day 23 or the swapped gates of day 24. Days whose solvers hardcode the size of
+ * the puzzle can only grow the parts that aren't fixed, and day 17's program has a fixed length.
+ */
+final class InputGenerators {
+
+	private static final Map<Integer, InputGenerator> GENERATORS = new TreeMap<>();
+
+	static {
+		GENERATORS.put(1, InputGenerators::locationLists);
+		GENERATORS.put(2, InputGenerators::reports);
+		GENERATORS.put(3, InputGenerators::corruptedMemory);
+		GENERATORS.put(4, InputGenerators::wordSearch);
+		GENERATORS.put(5, InputGenerators::pageOrdering);
+		GENERATORS.put(6, InputGenerators::guardMap);
+		GENERATORS.put(7, InputGenerators::calibrations);
+		GENERATORS.put(8, InputGenerators::antennaMap);
+		GENERATORS.put(9, InputGenerators::diskMap);
+		GENERATORS.put(10, InputGenerators::topographicMap);
+		GENERATORS.put(11, InputGenerators::stones);
+		GENERATORS.put(12, InputGenerators::gardenPlots);
+		GENERATORS.put(13, InputGenerators::clawMachines);
+		GENERATORS.put(14, InputGenerators::robots);
+		GENERATORS.put(15, InputGenerators::warehouse);
+		GENERATORS.put(16, InputGenerators::reindeerMaze);
+		GENERATORS.put(17, InputGenerators::program);
+		GENERATORS.put(18, InputGenerators::fallingBytes);
+		GENERATORS.put(19, InputGenerators::towels);
+		GENERATORS.put(20, InputGenerators::racetrack);
+		GENERATORS.put(21, InputGenerators::doorCodes);
+		GENERATORS.put(22, InputGenerators::secrets);
+		GENERATORS.put(23, InputGenerators::network);
+		GENERATORS.put(24, InputGenerators::adder);
+		GENERATORS.put(25, InputGenerators::schematics);
+	}
+
+	private InputGenerators() {
+	}
+
+	// All days with a generator in ascending order
+	static Set<Integer> days() {
+		return GENERATORS.keySet();
+	}
+
+	// The generator for a given day
+	static InputGenerator forDay(int day) {
+		var generator = GENERATORS.get(day);
+		if (generator == null) {
+			throw new IllegalArgumentException("No input generator for day " + day);
+		}
+		return generator;
+	}
+
+	// A puzzle-sized count times the scale, at least one
+	private static int scaled(int puzzleSize, double scale) {
+		return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, Math.round(puzzleSize * scale)));
+	}
+
+	// A random int from min to max, both included
+	private static int between(Random random, int min, int max) {
+		return min + random.nextInt(max - min + 1);
+	}
+
+	// Day 1: two columns of five digit numbers, some of the right ones repeating left ones for the similarity score
+	private static void locationLists(Random random, double scale, Writer out) throws IOException {
+		int lines = scaled(1000, scale);
+		int[] left = new int[lines];
+		for (int i = 0; i < lines; i++) {
+			left[i] = between(random, 10000, 99999);
+		}
+		for (int i = 0; i < lines; i++) {
+			int right = random.nextInt(3) == 0 ? left[random.nextInt(lines)] : between(random, 10000, 99999);
+			out.write(left[i] + "   " + right + "\n");
+		}
+	}
+
+	// Day 2: reports of five to eight levels, mostly gradual runs with the odd bad level, and some plain noise
+	private static void reports(Random random, double scale, Writer out) throws IOException {
+		int lines = scaled(1000, scale);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < lines; i++) {
+			int levels = between(random, 5, 8);
+			int direction = random.nextBoolean() ? 1 : -1;
+			int level = between(random, 20, 80);
+			int bad = random.nextInt(3) == 0 ? random.nextInt(levels) : -1;
+			boolean noise = random.nextInt(5) == 0;
+			sb.setLength(0);
+			for (int j = 0; j < levels; j++) {
+				int value = noise ? between(random, 1, 99) : j == bad ? level + between(random, -6, 6) : level;
+				sb.append(j == 0 ? "" : " ").append(value);
+				level += direction * between(random, 1, 3);
+			}
+			out.write(sb.append('\n').toString());
+		}
+	}
+
+	// Day 3: lines of junk with well-formed and broken mul instructions and the odd do() or don't()
+	private static void corruptedMemory(Random random, double scale, Writer out) throws IOException {
+		String[] junk = {"!", "@", "#", "$", "%", "^", "&", "*", "(", ")", "[", "]", "{", "}", "<", ">", ",", ";", ":",
+				"'", "~", " ", "+", "-", "?", "/", "what()", "from()", "select()", "when()", "who()", "where()", "how()",
+				"mul[3,7]", "mul(32,64]", "mul ( 2 , 4 )", "mul(4*", "mul(6,9!"};
+		int lines = scaled(6, scale);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < lines; i++) {
+			sb.setLength(0);
+			while (sb.length() < 3000) {
+				int pick = random.nextInt(20);
+				if (pick < 4) {
+					sb.append("mul(").append(between(random, 1, 999)).append(',').append(between(random, 1, 999)).append(')');
+				} else if (pick == 4) {
+					sb.append(random.nextBoolean() ? "do()" : "don't()");
+				} else {
+					sb.append(junk[random.nextInt(junk.length)]);
+				}
+			}
+			out.write(sb.append('\n').toString());
+		}
+	}
+
+	// Day 4: a square of the letters X, M, A and S
+	private static void wordSearch(Random random, double scale, Writer out) throws IOException {
+		String letters = "XMAS";
+		grid(out, scaled(140, scale), scaled(140, scale), (x, y, row) -> letters.charAt(random.nextInt(4)));
+	}
+
+	/**
+	 * Day 5: 49 pages in a circle where each page comes before the 24 after it, as in the real input, so the rules are
+	 * cyclic as a whole but every update, taken from one half of the circle, has a consistent order.
+	 * Half the updates are in that order and the rest are shuffled.
+	 */
+	private static void pageOrdering(Random random, double scale, Writer out) throws IOException {
+		List<Integer> pages = new ArrayList<>();
+		for (int page = 11; page <= 99; page++) {
+			pages.add(page);
+		}
+		Collections.shuffle(pages, random);
+		pages = pages.subList(0, 49);
+		int after = (pages.size() - 1) / 2;
+
+		List<String> rules = new ArrayList<>();
+		for (int i = 0; i < pages.size(); i++) {
+			for (int j = 1; j <= after; j++) {
+				rules.add(pages.get(i) + "|" + pages.get((i + j) % pages.size()));
+			}
+		}
+		Collections.shuffle(rules, random);
+		for (String rule : rules) {
+			out.write(rule + "\n");
+		}
+		out.write("\n");
+
+		int updates = scaled(200, scale);
+		List<Integer> offsets = new ArrayList<>();
+		for (int i = 0; i <= after; i++) {
+			offsets.add(i);
+		}
+		for (int i = 0; i < updates; i++) {
+			int start = random.nextInt(pages.size());
+			int length = 2 * between(random, 2, 11) + 1;
+			Collections.shuffle(offsets, random);
+			List<Integer> update = new ArrayList<>(offsets.subList(0, length));
+			Collections.sort(update);
+			if (random.nextBoolean()) {
+				Collections.shuffle(update, random);
+			}
+			StringBuilder sb = new StringBuilder();
+			for (int offset : update) {
+				sb.append(sb.length() == 0 ? "" : ",").append(pages.get((start + offset) % pages.size()));
+			}
+			out.write(sb.append('\n').toString());
+		}
+	}
+
+	/**
+	 * Day 6: a lab with scattered obstructions and the guard facing north somewhere in it.
+	 * Part one only ends once the guard walks off the map, and random obstructions can turn the guard into a loop, so
+	 * the generator walks the guard itself and takes out an obstruction on the loop until the walk leaves the map.
+	 */
+	private static void guardMap(Random random, double scale, Writer out) throws IOException {
+		int width = scaled(130, scale);
+		int height = scaled(130, scale);
+		int guardY = random.nextInt(height);
+		int guardX = random.nextInt(width);
+		BitSet[] obstructions = new BitSet[height];
+		for (int y = 0; y < height; y++) {
+			obstructions[y] = new BitSet(width);
+			for (int x = 0; x < width; x++) {
+				if ((x != guardX || y != guardY) && random.nextInt(100) < 5) {
+					obstructions[y].set(x);
+				}
+			}
+		}
+		while (clearLoop(obstructions, width, height, guardX, guardY)) {
+			// Another loop may be left, or made by the obstruction taken out, so walk again
+		}
+		grid(out, width, height, (x, y, row) -> x == guardX && y == guardY ? '^' : obstructions[y].get(x) ? '#' : '.');
+	}
+
+	/**
+	 * Walks the guard from its start facing north, turning right at obstructions as the solver does.
+	 * A walk that takes more steps than there are positions and directions is on a loop, and every loop turns at an
+	 * obstruction, so the next one it turns at is taken out.
+	 * @return Whether an obstruction was taken out; false once the guard leaves the map
+	 */
+	private static boolean clearLoop(BitSet[] obstructions, int width, int height, int x, int y) {
+		int[] dx = {0, 1, 0, -1};
+		int[] dy = {-1, 0, 1, 0};
+		int direction = 0;
+		long states = 4L * width * height;
+		for (long step = 0; ; step++) {
+			int nextX = x + dx[direction];
+			int nextY = y + dy[direction];
+			if (nextX < 0 || nextY < 0 || nextX >= width || nextY >= height) {
+				return false;
+			}
+			if (!obstructions[nextY].get(nextX)) {
+				x = nextX;
+				y = nextY;
+			} else if (step >= states) {
+				obstructions[nextY].clear(nextX);
+				return true;
+			} else {
+				direction = (direction + 1) & 3;
+			}
+		}
+	}
+
+	/**
+	 * Day 7: equations of two to twelve numbers, half of them true for some choice of operators.
+	 * Every number has at most 15 digits between them: with twelve of them no combination of operators passes
+	 * 2^12 * 10^15, so even the concatenations the solver tries stay inside a long.
+	 */
+	private static void calibrations(Random random, double scale, Writer out) throws IOException {
+		int lines = scaled(850, scale);
+		for (int i = 0; i < lines; i++) {
+			int count = between(random, 2, 12);
+			long[] numbers = new long[count];
+			int digitsLeft = 15;
+			for (int j = 0; j < count; j++) {
+				int digits = Math.min(between(random, 1, 3), digitsLeft - (count - j - 1));
+				numbers[j] = between(random, (int) Math.pow(10, digits - 1), (int) Math.pow(10, digits) - 1);
+				digitsLeft -= digits;
+			}
+			long value = numbers[0];
+			if (random.nextBoolean()) {
+				for (int j = 1; j < count; j++) {
+					value = switch (random.nextInt(3)) {
+						case 0 -> value + numbers[j];
+						case 1 -> value * numbers[j];
+						default -> Long.parseLong(value + "" + numbers[j]);
+					};
+				}
+			} else {
+				value = 1 + (random.nextLong() & Long.MAX_VALUE) % 1_000_000_000_000L;
+			}
+			StringBuilder sb = new StringBuilder().append(value).append(':');
+			for (long number : numbers) {
+				sb.append(' ').append(number);
+			}
+			out.write(sb.append('\n').toString());
+		}
+	}
+
+	// Day 8: a map with about one antenna in twelve cells, over all 62 frequencies
+	private static void antennaMap(Random random, double scale, Writer out) throws IOException {
+		String frequencies = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+		int side = scaled(50, scale);
+		grid(out, side, side, (x, y, row) ->
+				random.nextInt(12) == 0 ? frequencies.charAt(random.nextInt(frequencies.length())) : '.');
+	}
+
+	// Day 9: a disk map of odd length, files of one to nine blocks and gaps of up to nine; 20,000 digits at scale 1
+	private static void diskMap(Random random, double scale, Writer out) throws IOException {
+		long digits = Math.max(1, Math.round(20_000 * scale)) | 1;
+		char[] chunk = new char[1 << 16];
+		for (long written = 0; written < digits; ) {
+			int length = (int) Math.min(chunk.length, digits - written);
+			for (int i = 0; i < length; i++) {
+				boolean file = (written + i) % 2 == 0;
+				chunk[i] = (char) ('0' + (file ? between(random, 1, 9) : random.nextInt(10)));
+			}
+			out.write(chunk, 0, length);
+			written += length;
+		}
+		out.write("\n");
+	}
+
+	// Day 10: heights that mostly step by one from a neighbour, so trails from 0 to 9 are common
+	private static void topographicMap(Random random, double scale, Writer out) throws IOException {
+		int side = scaled(57, scale);
+		grid(out, side, side, (x, y, row) -> {
+			if (x == 0 && y == 0) {
+				return (char) ('0' + random.nextInt(10));
+			}
+			char from = x == 0 || (y > 0 && random.nextBoolean()) ? row.previous(x) : row.current(x - 1);
+			int height = from - '0' + (random.nextBoolean() ? 1 : -1);
+			return (char) ('0' + (height < 0 ? 1 : height > 9 ? 8 : height));
+		});
+	}
+
+	// Day 11: a line of eight engraved numbers
+	private static void stones(Random random, double scale, Writer out) throws IOException {
+		int count = scaled(8, scale);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			sb.append(i == 0 ? "" : " ").append(random.nextInt(10_000_000));
+		}
+		out.write(sb.append('\n').toString());
+	}
+
+	// Day 12: plots that mostly copy the plant of the plot left or above them, so regions are blobs of all sizes
+	private static void gardenPlots(Random random, double scale, Writer out) throws IOException {
+		int side = scaled(140, scale);
+		grid(out, side, side, (x, y, row) -> {
+			if (random.nextInt(100) < 15 || (x == 0 && y == 0)) {
+				return (char) ('A' + random.nextInt(26));
+			}
+			return x == 0 || (y > 0 && random.nextBoolean()) ? row.previous(x) : row.current(x - 1);
+		});
+	}
+
+	// Day 13: claw machines whose buttons are never parallel, half with a prize the buttons can reach exactly
+	private static void clawMachines(Random random, double scale, Writer out) throws IOException {
+		int machines = scaled(320, scale);
+		for (int i = 0; i < machines; i++) {
+			int ax, ay, bx, by;
+			do {
+				ax = between(random, 10, 99);
+				ay = between(random, 10, 99);
+				bx = between(random, 10, 99);
+				by = between(random, 10, 99);
+			} while (ax * by == ay * bx);
+			long px, py;
+			if (random.nextBoolean()) {
+				int a = random.nextInt(101);
+				int b = random.nextInt(101);
+				px = (long) a * ax + (long) b * bx;
+				py = (long) a * ay + (long) b * by;
+			} else {
+				px = between(random, 1000, 20000);
+				py = between(random, 1000, 20000);
+			}
+			out.write((i == 0 ? "" : "\n") + "Button A: X+" + ax + ", Y+" + ay + "\nButton B: X+" + bx + ", Y+" + by
+					+ "\nPrize: X=" + px + ", Y=" + py + "\n");
+		}
+	}
+
+	/**
+	 * Day 14: robots in the solver's fixed 101x103 room, nine of which meet in a 3x3 square at one random second
+	 * within the 10,000 the solver searches, so part two always has an answer.
+	 * With many robots a square can also form earlier by chance; that's still a valid answer.
+	 */
+	private static void robots(Random random, double scale, Writer out) throws IOException {
+		int width = 101, height = 103;
+		List<String> robots = new ArrayList<>();
+		for (int i = scaled(500, scale) - 9; i > 0; i--) {
+			robots.add(robot(random.nextInt(width), random.nextInt(height), random));
+		}
+		int time = between(random, 1, 10_000);
+		int cx = random.nextInt(width), cy = random.nextInt(height);
+		for (int dx = -1; dx <= 1; dx++) {
+			for (int dy = -1; dy <= 1; dy++) {
+				int vx = between(random, -99, 99), vy = between(random, -99, 99);
+				// Run the robot backwards from the square to where it has to start
+				int x = Math.floorMod(cx + dx - vx * time, width);
+				int y = Math.floorMod(cy + dy - vy * time, height);
+				robots.add("p=" + x + "," + y + " v=" + vx + "," + vy);
+			}
+		}
+		Collections.shuffle(robots, random);
+		for (String robot : robots) {
+			out.write(robot + "\n");
+		}
+	}
+
+	private static String robot(int x, int y, Random random) {
+		return "p=" + x + "," + y + " v=" + between(random, -99, 99) + "," + between(random, -99, 99);
+	}
+
+	// Day 15: a walled warehouse with scattered walls and boxes, the robot, then lines of 1,000 moves
+	private static void warehouse(Random random, double scale, Writer out) throws IOException {
+		int side = Math.max(4, scaled(50, scale));
+		long robot = (long) between(random, 1, side - 2) * side + between(random, 1, side - 2);
+		grid(out, side, side, (x, y, row) -> {
+			if (x == 0 || y == 0 || x == side - 1 || y == side - 1) {
+				return '#';
+			}
+			if ((long) y * side + x == robot) {
+				return '@';
+			}
+			int pick = random.nextInt(100);
+			return pick < 5 ? '#' : pick < 30 ? 'O' : '.';
+		});
+		out.write("\n");
+		String moves = "<>^v";
+		char[] line = new char[1000];
+		for (int i = scaled(20, scale); i > 0; i--) {
+			for (int j = 0; j < line.length; j++) {
+				line[j] = moves.charAt(random.nextInt(4));
+			}
+			out.write(line);
+			out.write("\n");
+		}
+	}
+
+	// Day 16: a maze with loops, start in the bottom left corner and end in the top right one
+	private static void reindeerMaze(Random random, double scale, Writer out) throws IOException {
+		int side = scaled(141, scale) | 1;
+		byte[] maze = maze(random, side, side, 10);
+		maze[(side - 2) * side + 1] = 'S';
+		maze[side + side - 2] = 'E';
+		write(out, maze, side);
+	}
+
+	/**
+	 * Day 17: a program of the shape the puzzle's programs have, which outputs a function of the low bits of A and
+	 * shifts A right by three until it's zero, with random constants.
+	 * Not every choice of constants has a value of A that makes the program print itself, so the generator runs the
+	 * solver's own search and tries again until part two has an answer. The program's length is fixed, so the scale
+	 * doesn't change anything.
+	 */
+	private static void program(Random random, double scale, Writer out) throws IOException {
+		while (true) {
+			int[] program = {2, 4, 1, random.nextInt(8), 7, 5, 1, random.nextInt(8), 4, random.nextInt(8), 0, 3, 5, 5, 3, 0};
+			if (random.nextBoolean()) {
+				// Shifting A before or after the output doesn't change the shape
+				program = new int[]{2, 4, 1, program[3], 7, 5, 0, 3, 1, program[7], 4, program[9], 5, 5, 3, 0};
+			}
+			int a = random.nextInt(Integer.MAX_VALUE);
+			StringBuilder sb = new StringBuilder("Register A: " + a + "\nRegister B: 0\nRegister C: 0\n\nProgram: ");
+			for (int i = 0; i < program.length; i++) {
+				sb.append(i == 0 ? "" : ",").append(program[i]);
+			}
+			String input = sb.append('\n').toString();
+			Day17 day = new Day17();
+			try {
+				day.partTwo(day.parse(PuzzleInput.of(input)));
+			} catch (NoSuchElementException e) {
+				continue; // No quine for these constants
+			}
+			out.write(input);
+			return;
+		}
+	}
+
+	// Day 18: bytes falling on the solver's fixed 71x71 memory space, never on the start or the exit, and at least the
+	// 1,024 part one always drops
+	private static void fallingBytes(Random random, double scale, Writer out) throws IOException {
+		int side = 71;
+		List<Integer> cells = new ArrayList<>();
+		for (int cell = 1; cell < side * side - 1; cell++) {
+			cells.add(cell);
+		}
+		Collections.shuffle(cells, random);
+		for (int cell : cells.subList(0, Math.min(cells.size(), Math.max(1024, scaled(3450, scale))))) {
+			out.write(cell % side + "," + cell / side + "\n");
+		}
+	}
+
+	// Day 19: towels of up to eight stripes, then designs of which half are made of towels and the rest random
+	private static void towels(Random random, double scale, Writer out) throws IOException {
+		String colours = "wubrg";
+		// One colour has no single-stripe towel, or every design could be made
+		char missing = colours.charAt(random.nextInt(colours.length()));
+		Set<String> towels = new HashSet<>();
+		while (towels.size() < 447) {
+			String towel = stripes(random, colours, between(random, 1, 8));
+			if (!towel.equals(String.valueOf(missing))) {
+				towels.add(towel);
+			}
+		}
+		List<String> pattern = new ArrayList<>(towels);
+		Collections.shuffle(pattern, random);
+		out.write(String.join(", ", pattern) + "\n\n");
+		for (int i = scaled(400, scale); i > 0; i--) {
+			int length = between(random, 20, 60);
+			StringBuilder design = new StringBuilder();
+			if (random.nextBoolean()) {
+				while (design.length() < length) {
+					design.append(pattern.get(random.nextInt(pattern.size())));
+				}
+			} else {
+				design.append(stripes(random, colours, length));
+			}
+			out.write(design.append('\n').toString());
+		}
+	}
+
+	private static String stripes(Random random, String colours, int length) {
+		char[] stripes = new char[length];
+		for (int i = 0; i < length; i++) {
+			stripes[i] = colours.charAt(random.nextInt(colours.length()));
+		}
+		return new String(stripes);
+	}
+
+	// Day 20: a single track through walls, the path from start to end of a maze with no loops
+	private static void racetrack(Random random, double scale, Writer out) throws IOException {
+		int side = scaled(141, scale) | 1;
+		byte[] maze = maze(random, side, side, 0);
+		int start = (side - 2) * side + 1;
+		int end = side + side - 2;
+
+		// The maze has no loops, so the breadth-first search tree holds the only path from start to end
+		int[] parent = new int[maze.length];
+		Arrays.fill(parent, -1);
+		parent[start] = start;
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		queue.add(start);
+		while (!queue.isEmpty()) {
+			int cell = queue.poll();
+			for (int next : new int[]{cell - side, cell + 1, cell + side, cell - 1}) {
+				if (maze[next] != '#' && parent[next] == -1) {
+					parent[next] = cell;
+					queue.add(next);
+				}
+			}
+		}
+		byte[] track = new byte[maze.length];
+		Arrays.fill(track, (byte) '#');
+		for (int cell = end; cell != start; cell = parent[cell]) {
+			track[cell] = '.';
+		}
+		track[start] = 'S';
+		track[end] = 'E';
+		write(out, track, side);
+	}
+
+	// Day 21: five door codes of three digits and an A
+	private static void doorCodes(Random random, double scale, Writer out) throws IOException {
+		for (int i = scaled(5, scale); i > 0; i--) {
+			out.write(String.format("%03dA", random.nextInt(1000)) + "\n");
+		}
+	}
+
+	// Day 22: one initial secret per buyer, below 2^24 like the secrets the pseudorandom step produces
+	private static void secrets(Random random, double scale, Writer out) throws IOException {
+		for (int i = scaled(1700, scale); i > 0; i--) {
+			out.write(between(random, 1, (1 << 24) - 1) + "\n");
+		}
+	}
+
+	/**
+	 * Day 23: 520 computers at scale 1, each linked to about thirteen random others, plus one planted group of
+	 * thirteen that are all linked to each other. Random links this sparse almost never form a group of more than four,
+	 * so the planted one is the answer to part two. Names are two lowercase letters like the real ones, only longer once
+	 * there are too many computers for two letters.
+	 */
+	private static void network(Random random, double scale, Writer out) throws IOException {
+		int computers = Math.max(13, scaled(520, scale));
+		String[] names = names(random, computers, 2, "");
+		Set<Long> links = new HashSet<>();
+		for (long i = (long) computers * 13 / 2; i > 0; i--) {
+			int a = random.nextInt(computers);
+			int b = random.nextInt(computers);
+			if (a != b) {
+				links.add(link(a, b));
+			}
+		}
+		List<Integer> group = new ArrayList<>();
+		for (int i = 0; i < computers; i++) {
+			group.add(i);
+		}
+		Collections.shuffle(group, random);
+		group = group.subList(0, 13);
+		for (int a : group) {
+			for (int b : group) {
+				if (a < b) {
+					links.add(link(a, b));
+				}
+			}
+		}
+		List<Long> lines = new ArrayList<>(links);
+		Collections.shuffle(lines, random);
+		for (long line : lines) {
+			boolean flip = random.nextBoolean();
+			int a = (int) (line >>> 32), b = (int) line;
+			out.write(names[flip ? b : a] + "-" + names[flip ? a : b] + "\n");
+		}
+	}
+
+	// An undirected link as one long, the lower computer first
+	private static long link(int a, int b) {
+		return (long) Math.min(a, b) << 32 | Math.max(a, b);
+	}
+
+	/**
+	 * Day 24: a ripple-carry adder of 45 bits at scale 1, gate lines shuffled, with the outputs of four pairs of gates
+	 * swapped at four bits far enough apart not to interact. The swaps are the kinds the puzzle uses and the solver
+	 * looks for: a bit's sum and carry halves swapped, or an output bit swapped with a wire of the same bit.
+	 * Adders of more than 63 bits are valid input, but their sum doesn't fit the long part one reports.
+	 */
+	private static void adder(Random random, double scale, Writer out) throws IOException {
+		int bits = Math.max(12, scaled(45, scale));
+		StringBuilder sb = new StringBuilder();
+		for (String input : new String[]{"x", "y"}) {
+			for (int i = 0; i < bits; i++) {
+				sb.append(input).append(String.format("%02d", i)).append(": ").append(random.nextInt(2)).append('\n');
+			}
+		}
+		out.write(sb.append('\n').toString());
+
+		// Internal wires per bit: the half sum a, the half carry b, the carried sum d and the carry out c
+		String[] names = names(random, 4 * bits, 3, "xyz");
+		String[] a = new String[bits], b = new String[bits], d = new String[bits], c = new String[bits + 1];
+		String[] z = new String[bits + 1];
+		for (int i = 0; i < bits; i++) {
+			a[i] = names[4 * i];
+			b[i] = names[4 * i + 1];
+			d[i] = names[4 * i + 2];
+			c[i + 1] = names[4 * i + 3];
+			z[i] = String.format("z%02d", i);
+		}
+		z[bits] = String.format("z%02d", bits);
+		c[bits] = z[bits];
+		c[1] = b[0];
+
+		// Swap at four bits away from the ends and at least two apart
+		Set<Integer> swapped = new HashSet<>();
+		while (swapped.size() < 4) {
+			int bit = between(random, 2, bits - 3);
+			if (!swapped.contains(bit - 1) && !swapped.contains(bit) && !swapped.contains(bit + 1)) {
+				swapped.add(bit);
+			}
+		}
+		String[] sum = z.clone();
+		String[] halfSum = a.clone();
+		String[] halfCarry = b.clone();
+		String[] carriedSum = d.clone();
+		String[] carryOut = c.clone();
+		for (int bit : swapped) {
+			switch (random.nextInt(4)) {
+				case 0 -> { halfSum[bit] = b[bit]; halfCarry[bit] = a[bit]; }
+				case 1 -> { sum[bit] = c[bit + 1]; carryOut[bit + 1] = z[bit]; }
+				case 2 -> { sum[bit] = d[bit]; carriedSum[bit] = z[bit]; }
+				default -> { sum[bit] = b[bit]; halfCarry[bit] = z[bit]; }
+			}
+		}
+
+		List<String> gates = new ArrayList<>();
+		String x0 = "x00", y0 = "y00";
+		gates.add(gate(random, x0, "XOR", y0, z[0]));
+		gates.add(gate(random, x0, "AND", y0, b[0]));
+		for (int i = 1; i < bits; i++) {
+			String x = String.format("x%02d", i), y = String.format("y%02d", i);
+			// Gates write to the possibly swapped names and read from the names the other gates write to
+			gates.add(gate(random, x, "XOR", y, halfSum[i]));
+			gates.add(gate(random, x, "AND", y, halfCarry[i]));
+			gates.add(gate(random, a[i], "XOR", c[i], sum[i]));
+			gates.add(gate(random, a[i], "AND", c[i], carriedSum[i]));
+			gates.add(gate(random, b[i], "OR", d[i], carryOut[i + 1]));
+		}
+		Collections.shuffle(gates, random);
+		for (String gate : gates) {
+			out.write(gate + "\n");
+		}
+	}
+
+	// One gate line with its inputs in either order
+	private static String gate(Random random, String left, String type, String right, String output) {
+		return random.nextBoolean()
+				? left + " " + type + " " + right + " -> " + output
+				: right + " " + type + " " + left + " -> " + output;
+	}
+
+	// Day 25: 500 schematics at scale 1, locks filled from the top and keys from the bottom, five columns high
+	private static void schematics(Random random, double scale, Writer out) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = scaled(500, scale); i > 0; i--) {
+			boolean lock = random.nextBoolean();
+			int[] heights = new int[5];
+			for (int column = 0; column < 5; column++) {
+				heights[column] = random.nextInt(6);
+			}
+			sb.setLength(0);
+			for (int row = 0; row < 7; row++) {
+				for (int column = 0; column < 5; column++) {
+					// Row 0 is the lock's full top, row 6 the key's full bottom
+					boolean filled = lock ? row <= heights[column] : 6 - row <= heights[column];
+					sb.append(filled ? '#' : '.');
+				}
+				sb.append('\n');
+			}
+			out.write(sb.append(i > 1 ? "\n" : "").toString());
+		}
+	}
+
+	// Distinct random lowercase names, as short as the puzzle's until more are needed, never starting with any of the
+	// excluded letters
+	private static String[] names(Random random, int count, int length, String excluded) {
+		long space = 26 - excluded.length();
+		for (int i = 1; i < length; i++) {
+			space *= 26;
+		}
+		// Leave some room so picking unused names at random doesn't take long
+		for (; space < count + count / 4; space *= 26) {
+			length++;
+		}
+		Set<String> names = new HashSet<>();
+		char[] name = new char[length];
+		while (names.size() < count) {
+			do {
+				name[0] = (char) ('a' + random.nextInt(26));
+			} while (excluded.indexOf(name[0]) >= 0);
+			for (int i = 1; i < length; i++) {
+				name[i] = (char) ('a' + random.nextInt(26));
+			}
+			names.add(new String(name));
+		}
+		String[] shuffled = names.toArray(new String[0]);
+		Arrays.sort(shuffled);
+		Collections.shuffle(Arrays.asList(shuffled), random);
+		return shuffled;
+	}
+
+	/**
+	 * A maze on odd cells, carved by a depth-first walk, every cell outside it a wall.
+	 * @param loopPercent Chance of knocking down each remaining inner wall between two passages; 0 for no loops
+	 */
+	private static byte[] maze(Random random, int width, int height, int loopPercent) {
+		byte[] maze = new byte[width * height];
+		Arrays.fill(maze, (byte) '#');
+		int[] dx = {0, 2, 0, -2};
+		int[] dy = {-2, 0, 2, 0};
+		ArrayDeque<Integer> stack = new ArrayDeque<>();
+		int first = width + 1;
+		maze[first] = '.';
+		stack.push(first);
+		int[] order = {0, 1, 2, 3};
+		while (!stack.isEmpty()) {
+			int cell = stack.peek();
+			int x = cell % width, y = cell / width;
+			shuffle(order, random);
+			boolean moved = false;
+			for (int direction : order) {
+				int nx = x + dx[direction];
+				int ny = y + dy[direction];
+				if (nx < 1 || ny < 1 || nx > width - 2 || ny > height - 2) {
+					continue;
+				}
+				int next = ny * width + nx;
+				if (maze[next] == '#') {
+					maze[(cell + next) / 2] = '.';
+					maze[next] = '.';
+					stack.push(next);
+					moved = true;
+					break;
+				}
+			}
+			if (!moved) {
+				stack.pop();
+			}
+		}
+		if (loopPercent > 0) {
+			for (int y = 1; y < height - 1; y++) {
+				for (int x = 1; x < width - 1; x++) {
+					int cell = y * width + x;
+					boolean between = (x % 2 == 0) != (y % 2 == 0);
+					if (between && maze[cell] == '#' && random.nextInt(100) < loopPercent) {
+						maze[cell] = '.';
+					}
+				}
+			}
+		}
+		return maze;
+	}
+
+	private static void shuffle(int[] values, Random random) {
+		for (int i = values.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = values[i];
+			values[i] = values[j];
+			values[j] = swap;
+		}
+	}
+
+	// Writes a row-major grid of ASCII cells
+	private static void write(Writer out, byte[] cells, int width) throws IOException {
+		char[] line = new char[width + 1];
+		line[width] = '\n';
+		for (int start = 0; start < cells.length; start += width) {
+			for (int x = 0; x < width; x++) {
+				line[x] = (char) cells[start + x];
+			}
+			out.write(line);
+		}
+	}
+
+	// What a grid cell can see while it's being generated: the row above it and the cells before it in its own row
+	private static final class Rows {
+		private final char[][] rows;
+		private int current;
+
+		private Rows(int width) {
+			rows = new char[][]{new char[width + 1], new char[width + 1]};
+		}
+
+		char previous(int x) {
+			return rows[current ^ 1][x];
+		}
+
+		char current(int x) {
+			return rows[current][x];
+		}
+	}
+
+	// Chooses the character of one grid cell
+	@FunctionalInterface
+	private interface Cell {
+		char at(int x, int y, Rows rows);
+	}
+
+	// Writes a grid one row at a time, keeping only two rows in memory however big it is
+	private static void grid(Writer out, int width, int height, Cell cell) throws IOException {
+		Rows rows = new Rows(width);
+		for (int y = 0; y < height; y++) {
+			rows.current = y & 1;
+			char[] row = rows.rows[rows.current];
+			for (int x = 0; x < width; x++) {
+				row[x] = cell.at(x, y, rows);
+			}
+			row[width] = '\n';
+			out.write(row);
+		}
+	}
+}
@@ -0,0 +1,165 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves days again whenever their input files change, keeping each day's parsed model in memory between changes.
+ * Usage: {@code java InputWatcher [--inputs DIR] [--diagnostics LEVEL] [DAY[=FILE] ...]}
+ * Days and inputs are chosen as for the {@link Launcher}. Every day is solved once at the start, then only a day
+ * whose file changed is solved again. When a change only appends whole lines and the day is an
+ * {@link AppendableSolver}, just the new lines are parsed into the model it already has; any other change, or a day
+ * that can't append, is parsed from scratch. Runs until it is stopped.
+ */
+public class InputWatcher {
+
+	// How long to wait for more events after a change, so that one save is solved once
+	private static final long SETTLE_MILLIS = 50;
+
+	// One day's input file and what was last parsed from it
+	private static final class Watched {
+		final int day;
+		final Path file;
+		byte[] content; // The bytes the model was parsed from, or null before a successful parse
+		Solvers.Parsed<?> parsed;
+
+		Watched(int day, Path file) {
+			this.day = day;
+			this.file = file;
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Path inputDir = Path.of("");
+		Map<Integer, Path> inputs = new LinkedHashMap<>();
+
+		// Parse the command line
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--inputs" -> inputDir = Path.of(args[++i]);
+				case "--diagnostics" -> Diagnostics.setLevel(Diagnostics.Level.of(args[++i]));
+				default -> {
+					String[] dayAndFile = args[i].split("=", 2);
+					int day = Integer.parseInt(dayAndFile[0]);
+					inputs.put(day, dayAndFile.length == 2 ? Path.of(dayAndFile[1]) : null);
+				}
+			}
+		}
+		if (inputs.isEmpty()) {
+			for (int day : Solvers.days()) {
+				inputs.put(day, null);
+			}
+		}
+
+		// Events name a file relative to its directory, so look the days up by absolute path
+		Map<Path, Watched> watched = new LinkedHashMap<>();
+		for (Map.Entry<Integer, Path> entry : inputs.entrySet()) {
+			Path file = entry.getValue() != null ? entry.getValue() : inputDir.resolve(Solvers.defaultInput(entry.getKey()));
+			file = file.toAbsolutePath().normalize();
+			watched.put(file, new Watched(entry.getKey(), file));
+		}
+
+		try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+			Set<Path> directories = new LinkedHashSet<>();
+			for (Path file : watched.keySet()) {
+				if (directories.add(file.getParent())) {
+					file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+				}
+			}
+			for (Watched day : watched.values()) {
+				solve(day);
+			}
+			System.out.println("Watching " + watched.size() + " inputs in " + directories);
+
+			while (true) {
+				// Collect everything that changed until the events settle down
+				Set<Watched> changed = new LinkedHashSet<>();
+				WatchKey key = watcher.take();
+				do {
+					Path directory = (Path) key.watchable();
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (event.context() instanceof Path name) {
+							Watched day = watched.get(directory.resolve(name));
+							if (day != null) {
+								changed.add(day);
+							}
+						} else if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							changed.addAll(watched.values()); // Events were lost, so anything may have changed
+						}
+					}
+					key.reset();
+					key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+				} while (key != null);
+
+				for (Watched day : changed) {
+					solve(day);
+				}
+			}
+		} catch (ClosedWatchServiceException e) {
+			// Stopped
+		}
+	}
+
+	// Solves a day again if its input changed, appending to its model when the change allows it
+	private static void solve(Watched watched) {
+		byte[] content;
+		try {
+			content = Files.readAllBytes(watched.file);
+		} catch (NoSuchFileException e) {
+			System.err.println("Day " + watched.day + ": waiting for " + watched.file);
+			return;
+		} catch (IOException e) {
+			System.err.println("Day " + watched.day + ": error reading " + watched.file + ": " + e.getMessage());
+			return;
+		}
+		if (Arrays.equals(content, watched.content)) {
+			return; // Touched or saved without changes
+		}
+
+		// The input is read onto the heap rather than mapped, since an editor may truncate the file while it's in use
+		PuzzleInput input = PuzzleInput.of(content);
+		try {
+			Solvers.Parsed<?> parsed = null;
+			boolean appended = watched.parsed != null && isAppend(watched.content, content);
+			if (appended) {
+				parsed = watched.parsed.append(input, watched.content.length);
+				appended = parsed != null;
+			}
+			if (parsed == null) {
+				parsed = Solvers.parse(watched.day, input);
+			}
+			SolverResult result = parsed.solve();
+			System.out.printf("Day %d: %s / %s (%s %,d bytes in %.3f ms, part one %.3f ms, part two %.3f ms)%n",
+					watched.day, result.partOne(), result.partTwo() == null ? "-" : result.partTwo(),
+					appended ? "appended" : "parsed", content.length - (appended ? watched.content.length : 0),
+					result.parseNanos() / 1e6, result.partOneNanos() / 1e6, result.partTwoNanos() / 1e6);
+			watched.content = content;
+			watched.parsed = parsed;
+		} catch (RuntimeException e) {
+			// Likely a file caught halfway through being written; a failed append may have left the model half
+			// extended, so the next change is parsed from scratch
+			System.err.println("Day " + watched.day + ": failed on " + watched.file + ": " + e);
+			watched.content = null;
+			watched.parsed = null;
+		}
+		Diagnostics.flush();
+	}
+
+	// Whether the new content is the old content with whole lines added after it
+	private static boolean isAppend(byte[] old, byte[] content) {
+		return old.length > 0 && content.length > old.length && old[old.length - 1] == '\n'
+				&& Arrays.equals(old, 0, old.length, content, 0, old.length);
+	}
+}
@@ -0,0 +1,155 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of ints in an open-addressing hash table with linear probing, e.g. page numbers or cell indices.
+ * Nothing is boxed, and nothing is allocated once the table is big enough; the table doubles when half full.
+ * A free slot holds 0, so the key 0 itself is kept in a flag beside the table.
+ */
+final class IntHashSet {
+
+	private int[] keys;
+	private boolean hasZero;
+	private int size;
+	private int mask;
+	private int resizeAt;
+
+	IntHashSet() {
+		this(16);
+	}
+
+	// An empty set with room for at least the given number of keys before it grows
+	IntHashSet(int expected) {
+		allocate(tableSize(expected));
+	}
+
+	// Adds a key; returns false if it was already in the set
+	boolean add(int key) {
+		if (key == 0) {
+			if (hasZero) {
+				return false;
+			}
+			hasZero = true;
+			size++;
+			return true;
+		}
+		int slot = slot(key);
+		for (int k; (k = keys[slot]) != 0; slot = slot + 1 & mask) {
+			if (k == key) {
+				return false;
+			}
+		}
+		keys[slot] = key;
+		if (++size > resizeAt) {
+			rehash(keys.length * 2);
+		}
+		return true;
+	}
+
+	boolean contains(int key) {
+		if (key == 0) {
+			return hasZero;
+		}
+		int slot = slot(key);
+		for (int k; (k = keys[slot]) != 0; slot = slot + 1 & mask) {
+			if (k == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Removes a key; returns false if it wasn't in the set
+	boolean remove(int key) {
+		if (key == 0) {
+			if (!hasZero) {
+				return false;
+			}
+			hasZero = false;
+			size--;
+			return true;
+		}
+		int slot = slot(key);
+		for (int k; (k = keys[slot]) != 0; slot = slot + 1 & mask) {
+			if (k == key) {
+				closeGap(slot);
+				size--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		Arrays.fill(keys, 0);
+		hasZero = false;
+		size = 0;
+	}
+
+	// Calls the action with every key, in no particular order
+	void forEach(IntConsumer action) {
+		if (hasZero) {
+			action.accept(0);
+		}
+		for (int k : keys) {
+			if (k != 0) {
+				action.accept(k);
+			}
+		}
+	}
+
+	// Empties a slot by moving later keys of its run back into it, so every key stays reachable from its home slot
+	private void closeGap(int gap) {
+		for (int slot = gap + 1 & mask; ; slot = slot + 1 & mask) {
+			int k = keys[slot];
+			if (k == 0) {
+				keys[gap] = 0;
+				return;
+			}
+			int home = slot(k);
+			// The key may move back unless its home lies after the gap, between it and where the key is now
+			if (gap <= slot ? gap >= home || home > slot : gap >= home && home > slot) {
+				keys[gap] = k;
+				gap = slot;
+			}
+		}
+	}
+
+	private void rehash(int capacity) {
+		int[] old = keys;
+		allocate(capacity);
+		for (int k : old) {
+			if (k != 0) {
+				int slot = slot(k);
+				while (keys[slot] != 0) {
+					slot = slot + 1 & mask;
+				}
+				keys[slot] = k;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		mask = capacity - 1;
+		resizeAt = capacity / 2;
+	}
+
+	// Fibonacci hashing, folding the high bits in so keys that differ only there don't collide
+	private int slot(int key) {
+		int h = key * 0x9E3779B9;
+		return (h ^ h >>> 16) & mask;
+	}
+
+	private static int tableSize(int expected) {
+		return LongHashSet.tableSize(expected);
+	}
+}
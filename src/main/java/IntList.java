@@ -0,0 +1,72 @@
+import java.util.Arrays;
+
+/**
+ * A list of ints in an array that grows by half when full, e.g. a column of numbers read from the input.
+ * Nothing is boxed, and adding allocates only when the array grows.
+ */
+final class IntList {
+
+	private int[] elements;
+	private int size;
+
+	IntList() {
+		this(16);
+	}
+
+	// An empty list with room for at least the given number of elements before it grows
+	IntList(int capacity) {
+		elements = new int[Math.max(1, capacity)];
+	}
+
+	void add(int value) {
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, elements.length + (elements.length >> 1) + 1);
+		}
+		elements[size++] = value;
+	}
+
+	int get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return elements[index];
+	}
+
+	void set(int index, int value) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		elements[index] = value;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	// A copy of the elements, exactly as long as the list
+	int[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	// Copies the elements into an array, starting at an offset
+	void copyTo(int[] target, int offset) {
+		System.arraycopy(elements, 0, target, offset, size);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			text.append(i == 0 ? "" : ", ").append(elements[i]);
+		}
+		return text.append(']').toString();
+	}
+}
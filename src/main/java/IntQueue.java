@@ -0,0 +1,58 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A first-in first-out queue of ints in a ring buffer that doubles when full, e.g. the frontier of a breadth-first
+ * search over cell indices. Nothing is boxed and nothing is allocated once the buffer is big enough.
+ */
+final class IntQueue {
+
+	private int[] elements;
+	private int head; // Index of the next element to remove
+	private int size;
+
+	// An empty queue with room for at least the given number of elements before it grows
+	IntQueue(int capacity) {
+		elements = new int[Integer.highestOneBit(Math.max(2, capacity) * 2 - 1)];
+	}
+
+	void add(int value) {
+		if (size == elements.length) {
+			grow();
+		}
+		elements[(head + size++) & elements.length - 1] = value;
+	}
+
+	// Removes and returns the element that was added first
+	int remove() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		int value = elements[head];
+		head = (head + 1) & elements.length - 1;
+		size--;
+		return value;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	// Unrolls the ring into a buffer twice the size, oldest element first
+	private void grow() {
+		int[] grown = new int[elements.length * 2];
+		int firstPart = elements.length - head;
+		System.arraycopy(elements, head, grown, 0, firstPart);
+		System.arraycopy(elements, 0, grown, firstPart, head);
+		elements = grown;
+		head = 0;
+	}
+}
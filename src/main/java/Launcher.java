@@ -0,0 +1,219 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs any selection of days in one JVM without prompting.
+ * Usage: {@code java Launcher [--warmup N] [--iterations N] [--parallel] [--history FILE] [--diagnostics LEVEL]
+ * [--cache DIR] [--no-cache] [--inputs DIR] [DAY[=FILE] ...]}
+ * With no days given every registered day is run against its checked-in input (e.g. Day7.txt), or the one in the
+ * {@code --inputs} directory, such as a directory written by {@link GenerateInputs}.
+ * Each day is first run {@code --warmup} times untimed, then {@code --iterations} times, and the
+ * average of the measured runs is reported per phase.
+ * With {@code --parallel} the selected days run concurrently on a {@link SuiteExecutor}, slowest first, and the
+ * wall-clock time of the suite is reported as well. Every day that is solved rather than answered from the cache
+ * updates the {@link RuntimeHistory} that order comes from.
+ * Besides time, each phase reports the bytes its thread allocated and the garbage collections during it; the same
+ * numbers are emitted as {@link PhaseEvent}s when the JVM runs with {@code -XX:StartFlightRecording}.
+ * Answers are kept in a {@link ResultCache} so a repeat run over the same inputs and code skips the solvers;
+ * {@code --no-cache} bypasses it, which is what any timing run wants. A run with {@code --warmup} or more than one
+ * iteration always bypasses it, since every run after the first would otherwise be a cache hit and time nothing.
+ * {@code --diagnostics} sets the {@link Diagnostics} level (off, summary or trace) the solvers log at.
+ */
+public class Launcher {
+
+	public static void main(String[] args) {
+		int warmup = 0;
+		int iterations = 1;
+		boolean parallel = false;
+		Path historyFile = RuntimeHistory.DEFAULT_FILE;
+		Path cacheDir = ResultCache.DEFAULT_DIR;
+		boolean useCache = true;
+		Path inputDir = Path.of("");
+		Map<Integer, Path> inputs = new LinkedHashMap<>();
+
+		// Parse the command line
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+				case "--iterations" -> iterations = Math.max(1, Integer.parseInt(args[++i]));
+				case "--parallel" -> parallel = true;
+				case "--history" -> historyFile = Path.of(args[++i]);
+				case "--cache" -> cacheDir = Path.of(args[++i]);
+				case "--no-cache" -> useCache = false;
+				case "--diagnostics" -> Diagnostics.setLevel(Diagnostics.Level.of(args[++i]));
+				case "--inputs" -> inputDir = Path.of(args[++i]);
+				default -> {
+					String[] dayAndFile = args[i].split("=", 2);
+					int day = Integer.parseInt(dayAndFile[0]);
+					// A day without a file gets its default input once the input directory is known
+					inputs.put(day, dayAndFile.length == 2 ? Path.of(dayAndFile[1]) : null);
+				}
+			}
+		}
+		if (inputs.isEmpty()) {
+			for (int day : Solvers.days()) {
+				inputs.put(day, null);
+			}
+		}
+		for (Map.Entry<Integer, Path> entry : inputs.entrySet()) {
+			if (entry.getValue() == null) {
+				entry.setValue(inputDir.resolve(Solvers.defaultInput(entry.getKey())));
+			}
+		}
+
+		// Drop the days whose input is missing up front, so both modes skip them the same way
+		inputs.entrySet().removeIf(entry -> {
+			boolean missing = !Files.isRegularFile(entry.getValue());
+			if (missing) {
+				System.err.println("Day " + entry.getKey() + ": input not found: " + entry.getValue());
+			}
+			return missing;
+		});
+
+		RuntimeHistory history = RuntimeHistory.load(historyFile);
+		// Repeated runs are there to time the solvers, which a cache hit would skip
+		boolean repeated = warmup > 0 || iterations > 1;
+		ResultCache cache = useCache && !repeated ? ResultCache.open(cacheDir) : ResultCache.bypass();
+		List<SolverResult> results;
+		if (parallel) {
+			results = measureSuite(inputs, history, cache, warmup, iterations);
+		} else {
+			results = new ArrayList<>();
+			for (Map.Entry<Integer, Path> entry : inputs.entrySet()) {
+				int day = entry.getKey();
+				Path input = entry.getValue();
+				try {
+					results.add(measure(day, input, cache, history, warmup, iterations));
+				} catch (IOException e) {
+					System.err.println("Day " + day + ": error reading " + input + ": " + e.getMessage());
+				}
+			}
+		}
+		Diagnostics.flush();
+		print(results);
+		System.out.println(cache.stats());
+
+		try {
+			history.save();
+		} catch (IOException e) {
+			System.err.println("Could not save runtime history " + historyFile + ": " + e.getMessage());
+		}
+	}
+
+	// Run a day repeatedly and average the phase timings over the measured iterations
+	static SolverResult measure(int day, Path input, ResultCache cache, RuntimeHistory history, int warmup,
+			int iterations) throws IOException {
+		return average(measureRuns(day, input, cache, history, warmup, iterations));
+	}
+
+	// Run a day repeatedly and return each measured iteration, in the order they ran
+	static List<SolverResult> measureRuns(int day, Path input, ResultCache cache, RuntimeHistory history, int warmup,
+			int iterations) throws IOException {
+		PuzzleInput puzzle = Solvers.readsInPieces(day, input) ? null : PuzzleInput.map(input);
+		for (int i = 0; i < warmup; i++) {
+			run(day, input, puzzle, cache, history);
+		}
+		List<SolverResult> runs = new ArrayList<>();
+		for (int i = 0; i < iterations; i++) {
+			runs.add(run(day, input, puzzle, cache, history));
+		}
+		return runs;
+	}
+
+	// Run a day once over its mapped input, or read the file in pieces again if it isn't mapped; such an input has no
+	// hash to cache the answers by, so it's always solved
+	private static SolverResult run(int day, Path input, PuzzleInput puzzle, ResultCache cache, RuntimeHistory history)
+			throws IOException {
+		if (puzzle != null) {
+			return Solvers.run(day, puzzle, cache, history);
+		}
+		SolverResult result = Solvers.run(day, input);
+		history.record(result);
+		return result;
+	}
+
+	// Run the whole selection concurrently, repeatedly, and average each day's phases over the measured runs
+	private static List<SolverResult> measureSuite(Map<Integer, Path> inputs, RuntimeHistory history, ResultCache cache,
+			int warmup, int iterations) {
+		try (SuiteExecutor executor = new SuiteExecutor()) {
+			for (int i = 0; i < warmup; i++) {
+				executor.run(inputs, history, cache);
+			}
+			Map<Integer, List<SolverResult>> runs = new LinkedHashMap<>();
+			long wallClock = 0;
+			for (int i = 0; i < iterations; i++) {
+				long start = System.nanoTime();
+				for (SolverResult result : executor.run(inputs, history, cache)) {
+					runs.computeIfAbsent(result.day(), day -> new ArrayList<>()).add(result);
+				}
+				wallClock += System.nanoTime() - start;
+			}
+			System.out.printf("Wall clock: %.3f ms on %d threads%n", millis(wallClock / iterations), Runtime.getRuntime().availableProcessors());
+
+			List<SolverResult> results = new ArrayList<>();
+			for (List<SolverResult> dayRuns : runs.values()) {
+				results.add(average(dayRuns));
+			}
+			return results;
+		}
+	}
+
+	// One result with the last answers and the mean cost of each phase
+	private static SolverResult average(List<SolverResult> runs) {
+		SolverResult last = runs.get(runs.size() - 1);
+		return new SolverResult(last.day(), last.partOne(), last.partTwo(),
+				PhaseStats.average(runs.stream().map(SolverResult::parse).toList()),
+				PhaseStats.average(runs.stream().map(SolverResult::first).toList()),
+				PhaseStats.average(runs.stream().map(SolverResult::second).toList()));
+	}
+
+	// Print the answers and timings as a table, then what each phase allocated
+	private static void print(List<SolverResult> results) {
+		System.out.printf("%-4s %-20s %-45s %10s %10s %10s%n", "Day", "Part 1", "Part 2", "Parse ms", "Part 1 ms", "Part 2 ms");
+		long total = 0;
+		for (SolverResult result : results) {
+			System.out.printf("%-4d %-20s %-45s %10.3f %10.3f %10.3f%n",
+					result.day(),
+					result.partOne(),
+					result.partTwo() == null ? "-" : result.partTwo(),
+					millis(result.parseNanos()),
+					millis(result.partOneNanos()),
+					millis(result.partTwoNanos()));
+			total += result.totalNanos();
+		}
+		System.out.printf("Total: %.3f ms%n%n", millis(total));
+
+		System.out.printf("%-4s %10s %10s %10s %10s %10s %10s%n", "Day", "Parse MB", "Part 1 MB", "Part 2 MB", "Parse GCs", "Part 1 GCs", "Part 2 GCs");
+		long allocated = 0;
+		for (SolverResult result : results) {
+			System.out.printf("%-4d %10s %10s %10s %10d %10d %10d%n",
+					result.day(),
+					megabytes(result.parse()),
+					megabytes(result.first()),
+					megabytes(result.second()),
+					result.parse().gcCount(),
+					result.first().gcCount(),
+					result.second().gcCount());
+			allocated += result.allocatedBytes();
+		}
+		System.out.printf("Total: %.3f MB allocated%n", megabytes(allocated));
+	}
+
+	// What a phase allocated, or "?" if it ran where the JVM couldn't count it; left out of the total
+	private static String megabytes(PhaseStats phase) {
+		return phase.allocationKnown() ? String.format("%.3f", megabytes(phase.allocatedBytes())) : "?";
+	}
+
+	private static double megabytes(long bytes) {
+		return bytes / (1024.0 * 1024.0);
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
@@ -0,0 +1,156 @@
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of longs in an open-addressing hash table with linear probing, e.g. packed coordinates or packed pairs.
+ * Nothing is boxed, and nothing is allocated once the table is big enough; the table doubles when half full.
+ * A free slot holds 0, so the key 0 itself is kept in a flag beside the table.
+ */
+final class LongHashSet {
+
+	private long[] keys;
+	private boolean hasZero;
+	private int size;
+	private int mask;
+	private int resizeAt;
+
+	LongHashSet() {
+		this(16);
+	}
+
+	// An empty set with room for at least the given number of keys before it grows
+	LongHashSet(int expected) {
+		allocate(tableSize(expected));
+	}
+
+	// Adds a key; returns false if it was already in the set
+	boolean add(long key) {
+		if (key == 0) {
+			if (hasZero) {
+				return false;
+			}
+			hasZero = true;
+			size++;
+			return true;
+		}
+		int slot = slot(key);
+		for (long k; (k = keys[slot]) != 0; slot = slot + 1 & mask) {
+			if (k == key) {
+				return false;
+			}
+		}
+		keys[slot] = key;
+		if (++size > resizeAt) {
+			rehash(keys.length * 2);
+		}
+		return true;
+	}
+
+	boolean contains(long key) {
+		if (key == 0) {
+			return hasZero;
+		}
+		int slot = slot(key);
+		for (long k; (k = keys[slot]) != 0; slot = slot + 1 & mask) {
+			if (k == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Removes a key; returns false if it wasn't in the set
+	boolean remove(long key) {
+		if (key == 0) {
+			if (!hasZero) {
+				return false;
+			}
+			hasZero = false;
+			size--;
+			return true;
+		}
+		int slot = slot(key);
+		for (long k; (k = keys[slot]) != 0; slot = slot + 1 & mask) {
+			if (k == key) {
+				closeGap(slot);
+				size--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		Arrays.fill(keys, 0L);
+		hasZero = false;
+		size = 0;
+	}
+
+	// Calls the action with every key, in no particular order
+	void forEach(LongConsumer action) {
+		if (hasZero) {
+			action.accept(0L);
+		}
+		for (long k : keys) {
+			if (k != 0) {
+				action.accept(k);
+			}
+		}
+	}
+
+	// Empties a slot by moving later keys of its run back into it, so every key stays reachable from its home slot
+	private void closeGap(int gap) {
+		for (int slot = gap + 1 & mask; ; slot = slot + 1 & mask) {
+			long k = keys[slot];
+			if (k == 0) {
+				keys[gap] = 0;
+				return;
+			}
+			int home = slot(k);
+			// The key may move back unless its home lies after the gap, between it and where the key is now
+			if (gap <= slot ? gap >= home || home > slot : gap >= home && home > slot) {
+				keys[gap] = k;
+				gap = slot;
+			}
+		}
+	}
+
+	private void rehash(int capacity) {
+		long[] old = keys;
+		allocate(capacity);
+		for (long k : old) {
+			if (k != 0) {
+				int slot = slot(k);
+				while (keys[slot] != 0) {
+					slot = slot + 1 & mask;
+				}
+				keys[slot] = k;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		mask = capacity - 1;
+		resizeAt = capacity / 2;
+	}
+
+	// Fibonacci hashing, folding the high bits in so keys that differ only there don't collide
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ h >>> 32) & mask;
+	}
+
+	// The smallest power of two that holds the keys at most half full
+	static int tableSize(int expected) {
+		return Integer.highestOneBit(Math.max(8, expected) * 4 - 1);
+	}
+}
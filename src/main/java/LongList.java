@@ -0,0 +1,67 @@
+import java.util.Arrays;
+
+/**
+ * A list of longs in an array that grows by half when full, e.g. packed {@link Coordinates} in the order they were read.
+ * Nothing is boxed, and adding allocates only when the array grows.
+ */
+final class LongList {
+
+	private long[] elements;
+	private int size;
+
+	LongList() {
+		this(16);
+	}
+
+	// An empty list with room for at least the given number of elements before it grows
+	LongList(int capacity) {
+		elements = new long[Math.max(1, capacity)];
+	}
+
+	void add(long value) {
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, elements.length + (elements.length >> 1) + 1);
+		}
+		elements[size++] = value;
+	}
+
+	long get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return elements[index];
+	}
+
+	void set(int index, long value) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		elements[index] = value;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	// A copy of the elements, exactly as long as the list
+	long[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			text.append(i == 0 ? "" : ", ").append(elements[i]);
+		}
+		return text.append(']').toString();
+	}
+}
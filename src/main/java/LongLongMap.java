@@ -0,0 +1,177 @@
+import java.util.Arrays;
+
+/**
+ * A map from long to long in an open-addressing hash table with linear probing, e.g. how many stones carry each
+ * number. {@link #addTo} is the counting update: it adds to the value in place, starting from 0 for a new key.
+ * Nothing is boxed, and nothing is allocated once the table is big enough; the table doubles when half full.
+ * A free slot holds the key 0, so the key 0 itself is kept in fields beside the table.
+ */
+final class LongLongMap {
+
+	// Receives the entries of a map
+	@FunctionalInterface
+	interface EntryConsumer {
+		void accept(long key, long value);
+	}
+
+	private long[] keys;
+	private long[] values;
+	private boolean hasZero;
+	private long zeroValue;
+	private int size;
+	private int mask;
+	private int resizeAt;
+
+	LongLongMap() {
+		this(16);
+	}
+
+	// An empty map with room for at least the given number of entries before it grows
+	LongLongMap(int expected) {
+		allocate(LongHashSet.tableSize(expected));
+	}
+
+	long getOrDefault(long key, long defaultValue) {
+		if (key == 0) {
+			return hasZero ? zeroValue : defaultValue;
+		}
+		int slot = slot(key);
+		for (long k; (k = keys[slot]) != 0; slot = slot + 1 & mask) {
+			if (k == key) {
+				return values[slot];
+			}
+		}
+		return defaultValue;
+	}
+
+	boolean containsKey(long key) {
+		if (key == 0) {
+			return hasZero;
+		}
+		int slot = slot(key);
+		for (long k; (k = keys[slot]) != 0; slot = slot + 1 & mask) {
+			if (k == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	void put(long key, long value) {
+		if (key == 0) {
+			if (!hasZero) {
+				hasZero = true;
+				size++;
+			}
+			zeroValue = value;
+			return;
+		}
+		int slot = find(key);
+		values[slot] = value;
+		if (keys[slot] == 0) {
+			insert(slot, key);
+		}
+	}
+
+	/**
+	 * Adds to the value of a key, as if absent keys had the value 0.
+	 * @param key The key to update
+	 * @param delta What to add to its value
+	 * @return The key's new value
+	 */
+	long addTo(long key, long delta) {
+		if (key == 0) {
+			if (!hasZero) {
+				hasZero = true;
+				size++;
+			}
+			return zeroValue += delta;
+		}
+		int slot = find(key);
+		if (keys[slot] != 0) {
+			return values[slot] += delta;
+		}
+		values[slot] = delta;
+		insert(slot, key);
+		return delta;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		Arrays.fill(keys, 0L);
+		hasZero = false;
+		size = 0;
+	}
+
+	// Calls the action with every entry, in no particular order
+	void forEach(EntryConsumer action) {
+		if (hasZero) {
+			action.accept(0L, zeroValue);
+		}
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != 0) {
+				action.accept(keys[slot], values[slot]);
+			}
+		}
+	}
+
+	// The sum of all values, e.g. the total of a counting map
+	long sumValues() {
+		long sum = hasZero ? zeroValue : 0;
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != 0) {
+				sum += values[slot];
+			}
+		}
+		return sum;
+	}
+
+	// The slot holding a non-zero key, or the free slot where it belongs
+	private int find(long key) {
+		int slot = slot(key);
+		for (long k; (k = keys[slot]) != 0 && k != key; slot = slot + 1 & mask) {
+		}
+		return slot;
+	}
+
+	// Claims a free slot found by find, whose value is already set
+	private void insert(int slot, long key) {
+		keys[slot] = key;
+		if (++size > resizeAt) {
+			rehash(keys.length * 2);
+		}
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		long[] oldValues = values;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != 0) {
+				int slot = find(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new long[capacity];
+		mask = capacity - 1;
+		resizeAt = capacity / 2;
+	}
+
+	// Fibonacci hashing, folding the high bits in so keys that differ only there don't collide
+	private int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ h >>> 32) & mask;
+	}
+}
@@ -0,0 +1,228 @@
+/**
+ * Two columns of numbers that change a pair at a time, answering their total distance and similarity score, as
+ * {@link SetDifferenceCalculator} defines them, without sorting the columns again after every change.
+ * The total distance pairs the columns in sorted order, so one new pair can shift which numbers are paired all the
+ * way along both columns. It's kept instead as a sum over the numbers themselves: with L(v) and R(v) how many numbers
+ * of each column are at most v, the distance is the sum over every v of |L(v) - R(v)|. Adding the pair (l, r) adds
+ * 1 to L - R from l up to just below r, or takes 1 away from r up to just below l, so it's a range update.
+ * A segment tree over the numbers keeps L(v) - R(v) per number and the sum of their absolute values per node; a
+ * range update applies lazily to every node that is all at least 0 or all at most 0 afterwards, where the absolute
+ * sum follows from the plain sum. Only nodes that have both signs are split, so an update costs O(log n) times the
+ * number of places the difference changes sign in its range, which stays small because the columns hold similar
+ * numbers. The similarity score is kept exactly in O(1) per update from count maps.
+ * The tree covers every number from the smallest to the largest seen, so it suits numbers within a few million of
+ * each other, such as puzzle inputs; a number outside the range rebuilds the tree over a wider one.
+ */
+final class PairIndex {
+
+	// The most numbers the tree spans, about 1.3 GB of nodes
+	private static final int MAX_SPAN = 1 << 25;
+
+	private int low; // The number of the first leaf
+	private int leaves; // A power of two
+	// Per node: least and greatest L - R, their sum and absolute sum, and what is still to be added to the children
+	private int[] min;
+	private int[] max;
+	private long[] sum;
+	private long[] abs;
+	private int[] lazy;
+
+	private final IntIntMap leftCounts;
+	private final IntIntMap rightCounts;
+	private int pairs;
+	private long similarity;
+
+	// An empty index
+	PairIndex() {
+		leftCounts = new IntIntMap();
+		rightCounts = new IntIntMap();
+		build(0, new int[1]);
+	}
+
+	/**
+	 * An index of columns that are already sorted, built in one pass over them rather than pair by pair.
+	 * @param left The left column, sorted ascending
+	 * @param right The right column, sorted ascending and as long as the left one
+	 * @return The index
+	 */
+	static PairIndex of(int[] left, int[] right) {
+		if (left.length != right.length) {
+			throw new IllegalArgumentException("Columns of " + left.length + " and " + right.length + " numbers");
+		}
+		PairIndex index = new PairIndex(left.length);
+		if (left.length == 0) {
+			index.build(0, new int[1]); // An empty tree, as for a new index, so pairs can be added to it
+			return index;
+		}
+		int from = Math.min(left[0], right[0]);
+		int to = Math.max(left[left.length - 1], right[right.length - 1]);
+		int[] differences = new int[span(from, to)];
+		// Count each number at its place, then sum up to L(v) - R(v)
+		for (int i = 0; i < left.length; i++) {
+			differences[left[i] - from]++;
+			differences[right[i] - from]--;
+			index.leftCounts.addTo(left[i], 1);
+			index.rightCounts.addTo(right[i], 1);
+		}
+		for (int i = 1; i < differences.length; i++) {
+			differences[i] += differences[i - 1];
+		}
+		index.build(from, differences);
+		index.pairs = left.length;
+		index.leftCounts.forEach((number, count) ->
+				index.similarity += (long) number * count * index.rightCounts.getOrDefault(number, 0));
+		return index;
+	}
+
+	private PairIndex(int expected) {
+		leftCounts = new IntIntMap(expected);
+		rightCounts = new IntIntMap(expected);
+	}
+
+	// Adds a number to each column
+	void add(int left, int right) {
+		cover(Math.min(left, right), Math.max(left, right));
+		similarity += (long) left * rightCounts.getOrDefault(left, 0);
+		leftCounts.addTo(left, 1);
+		similarity += (long) right * leftCounts.getOrDefault(right, 0);
+		rightCounts.addTo(right, 1);
+		shift(left, right, 1);
+		pairs++;
+	}
+
+	/**
+	 * Takes a number out of each column; they don't have to have been added as a pair.
+	 * @throws IllegalArgumentException If either column doesn't hold its number
+	 */
+	void remove(int left, int right) {
+		if (leftCounts.getOrDefault(left, 0) == 0 || rightCounts.getOrDefault(right, 0) == 0) {
+			throw new IllegalArgumentException("No pair (" + left + ", " + right + ") to remove");
+		}
+		rightCounts.addTo(right, -1);
+		similarity -= (long) right * leftCounts.getOrDefault(right, 0);
+		leftCounts.addTo(left, -1);
+		similarity -= (long) left * rightCounts.getOrDefault(left, 0);
+		shift(left, right, -1);
+		pairs--;
+	}
+
+	// How many numbers each column holds
+	int size() {
+		return pairs;
+	}
+
+	// The sum of the differences between the columns' numbers paired in sorted order
+	long totalDistance() {
+		return abs[1];
+	}
+
+	// The sum of each left number times how often it appears in the right column
+	long similarityScore() {
+		return similarity;
+	}
+
+	// Adds or takes away 1 from L - R between the two numbers
+	private void shift(int left, int right, int delta) {
+		if (left < right) {
+			update(1, 0, leaves, left - low, right - low, delta);
+		} else if (right < left) {
+			update(1, 0, leaves, right - low, left - low, -delta);
+		}
+	}
+
+	// Adds delta to the leaves from one index up to another, below a node spanning nodeFrom to nodeTo
+	private void update(int node, int nodeFrom, int nodeTo, int from, int to, int delta) {
+		if (to <= nodeFrom || nodeTo <= from) {
+			return;
+		}
+		if (from <= nodeFrom && nodeTo <= to && (min[node] + delta >= 0 || max[node] + delta <= 0)) {
+			apply(node, nodeTo - nodeFrom, delta);
+			return;
+		}
+		// A leaf always takes the update above, so this node has children
+		push(node, nodeTo - nodeFrom);
+		int middle = (nodeFrom + nodeTo) >>> 1;
+		update(2 * node, nodeFrom, middle, from, to, delta);
+		update(2 * node + 1, middle, nodeTo, from, to, delta);
+		pull(node);
+	}
+
+	// Adds delta to every leaf under a node that is all one sign afterwards, so its absolute sum is its plain sum
+	private void apply(int node, int length, int delta) {
+		min[node] += delta;
+		max[node] += delta;
+		sum[node] += (long) delta * length;
+		abs[node] = min[node] >= 0 ? sum[node] : -sum[node];
+		if (node < leaves) {
+			lazy[node] += delta;
+		}
+	}
+
+	// Hands a node's pending addition to its children, which are all one sign because the node is
+	private void push(int node, int length) {
+		if (lazy[node] != 0) {
+			apply(2 * node, length / 2, lazy[node]);
+			apply(2 * node + 1, length / 2, lazy[node]);
+			lazy[node] = 0;
+		}
+	}
+
+	private void pull(int node) {
+		min[node] = Math.min(min[2 * node], min[2 * node + 1]);
+		max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+		sum[node] = sum[2 * node] + sum[2 * node + 1];
+		abs[node] = abs[2 * node] + abs[2 * node + 1];
+	}
+
+	// Widens the tree to span both numbers, keeping L - R of every number it spans already
+	private void cover(int from, int to) {
+		if (from >= low && (long) to - low < leaves) {
+			return;
+		}
+		// Any wider span rounds up to at least twice the leaves, all of them above the new low. Growing down, leave
+		// as much room below, so a run of ever smaller numbers rebuilds only a logarithmic number of times too
+		long high = Math.max(to, (long) low + leaves - 1);
+		int newLow = low;
+		if (from < low) {
+			long roomy = Math.min(from, (long) low - leaves);
+			newLow = high - roomy < MAX_SPAN && roomy >= Integer.MIN_VALUE ? (int) roomy : from;
+		}
+		int[] differences = new int[span(newLow, high)];
+		// Push every pending addition down to the leaves, parents before children; past both ends of the old span
+		// every number has L = R, so the new leaves start at 0
+		for (int node = 1; node < leaves; node++) {
+			push(node, leaves >> 31 - Integer.numberOfLeadingZeros(node));
+		}
+		System.arraycopy(min, leaves, differences, low - newLow, leaves);
+		build(newLow, differences);
+	}
+
+	// How many numbers from one to another, inclusive, if the tree can span them
+	private static int span(long from, long to) {
+		long span = to - from + 1;
+		if (span > MAX_SPAN) {
+			throw new IllegalArgumentException("Numbers from " + from + " to " + to + " are too far apart to index");
+		}
+		return (int) span;
+	}
+
+	// Builds the tree bottom-up over L - R for the numbers from low on
+	private void build(int low, int[] differences) {
+		this.low = low;
+		leaves = Integer.highestOneBit(Math.max(1, differences.length) * 2 - 1);
+		min = new int[2 * leaves];
+		max = new int[2 * leaves];
+		sum = new long[2 * leaves];
+		abs = new long[2 * leaves];
+		lazy = new int[leaves];
+		for (int i = 0; i < differences.length; i++) {
+			int leaf = leaves + i;
+			min[leaf] = max[leaf] = differences[i];
+			sum[leaf] = differences[i];
+			abs[leaf] = Math.abs(differences[i]);
+		}
+		for (int node = leaves - 1; node >= 1; node--) {
+			pull(node);
+		}
+	}
+}
@@ -0,0 +1,34 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one phase of one day, so a recording (e.g. {@code -XX:StartFlightRecording}) shows each parse and
+ * part on its thread's timeline next to the allocation and GC events it caused.
+ */
+@Name("aoc.Phase")
+@Label("Solver Phase")
+@Category("Advent of Code")
+@Description("Parse, part one or part two of one day")
+@StackTrace(false)
+final class PhaseEvent extends Event {
+
+	@Label("Day")
+	int day;
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Allocated")
+	@Description("Bytes allocated by the running thread during the phase")
+	@DataAmount
+	long allocatedBytes;
+
+	@Label("Collections")
+	@Description("Garbage collections in the whole JVM during the phase")
+	long gcCount;
+}
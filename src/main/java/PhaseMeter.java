@@ -0,0 +1,74 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Measures one phase of a day on the current thread: wall time, the bytes the thread allocates, and the number of
+ * garbage collections, which are counted JVM-wide and so include other days' collections when days run concurrently.
+ * The JVM can't count a virtual thread's allocations, so a phase run on one reports -1 bytes, meaning unknown.
+ * Every phase is also emitted as a {@link PhaseEvent} when JFR is recording.
+ * Usage: {@code PhaseMeter meter = PhaseMeter.start(day, "parse"); ...; PhaseStats stats = meter.stop();}
+ */
+final class PhaseMeter {
+
+	// The HotSpot extension of the thread bean is the one that can report per-thread allocation
+	private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+	private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+	private final PhaseEvent event = new PhaseEvent();
+	private final long startNanos;
+	private final long startBytes;
+	private final long startCollections;
+
+	private PhaseMeter(int day, String phase) {
+		event.day = day;
+		event.phase = phase;
+		event.begin();
+		startCollections = collections();
+		startBytes = allocatedBytes();
+		startNanos = System.nanoTime();
+	}
+
+	// Starts measuring a phase; stop() must be called on the same thread
+	static PhaseMeter start(int day, String phase) {
+		return new PhaseMeter(day, phase);
+	}
+
+	// Ends the phase, commits its event and returns what it cost
+	PhaseStats stop() {
+		long nanos = System.nanoTime() - startNanos;
+		long endBytes = allocatedBytes();
+		long bytes = startBytes < 0 || endBytes < 0 ? -1 : endBytes - startBytes;
+		long gcs = collections() - startCollections;
+		event.end();
+		if (event.shouldCommit()) {
+			event.allocatedBytes = bytes;
+			event.gcCount = gcs;
+			event.commit();
+		}
+		return new PhaseStats(nanos, bytes, gcs);
+	}
+
+	// Bytes allocated so far by the current thread, or -1 if the JVM can't tell, as for a virtual thread
+	private static long allocatedBytes() {
+		return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+	}
+
+	// Collections so far across all collectors; a collector that can't tell reports -1 and is skipped
+	private static long collections() {
+		long count = 0;
+		for (GarbageCollectorMXBean collector : COLLECTORS) {
+			count += Math.max(0, collector.getCollectionCount());
+		}
+		return count;
+	}
+
+	private static com.sun.management.ThreadMXBean threadBean() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported()) {
+			bean.setThreadAllocatedMemoryEnabled(true);
+			return bean;
+		}
+		return null;
+	}
+}
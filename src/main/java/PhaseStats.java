@@ -0,0 +1,25 @@
+import java.util.List;
+
+// What one phase of a day (parse, part one or part two) cost: time, bytes allocated by its thread and collections
+// The allocated bytes are -1 when the JVM couldn't count them
+record PhaseStats(long nanos, long allocatedBytes, long gcCount) {
+
+	// Whether the bytes the phase allocated were counted
+	boolean allocationKnown() {
+		return allocatedBytes >= 0;
+	}
+
+	// The mean of several runs of the same phase; the allocation is unknown if it is for any of the runs
+	static PhaseStats average(List<PhaseStats> runs) {
+		long nanos = 0, allocatedBytes = 0, gcCount = 0;
+		boolean allocationKnown = true;
+		for (PhaseStats run : runs) {
+			nanos += run.nanos;
+			allocatedBytes += run.allocatedBytes;
+			allocationKnown &= run.allocationKnown();
+			gcCount += run.gcCount;
+		}
+		int n = runs.size();
+		return new PhaseStats(nanos / n, allocationKnown ? allocatedBytes / n : -1, gcCount / n);
+	}
+}
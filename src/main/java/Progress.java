@@ -0,0 +1,152 @@
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ObjectName;
+
+/**
+ * Live counters for one solver, published as an MBean named {@code aoc:type=Progress,name=SOLVER} so a long run can
+ * be watched from JConsole or VisualVM while it's going; {@code jcmd PID ManagementAgent.start_local} opens a JVM that
+ * wasn't started with JMX enabled to them.
+ * A solver keeps its counters in static fields and bumps them from its loops. Updating one is a {@link LongAdder}
+ * increment or a plain ordered store, with no locking, allocation or JMX involvement; JMX only reads the values when
+ * something asks for them, so the cost when nobody is watching is the update itself.
+ * Counters are shared by every run of the solver in the JVM: counts add up over concurrent and repeated runs, and a
+ * gauge shows whichever run set it last.
+ */
+final class Progress implements DynamicMBean {
+
+	private static final Map<String, Progress> SOLVERS = new ConcurrentHashMap<>();
+
+	private final String solver;
+	// Attribute name to how to read it, and to what it means
+	private final Map<String, LongSupplier> values = new ConcurrentHashMap<>();
+	private final Map<String, String> descriptions = new ConcurrentHashMap<>();
+
+	private Progress(String solver) {
+		this.solver = solver;
+	}
+
+	/**
+	 * The counters of a solver, registered with the platform MBean server the first time they're asked for.
+	 * @param solver The name the MBean is published under, usually the solver's class
+	 * @return The solver's counters, the same object for every call with the same name
+	 */
+	static Progress of(String solver) {
+		return SOLVERS.computeIfAbsent(solver, name -> {
+			Progress progress = new Progress(name);
+			try {
+				ManagementFactory.getPlatformMBeanServer()
+						.registerMBean(progress, new ObjectName("aoc:type=Progress,name=" + name));
+			} catch (JMException e) {
+				// Still counts, just can't be watched
+				Diagnostics.summary(() -> "Progress for " + name + " not published: " + e);
+			}
+			return progress;
+		});
+	}
+
+	// A running total, e.g. candidates tried
+	Counter counter(String name, String description) {
+		Counter counter = new Counter();
+		add(name, description, counter::sum);
+		return counter;
+	}
+
+	// A current value, e.g. the size of a queue
+	Gauge gauge(String name, String description) {
+		Gauge gauge = new Gauge();
+		add(name, description, gauge::get);
+		return gauge;
+	}
+
+	private void add(String name, String description, LongSupplier value) {
+		descriptions.put(name, description);
+		values.put(name, value);
+	}
+
+	// A total that several threads may add to at once
+	static final class Counter {
+		private final LongAdder total = new LongAdder();
+
+		void increment() {
+			total.increment();
+		}
+
+		void add(long count) {
+			total.add(count);
+		}
+
+		long sum() {
+			return total.sum();
+		}
+	}
+
+	// A value set by the thread doing the work and read by whoever is watching
+	static final class Gauge {
+		private final AtomicLong value = new AtomicLong();
+
+		void set(long newValue) {
+			value.lazySet(newValue); // Readers only need to see it eventually, so skip the full fence
+		}
+
+		long get() {
+			return value.get();
+		}
+	}
+
+	@Override
+	public Object getAttribute(String name) throws AttributeNotFoundException {
+		LongSupplier value = values.get(name);
+		if (value == null) {
+			throw new AttributeNotFoundException(name);
+		}
+		return value.getAsLong();
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] names) {
+		AttributeList list = new AttributeList();
+		for (String name : names) {
+			LongSupplier value = values.get(name);
+			if (value != null) {
+				list.add(new Attribute(name, value.getAsLong()));
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList(); // Nothing is writable
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException {
+		throw new MBeanException(new UnsupportedOperationException(actionName));
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		MBeanAttributeInfo[] info = descriptions.entrySet().stream()
+				.map(e -> new MBeanAttributeInfo(e.getKey(), "long", e.getValue(), true, false, false))
+				.toArray(MBeanAttributeInfo[]::new);
+		return new MBeanInfo(Progress.class.getName(), "Progress of " + solver, info, null, new MBeanOperationInfo[0], null);
+	}
+}
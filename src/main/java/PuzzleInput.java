@@ -0,0 +1,291 @@
+import io.airlift.compress.zstd.ZstdInputStream;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The raw bytes of a puzzle input, shared by every solver.
+ * Files are memory-mapped rather than read, so a large input is paged in by the OS as the parser walks it
+ * and is never copied onto the heap or decoded into Strings. Puzzle inputs are ASCII, so one byte is one character.
+ * Compressed inputs are accepted wherever a plain one is; see {@link #map(Path)}. An input is indexed by int, so one
+ * piece holds at most 2 GB; {@link #readChunks} reads a larger or compressed file as a run of pieces instead.
+ * Parse with a {@link InputCursor}; only ask for Strings where the model really needs them.
+ */
+final class PuzzleInput {
+
+	// Size of the buffers a compressed input is decoded through
+	private static final int DECODE_BUFFER = 1 << 20;
+
+	private final ByteBuffer bytes;
+
+	private PuzzleInput(ByteBuffer bytes) {
+		this.bytes = bytes;
+	}
+
+	/**
+	 * Maps a file into memory read-only, decoding a compressed file into a temporary file in the default temporary
+	 * directory ({@code java.io.tmpdir}); see {@link #map(Path, Path)}.
+	 * @param path Path to the input file
+	 * @return The input backed by the mapping
+	 * @throws IOException If the file can't be opened or decoded, or is too large to map in one piece
+	 */
+	static PuzzleInput map(Path path) throws IOException {
+		return map(path, null);
+	}
+
+	/**
+	 * Maps a file into memory read-only.
+	 * A gzip or zstd compressed file, recognised by its magic number rather than its name, is first decoded in full
+	 * into a temporary file, which is deleted once decoded, and that is mapped instead. The decoded input then lives
+	 * in the page cache like any other mapped input, so it isn't limited by the heap, but it takes its full decoded
+	 * size in the temporary directory, which is often a tmpfs in memory, until the input is garbage collected.
+	 * Either way the input is mapped in one piece, so it can be at most 2 GB decoded; a day whose model is built line
+	 * by line can read a larger or compressed file without the temporary file through {@link #readChunks}.
+	 * @param path Path to the input file
+	 * @param scratchDir Where to decode a compressed file, or null for the default temporary directory
+	 * @return The input backed by the mapping
+	 * @throws IOException If the file can't be opened or decoded, or is too large to map in one piece
+	 */
+	static PuzzleInput map(Path path, Path scratchDir) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			Compression compression = Compression.of(channel);
+			if (compression != null) {
+				return decompress(path, channel, compression, scratchDir);
+			}
+			return mapChannel(path, channel);
+		}
+	}
+
+	/**
+	 * Whether a file can only be read as a run of pieces: it's compressed, so mapping it means decoding it into a
+	 * temporary file first, or it's too large to map in one piece.
+	 * @param path Path to the input file
+	 * @return True if {@link #readChunks} reads it without a temporary file or a size limit and {@link #map} can't
+	 * @throws IOException If the file can't be opened
+	 */
+	static boolean isChunked(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return Compression.of(channel) != null || channel.size() > Integer.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Reads a file of any size, plain or compressed, as consecutive pieces of about {@code chunkBytes} each.
+	 * A piece ends just after its last line break, so lines stay whole but a section of lines can go on in the next
+	 * piece, and a reader of sections has to carry the part it has read into the next piece; the last piece ends with
+	 * the file. A plain file is mapped one piece at a time at long
+	 * offsets, and a compressed one is decoded from its stream straight into a buffer the pieces are read from, so
+	 * neither is limited to 2 GB or needs a temporary file.
+	 * @param path Path to the input file
+	 * @param chunkBytes The most bytes a piece holds; a longer line can't be read
+	 * @param action Called with each piece in file order; the piece is only valid until it returns
+	 * @throws IOException If the file can't be opened or decoded, or holds a line longer than a piece
+	 */
+	static void readChunks(Path path, int chunkBytes, Consumer<PuzzleInput> action) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			Compression compression = Compression.of(channel);
+			if (compression == null) {
+				mapChunks(path, channel, chunkBytes, action);
+			} else {
+				try (InputStream in = compression.decoder(
+						new BufferedInputStream(Channels.newInputStream(channel), DECODE_BUFFER))) {
+					decodeChunks(path, in, chunkBytes, action);
+				}
+			}
+		}
+	}
+
+	// Maps a plain file one piece at a time, each piece starting where the previous one was cut
+	private static void mapChunks(Path path, FileChannel channel, int chunkBytes, Consumer<PuzzleInput> action)
+			throws IOException {
+		long size = channel.size();
+		long position = 0;
+		while (position < size) {
+			int window = (int) Math.min(chunkBytes, size - position);
+			ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+			int end = position + window == size ? window : pieceEnd(mapped, window, path);
+			action.accept(new PuzzleInput(mapped.slice(0, end)));
+			position += end;
+		}
+	}
+
+	// Decodes a compressed file into a reused buffer, handing over each full piece and keeping the cut-off rest
+	private static void decodeChunks(Path path, InputStream in, int chunkBytes, Consumer<PuzzleInput> action)
+			throws IOException {
+		byte[] buffer = new byte[chunkBytes];
+		int filled = 0;
+		boolean ended = false;
+		while (!ended) {
+			filled += in.readNBytes(buffer, filled, buffer.length - filled);
+			ended = filled < buffer.length; // readNBytes only stops short at the end of the stream
+			if (filled == 0) {
+				break;
+			}
+			ByteBuffer bytes = ByteBuffer.wrap(buffer);
+			int end = ended ? filled : pieceEnd(bytes, filled, path);
+			action.accept(new PuzzleInput(bytes.slice(0, end)));
+			System.arraycopy(buffer, end, buffer, 0, filled - end);
+			filled -= end;
+		}
+	}
+
+	// Where to cut the first bytes of a piece: just after its last line break, found by scanning back over one line
+	private static int pieceEnd(ByteBuffer bytes, int length, Path path) throws IOException {
+		for (int i = length - 1; i >= 0; i--) {
+			if (bytes.get(i) == '\n') {
+				return i + 1;
+			}
+		}
+		throw new IOException("Line longer than " + length + " bytes in " + path);
+	}
+
+	private static PuzzleInput mapChannel(Path path, FileChannel channel) throws IOException {
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("Input too large to map (" + size + " bytes): " + path);
+		}
+		// The mapping stays valid after the channel is closed
+		return new PuzzleInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+	}
+
+	// Streams a compressed file through its decoder into a temporary file and maps the result
+	private static PuzzleInput decompress(Path path, FileChannel channel, Compression compression, Path scratchDir)
+			throws IOException {
+		Path decoded = scratchDir == null
+				? Files.createTempFile("puzzle-input", ".txt")
+				: Files.createTempFile(scratchDir, "puzzle-input", ".txt");
+		// The file goes away when it's closed, but its pages stay mapped until the input is garbage collected
+		try (FileChannel out = FileChannel.open(decoded, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.DELETE_ON_CLOSE);
+			 InputStream in = compression.decoder(new BufferedInputStream(Channels.newInputStream(channel), DECODE_BUFFER))) {
+			ByteBuffer buffer = ByteBuffer.allocate(DECODE_BUFFER);
+			int read;
+			while ((read = in.read(buffer.array())) >= 0) {
+				buffer.limit(read);
+				while (buffer.hasRemaining()) {
+					out.write(buffer);
+				}
+				buffer.clear();
+			}
+			return mapChannel(path, out);
+		}
+	}
+
+	// The compressed formats an input may be stored in
+	private enum Compression {
+		GZIP(new byte[] {0x1f, (byte) 0x8b}),
+		ZSTD(new byte[] {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd});
+
+		private final byte[] magic;
+
+		Compression(byte[] magic) {
+			this.magic = magic;
+		}
+
+		// The format a file starts with, or null for an uncompressed file; leaves the channel at its start
+		static Compression of(FileChannel channel) throws IOException {
+			ByteBuffer head = ByteBuffer.allocate(4);
+			while (head.hasRemaining() && channel.read(head) >= 0) {
+				// Read until full or the file ends
+			}
+			channel.position(0);
+			for (Compression compression : values()) {
+				if (head.position() >= compression.magic.length
+						&& Arrays.equals(head.array(), 0, compression.magic.length, compression.magic, 0, compression.magic.length)) {
+					return compression;
+				}
+			}
+			return null;
+		}
+
+		InputStream decoder(InputStream in) throws IOException {
+			return switch (this) {
+				case GZIP -> new GZIPInputStream(in, DECODE_BUFFER);
+				case ZSTD -> new ZstdInputStream(in);
+			};
+		}
+	}
+
+	// Wraps bytes that are already on the heap, e.g. generated or decompressed input
+	static PuzzleInput of(byte[] bytes) {
+		return new PuzzleInput(ByteBuffer.wrap(bytes));
+	}
+
+	// Wraps input held as a String
+	static PuzzleInput of(String content) {
+		return of(content.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	// Number of bytes in the input
+	int length() {
+		return bytes.limit();
+	}
+
+	// The byte at an absolute index
+	byte at(int index) {
+		return bytes.get(index);
+	}
+
+	// A read-only view of all bytes, positioned at the start
+	ByteBuffer bytes() {
+		return bytes.asReadOnlyBuffer();
+	}
+
+	// A cursor over the whole input
+	InputCursor cursor() {
+		return new InputCursor(this, 0, length());
+	}
+
+	// Decodes a range of the input; this is where Strings get allocated, so use it sparingly
+	String text(int start, int end) {
+		byte[] range = new byte[end - start];
+		bytes.get(start, range);
+		return new String(range, StandardCharsets.US_ASCII);
+	}
+
+	// The input as characters without copying it, for the days that match with regular expressions
+	CharSequence chars() {
+		return new Chars(0, length());
+	}
+
+	// A window onto the bytes that reads them as ASCII characters
+	private final class Chars implements CharSequence {
+		private final int start;
+		private final int end;
+
+		Chars(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int length() {
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return (char) (bytes.get(start + index) & 0xff);
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to) {
+			return new Chars(start + from, start + to);
+		}
+
+		@Override
+		public String toString() {
+			return text(start, end);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Least-significant-digit radix sort of ints: two counting passes over 16-bit digits, each a histogram, a prefix sum
+ * and a scatter into a buffer, so sorting n numbers is linear in n with no comparisons. A pass whose digit is the
+ * same in every number is skipped, so small puzzle numbers take a single pass. The sign bit is flipped on the way
+ * in and out, so negative numbers sort before positive ones.
+ * Below a few thousand numbers the histograms cost more than the sort, so short arrays go to {@link Arrays#sort}.
+ * {@link #parallelSort} splits each pass over the cores: every slice of the array counts its own histogram, the
+ * histograms are combined into where each slice writes each digit, and the slices scatter at the same time. Slices
+ * keep their order within a digit, so the passes stay stable and the result is the same as the sequential sort's.
+ */
+final class RadixSort {
+
+	private static final int DIGIT_BITS = 16;
+	private static final int RADIX = 1 << DIGIT_BITS;
+	private static final int SHORT = 4096;
+	// Below this many numbers a parallel sort isn't worth the slices' histograms and the hand-offs between threads
+	private static final int PARALLEL = 1 << 18;
+
+	private RadixSort() {
+	}
+
+	// Sorts the array in place, ascending
+	static void sort(int[] values) {
+		sort(values, 0, values.length);
+	}
+
+	// Sorts values[from] to values[to - 1] in place, ascending
+	static void sort(int[] values, int from, int to) {
+		int length = to - from;
+		if (length < SHORT) {
+			Arrays.sort(values, from, to);
+			return;
+		}
+		int[] buffer = new int[length];
+		int[] counts = new int[RADIX + 1];
+		int[] source = values, target = buffer;
+		int sourceFrom = from, targetFrom = 0;
+		for (int shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < length; i++) {
+				counts[digit(source[sourceFrom + i], shift) + 1]++;
+			}
+			if (skip(counts, length)) {
+				continue;
+			}
+			for (int d = 0; d < RADIX; d++) {
+				counts[d + 1] += counts[d];
+			}
+			// counts[d] is now where the first number with digit d goes; stable, so lower digits keep their order
+			for (int i = 0; i < length; i++) {
+				int value = source[sourceFrom + i];
+				target[targetFrom + counts[digit(value, shift)]++] = value;
+			}
+			int[] swap = source;
+			source = target;
+			target = swap;
+			int swapFrom = sourceFrom;
+			sourceFrom = targetFrom;
+			targetFrom = swapFrom;
+		}
+		if (source != values) {
+			System.arraycopy(source, sourceFrom, values, from, length);
+		}
+	}
+
+	// Sorts the array in place, ascending, using the fork-join pool the caller runs in or else the common pool
+	static void parallelSort(int[] values) {
+		int length = values.length;
+		int slices = Math.min(length / SHORT, 4 * Runtime.getRuntime().availableProcessors());
+		if (length < PARALLEL || slices < 2) {
+			sort(values);
+			return;
+		}
+		int[] buffer = new int[length];
+		int[][] counts = new int[slices][RADIX];
+		int[] source = values, target = buffer;
+		for (int shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+			int[] from = source, to = target;
+			int pass = shift;
+			IntStream.range(0, slices).parallel().forEach(slice -> {
+				int[] count = counts[slice];
+				Arrays.fill(count, 0);
+				for (int i = sliceStart(length, slices, slice), end = sliceStart(length, slices, slice + 1); i < end; i++) {
+					count[digit(from[i], pass)]++;
+				}
+			});
+			// Turn the counts into where each slice writes its first number with each digit: digits in ascending
+			// order, and within a digit the slices in array order
+			boolean skip = false;
+			int position = 0;
+			for (int d = 0; d < RADIX; d++) {
+				int digitStart = position;
+				for (int[] count : counts) {
+					int n = count[d];
+					count[d] = position;
+					position += n;
+				}
+				skip |= position - digitStart == length;
+			}
+			if (skip) {
+				continue;
+			}
+			IntStream.range(0, slices).parallel().forEach(slice -> {
+				int[] next = counts[slice];
+				for (int i = sliceStart(length, slices, slice), end = sliceStart(length, slices, slice + 1); i < end; i++) {
+					int value = from[i];
+					to[next[digit(value, pass)]++] = value;
+				}
+			});
+			source = to;
+			target = from;
+		}
+		if (source != values) {
+			System.arraycopy(source, 0, values, 0, length);
+		}
+	}
+
+	// Where a slice of an array starts; slices differ in length by at most one
+	static int sliceStart(int length, int slices, int slice) {
+		return (int) ((long) length * slice / slices);
+	}
+
+	// The digit of a value at a shift, with the sign bit flipped so the order is signed
+	private static int digit(int value, int shift) {
+		return (value ^ Integer.MIN_VALUE) >>> shift & RADIX - 1;
+	}
+
+	// Whether every number has the same digit, so the pass would leave the order as it is
+	private static boolean skip(int[] counts, int length) {
+		for (int d = 1; d <= RADIX; d++) {
+			if (counts[d] != 0) {
+				return counts[d] == length;
+			}
+		}
+		return true;
+	}
+}
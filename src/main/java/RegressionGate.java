@@ -0,0 +1,469 @@
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Runs every day against its checked-in input and fails unless each gives its known answers within its time and
+ * allocation budgets, so a change that breaks a day or quietly undoes an optimization is caught before it's merged.
+ * Usage: {@code java RegressionGate [--baseline FILE] [--warmup N] [--iterations N] [--passes N] [--inputs DIR]
+ * [--check | --record] [DAY ...]}
+ * The answers and budgets live in a baseline file, {@code regression-baseline.properties} by default, with
+ * {@code DAY.partOne}, {@code DAY.partTwo}, {@code DAY.nanos}, {@code DAY.referenceNanos} and {@code DAY.bytes} per day.
+ * A day is run the way the {@link Launcher} runs it, with the result cache bypassed, and measured by the median of
+ * {@code --iterations} runs, so one run slowed by a collection or another process doesn't decide the outcome. Before
+ * that it's run untimed at least {@code --warmup} times and for at least three seconds, since a fast day checked on
+ * its own is otherwise still being compiled when it's measured. Time is the whole solve; bytes are what the solving
+ * thread allocated.
+ * Time budgets are relative to the machine: right before each day a fixed calibration workload, sorting the same
+ * pseudo-random ints, is timed, and its median is kept with the budget as {@code DAY.referenceNanos}. When checking,
+ * the budget is scaled by how much slower the calibration runs now, so a busy or slower machine doesn't fail days that
+ * didn't change. Allocation doesn't depend on the machine and isn't scaled.
+ * Checking is the default; {@code --record} writes the baseline from the current code instead, replacing the entries
+ * of the days it measured and keeping the others. Recording goes through the whole selection {@code --passes} times,
+ * three by default, and keeps each day's median over the passes, so a budget comes from the same full-suite run a
+ * check makes, several times over, and not from one pass that happened to be quick. Each budget is the measurement
+ * plus headroom for noise, time more than allocation since allocation barely varies from run to run; a time budget
+ * also gets a few milliseconds on top, since for a day that takes a few milliseconds the noise isn't proportional.
+ * A day that takes longer than {@link #UNGATED_NANOS} to solve, such as day 23, is recorded with its answers but no
+ * budgets: a budget that coarse could never fail, and the gate would spend minutes on it. Such a day is skipped unless
+ * it's named on the command line, and then only its answers are checked.
+ * Run it with a fixed heap ({@code -Xms} equal to {@code -Xmx}), as the {@code regression} profile does: a heap that
+ * starts small makes a day run on its own collect far more often than it does after other days have grown the heap.
+ * Every {@link AppendableSolver} day selected (all of them when no days are given) is also checked to give the same
+ * answers when its input is parsed in two pieces, the second appended, as when it's parsed whole, for a seeded
+ * generated input so no checked-in file is needed; and {@link PairIndex}, which day 1 appends into, is checked to keep
+ * its answers through pairs added to an empty index and taken out again.
+ * Exits with 1 if any day failed, 0 otherwise.
+ */
+public class RegressionGate {
+
+	// Where the baseline is kept unless told otherwise, next to the inputs
+	static final Path DEFAULT_BASELINE = Path.of("regression-baseline.properties");
+
+	// Recorded budgets are the measurement times these, time plus the slack and allocation never below the floor,
+	// where the noise is all there is
+	private static final double TIME_HEADROOM = 2.0;
+	private static final long TIME_SLACK_NANOS = 20_000_000L;
+	private static final double ALLOCATION_HEADROOM = 1.25;
+	private static final long ALLOCATION_FLOOR_BYTES = 1L << 20;
+	// Each day is run untimed for at least this long first, so a fast day is compiled as far as it will be whether or
+	// not the days run before it shared its code
+	private static final long WARMUP_NANOS = 3_000_000_000L;
+	// Days slower than this get no budgets and are only checked when named
+	private static final long UNGATED_NANOS = 10_000_000_000L;
+	// The calibration sorts this many ints, a few tens of milliseconds, this many times and takes the median
+	private static final int CALIBRATION_INTS = 1 << 20;
+	private static final int CALIBRATION_RUNS = 5;
+	// Size of the generated inputs the appends are checked on, small since only the answers matter
+	private static final double APPEND_SCALE = 0.25;
+	private static final int INDEX_PAIRS = 2000;
+
+	// Where the calibration's sorted ints go, so the sort can't be optimized away
+	private static long calibrationSink;
+
+	public static void main(String[] args) throws IOException {
+		Path baselineFile = DEFAULT_BASELINE;
+		int warmup = 2;
+		int iterations = 5;
+		int passes = 3;
+		Path inputDir = Path.of("");
+		boolean record = false;
+		Set<Integer> days = new LinkedHashSet<>();
+
+		// Parse the command line
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--baseline" -> baselineFile = Path.of(args[++i]);
+				case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+				case "--iterations" -> iterations = Math.max(1, Integer.parseInt(args[++i]));
+				case "--passes" -> passes = Math.max(1, Integer.parseInt(args[++i]));
+				case "--inputs" -> inputDir = Path.of(args[++i]);
+				case "--check" -> record = false;
+				case "--record" -> record = true;
+				default -> days.add(Integer.parseInt(args[i]));
+			}
+		}
+
+		Properties baseline = new Properties();
+		if (Files.isRegularFile(baselineFile)) {
+			try (var reader = Files.newBufferedReader(baselineFile)) {
+				baseline.load(reader);
+			}
+		} else if (!record) {
+			System.err.println("No baseline at " + baselineFile + "; create one with --record");
+			System.exit(2);
+		}
+		Set<Integer> appendDays = new LinkedHashSet<>(days.isEmpty() ? Solvers.days() : days);
+		List<Integer> skipped = new ArrayList<>();
+		if (days.isEmpty()) {
+			// Check what the baseline covers; record every day that has an input; leave out days without budgets
+			for (int day : Solvers.days()) {
+				if (ungated(baseline, day)) {
+					skipped.add(day);
+				} else if (record ? Files.isRegularFile(inputDir.resolve(Solvers.defaultInput(day)))
+						: baseline.containsKey(day + ".partOne")) {
+					days.add(day);
+				}
+			}
+		}
+
+		if (!fixedHeap()) {
+			System.err.println("The heap isn't fixed; run with -Xms equal to -Xmx so times don't depend on how far it has grown");
+		}
+
+		// Measure the selection once to check it, or several times over to record it
+		Map<Integer, List<SolverResult>> measured = new HashMap<>();
+		Map<Integer, List<Long>> calibrations = new HashMap<>();
+		Map<Integer, Exception> errors = new HashMap<>();
+		// The first calibration also compiles the sort, so it isn't used
+		calibrate();
+		for (int pass = 0; pass < (record ? passes : 1); pass++) {
+			for (int day : days) {
+				if (errors.containsKey(day)) {
+					continue;
+				}
+				Path input = inputDir.resolve(Solvers.defaultInput(day));
+				try {
+					long reference = calibrate();
+					// Only the answers of a day without budgets are checked, and one run gives them
+					boolean once = !record && ungated(baseline, day);
+					if (!once) {
+						warmUp(day, input, warmup);
+					}
+					SolverResult result = median(Launcher.measureRuns(day, input, ResultCache.bypass(),
+							RuntimeHistory.discarded(), 0, once ? 1 : iterations));
+					measured.computeIfAbsent(day, d -> new ArrayList<>()).add(result);
+					calibrations.computeIfAbsent(day, d -> new ArrayList<>()).add(reference);
+				} catch (IOException | RuntimeException e) {
+					errors.put(day, e);
+				}
+			}
+		}
+
+		List<SolverResult> results = new ArrayList<>();
+		Map<Integer, Long> references = new HashMap<>();
+		int failures = 0;
+		System.out.printf("%-4s %-8s %12s %12s %12s %12s %6s  %s%n", "Day", "Result", "ms", "Budget ms", "MB", "Budget MB",
+				"Scale", "Notes");
+		for (int day : days) {
+			if (errors.containsKey(day)) {
+				System.out.printf("%-4d %-8s %12s %12s %12s %12s %6s  %s%n", day, "FAIL", "-", "-", "-", "-", "-",
+						errors.get(day));
+				failures++;
+				continue;
+			}
+			SolverResult result = median(measured.get(day));
+			long reference = medianNanos(calibrations.get(day));
+			results.add(result);
+			references.put(day, reference);
+			if (record) {
+				if (result.totalNanos() > UNGATED_NANOS) {
+					System.out.printf("%-4d %-8s %12.3f %12s %12.3f %12s %6s  %s%n", day, "RECORDED",
+							millis(result.totalNanos()), "-", megabytes(result.allocatedBytes()), "-", "-",
+							"too slow to gate, answers only");
+				} else {
+					System.out.printf("%-4d %-8s %12.3f %12.3f %12.3f %12.3f %6s%n", day, "RECORDED",
+							millis(result.totalNanos()), millis(timeBudget(result)), megabytes(result.allocatedBytes()),
+							megabytes(allocationBudget(result)), "1.00");
+				}
+				continue;
+			}
+
+			double scale = scale(baseline, day, reference);
+			long nanos = timeBudget(baseline, day, scale);
+			List<String> problems = check(day, result, baseline, nanos);
+			long bytes = budget(baseline, day + ".bytes");
+			System.out.printf("%-4d %-8s %12.3f %12s %12.3f %12s %6.2f  %s%n", day, problems.isEmpty() ? "ok" : "FAIL",
+					millis(result.totalNanos()), nanos == Long.MAX_VALUE ? "-" : String.format(Locale.ROOT, "%.3f", millis(nanos)),
+					megabytes(result.allocatedBytes()),
+					bytes == Long.MAX_VALUE ? "-" : String.format(Locale.ROOT, "%.3f", megabytes(bytes)), scale,
+					String.join("; ", problems));
+			if (!problems.isEmpty()) {
+				failures++;
+			}
+		}
+		for (int day : skipped) {
+			System.out.printf("%-4d %-8s %12s %12s %12s %12s %6s  %s%n", day, "skipped", "-", "-", "-", "-", "-",
+					"too slow to gate; name the day to check its answers");
+		}
+		if (!record) {
+			failures += checkAppends(appendDays);
+		}
+		Diagnostics.flush();
+
+		if (record) {
+			save(baselineFile, results, references, baseline);
+			System.out.println("Recorded " + results.size() + " days in " + baselineFile);
+		} else {
+			System.out.println(failures == 0 ? "All " + days.size() + " days within budget" : failures + " of " + days.size() + " days failed");
+		}
+		System.exit(failures == 0 ? 0 : 1);
+	}
+
+	// Everything wrong with a day's result compared to its baseline, given its time budget on this machine
+	private static List<String> check(int day, SolverResult result, Properties baseline, long nanos) {
+		List<String> problems = new ArrayList<>();
+		String partOne = baseline.getProperty(day + ".partOne");
+		String partTwo = baseline.getProperty(day + ".partTwo");
+		if (partOne == null) {
+			problems.add("not in the baseline");
+			return problems;
+		}
+		if (!partOne.equals(String.valueOf(result.partOne()))) {
+			problems.add("part one was " + result.partOne() + ", expected " + partOne);
+		}
+		if (!String.valueOf(partTwo).equals(String.valueOf(result.partTwo()))) {
+			problems.add("part two was " + result.partTwo() + ", expected " + partTwo);
+		}
+		if (result.totalNanos() > nanos) {
+			problems.add(String.format(Locale.ROOT, "%.0f%% over time budget", 100.0 * (result.totalNanos() - nanos) / nanos));
+		}
+		long bytes = budget(baseline, day + ".bytes");
+		if (result.allocatedBytes() > bytes) {
+			problems.add(String.format(Locale.ROOT, "%.0f%% over allocation budget", 100.0 * (result.allocatedBytes() - bytes) / bytes));
+		}
+		return problems;
+	}
+
+	// Checks every appendable day among the given ones and the pair index, printing each check; returns the failures
+	private static int checkAppends(Set<Integer> days) {
+		int failures = 0;
+		System.out.printf("%nDay  Append%n");
+		for (int day : days) {
+			if (!(Solvers.forDay(day) instanceof AppendableSolver<?>) || !InputGenerators.days().contains(day)) {
+				continue;
+			}
+			String problem;
+			try {
+				problem = checkAppend(day);
+			} catch (IOException | RuntimeException e) {
+				problem = e.toString();
+			}
+			System.out.printf("%-4d %s%n", day, problem == null ? "ok" : "FAIL  " + problem);
+			if (problem != null) {
+				failures++;
+			}
+		}
+		String problem;
+		try {
+			problem = checkPairIndex();
+		} catch (RuntimeException e) {
+			problem = e.toString();
+		}
+		System.out.printf("%-4s %s%n", "-", problem == null ? "ok    PairIndex add and remove" : "FAIL  PairIndex: " + problem);
+		return problem == null ? failures : failures + 1;
+	}
+
+	/**
+	 * Parses a generated input whole, then appended to a model of just a blank line, to one of nothing, to one of
+	 * its first half, and to one cut off at the line break nearest the middle, and compares the answers.
+	 * @return What differed, or null if nothing did
+	 */
+	private static String checkAppend(int day) throws IOException {
+		StringWriter out = new StringWriter();
+		InputGenerators.forDay(day).generate(new Random(day), APPEND_SCALE, out);
+		String text = out.toString();
+
+		// Cut at a blank line near the middle if there is one, so a section isn't split, and at the line break nearest
+		// the middle, which may split one as a piece of a file read in pieces can
+		int middle = text.length() / 2;
+		int blank = text.lastIndexOf("\n\n", middle);
+		int line = text.lastIndexOf('\n', middle) + 1;
+		int half = blank >= 0 ? blank + 2 : line;
+
+		String whole = answers(Solvers.parse(day, PuzzleInput.of(text)).solve());
+		String[][] splits = {
+				{"after a blank line", "\n", text},
+				{"after nothing", "", text},
+				{"after the first half", text.substring(0, half), text.substring(half)},
+				{"after the middle line", text.substring(0, line), text.substring(line)}};
+		for (String[] split : splits) {
+			String first = split[1];
+			String appended = answers(Solvers.parse(day, PuzzleInput.of(first))
+					.append(PuzzleInput.of(first + split[2]), first.length())
+					.solve());
+			if (!appended.equals(whole)) {
+				return "appended " + split[0] + " gave " + appended + ", parsed whole " + whole;
+			}
+		}
+		return null;
+	}
+
+	private static String answers(SolverResult result) {
+		return result.partOne() + " and " + result.partTwo();
+	}
+
+	/**
+	 * Adds random pairs to an index built from empty columns, then takes half of them out again, comparing the
+	 * answers with an index built from the sorted columns after each step.
+	 * @return What differed, or null if nothing did
+	 */
+	private static String checkPairIndex() {
+		Random random = new Random(1);
+		int[] left = new int[INDEX_PAIRS];
+		int[] right = new int[INDEX_PAIRS];
+		PairIndex index = PairIndex.of(new int[0], new int[0]);
+		for (int i = 0; i < INDEX_PAIRS; i++) {
+			left[i] = 10_000 + random.nextInt(1000);
+			right[i] = 10_000 + random.nextInt(1000);
+			index.add(left[i], right[i]);
+		}
+		String problem = compare("after adding", index, left, right);
+		if (problem != null) {
+			return problem;
+		}
+		int kept = INDEX_PAIRS / 2;
+		for (int i = kept; i < INDEX_PAIRS; i++) {
+			index.remove(left[i], right[i]);
+		}
+		return compare("after removing", index, Arrays.copyOf(left, kept), Arrays.copyOf(right, kept));
+	}
+
+	// Compares an index with one built from the same columns in one go
+	private static String compare(String when, PairIndex index, int[] left, int[] right) {
+		int[] sortedLeft = left.clone();
+		int[] sortedRight = right.clone();
+		Arrays.sort(sortedLeft);
+		Arrays.sort(sortedRight);
+		PairIndex expected = PairIndex.of(sortedLeft, sortedRight);
+		if (index.size() != expected.size() || index.totalDistance() != expected.totalDistance()
+				|| index.similarityScore() != expected.similarityScore()) {
+			return when + " " + left.length + " pairs: distance " + index.totalDistance() + " and similarity "
+					+ index.similarityScore() + ", expected " + expected.totalDistance() + " and " + expected.similarityScore();
+		}
+		return null;
+	}
+
+	// A budget from the baseline; a day without one has no limit
+	private static long budget(Properties baseline, String key) {
+		String value = baseline.getProperty(key);
+		return value == null ? Long.MAX_VALUE : Long.parseLong(value.trim());
+	}
+
+	// Whether the heap starts at its maximum size, as far as the JVM's flags tell
+	private static boolean fixedHeap() {
+		var vm = ManagementFactory.getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+		return vm == null || vm.getVMOption("InitialHeapSize").getValue().equals(vm.getVMOption("MaxHeapSize").getValue());
+	}
+
+	// Whether a day was recorded with answers but, being too slow, no budgets
+	private static boolean ungated(Properties baseline, int day) {
+		return baseline.containsKey(day + ".partOne") && !baseline.containsKey(day + ".nanos");
+	}
+
+	// How much slower the calibration runs now than when the day's budget was recorded, 1 if that isn't known; a
+	// machine that seems faster doesn't tighten the budget, since the headroom is there for noise the calibration has too
+	private static double scale(Properties baseline, int day, long reference) {
+		long recorded = budget(baseline, day + ".referenceNanos");
+		return recorded == Long.MAX_VALUE || recorded <= 0 ? 1.0 : Math.max(1.0, (double) reference / recorded);
+	}
+
+	// A day's time budget scaled to the machine as it is now
+	private static long timeBudget(Properties baseline, int day, double scale) {
+		long nanos = budget(baseline, day + ".nanos");
+		return nanos == Long.MAX_VALUE ? nanos : (long) (nanos * scale);
+	}
+
+	// Runs a day untimed at least the given number of times and for at least the warm-up time
+	private static void warmUp(int day, Path input, int runs) throws IOException {
+		long start = System.nanoTime();
+		for (int i = 0; i < runs || System.nanoTime() - start < WARMUP_NANOS; i++) {
+			Launcher.measureRuns(day, input, ResultCache.bypass(), RuntimeHistory.discarded(), 0, 1);
+		}
+	}
+
+	// The middle of some calibration times
+	private static long medianNanos(List<Long> nanos) {
+		List<Long> sorted = new ArrayList<>(nanos);
+		sorted.sort(Comparator.naturalOrder());
+		return sorted.get(sorted.size() / 2);
+	}
+
+	// The run with the median total time, taken whole so its answers and allocation go with it
+	private static SolverResult median(List<SolverResult> runs) {
+		List<SolverResult> sorted = new ArrayList<>(runs);
+		sorted.sort(Comparator.comparingLong(SolverResult::totalNanos));
+		return sorted.get(sorted.size() / 2);
+	}
+
+	// The median time of the calibration workload, sorting the same pseudo-random ints each run
+	private static long calibrate() {
+		int[] ints = new Random(CALIBRATION_INTS).ints(CALIBRATION_INTS).toArray();
+		long[] nanos = new long[CALIBRATION_RUNS];
+		for (int i = 0; i < CALIBRATION_RUNS; i++) {
+			int[] sorted = ints.clone();
+			long start = System.nanoTime();
+			Arrays.sort(sorted);
+			nanos[i] = System.nanoTime() - start;
+			calibrationSink += sorted[sorted.length / 2];
+		}
+		Arrays.sort(nanos);
+		return nanos[CALIBRATION_RUNS / 2];
+	}
+
+	private static long timeBudget(SolverResult result) {
+		return (long) (result.totalNanos() * TIME_HEADROOM) + TIME_SLACK_NANOS;
+	}
+
+	private static long allocationBudget(SolverResult result) {
+		return Math.max(ALLOCATION_FLOOR_BYTES, (long) (result.allocatedBytes() * ALLOCATION_HEADROOM));
+	}
+
+	// Writes the baseline in day order, so re-recording it gives a readable diff; days not measured keep their entries
+	private static void save(Path file, List<SolverResult> results, Map<Integer, Long> references, Properties baseline)
+			throws IOException {
+		Map<Integer, SolverResult> measured = new HashMap<>();
+		for (SolverResult result : results) {
+			measured.put(result.day(), result);
+		}
+		try (Writer writer = Files.newBufferedWriter(file)) {
+			writer.write("# Known answers and budgets per day, checked by RegressionGate; re-record with --record\n");
+			writer.write("# nanos is the time budget for parse and both parts, bytes the allocation budget\n");
+			writer.write("# referenceNanos is the calibration time the budget was recorded with; it scales the budget\n");
+			writer.write("# A day without budgets was too slow to gate and is only checked, for its answers, when named\n");
+			for (int day : Solvers.days()) {
+				SolverResult result = measured.get(day);
+				if (result != null) {
+					writer.write(day + ".partOne=" + result.partOne() + "\n");
+					if (result.partTwo() != null) {
+						writer.write(day + ".partTwo=" + result.partTwo() + "\n");
+					}
+					if (result.totalNanos() <= UNGATED_NANOS) {
+						writer.write(day + ".nanos=" + timeBudget(result) + "\n");
+						writer.write(day + ".referenceNanos=" + references.get(day) + "\n");
+						writer.write(day + ".bytes=" + allocationBudget(result) + "\n");
+					}
+				} else {
+					for (String key : List.of(".partOne", ".partTwo", ".nanos", ".referenceNanos", ".bytes")) {
+						String value = baseline.getProperty(day + key);
+						if (value != null) {
+							writer.write(day + key + "=" + value + "\n");
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static double megabytes(long bytes) {
+		return bytes / (1024.0 * 1024.0);
+	}
+}
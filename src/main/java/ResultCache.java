@@ -0,0 +1,187 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Answers that have been computed before, kept on disk so a repeat run over the same input skips the solver.
+ * Each part's answer is one file named by the SHA-256 of the solver class, the part, the SHA-256 of the input bytes
+ * and the code version, which is a hash of every compiled class (or the jar) the solvers were loaded from, so any
+ * change to the code misses rather than returning a stale answer. Set {@code aoc.codeVersion} to pin it instead.
+ * A cached answer comes back as its text, e.g. the String "2639" rather than the Integer a solver returned.
+ * A bypassed cache never hits and never stores, for timing the solvers themselves.
+ */
+final class ResultCache {
+
+	// Where the cache lives unless the launcher is told otherwise, next to the inputs
+	static final Path DEFAULT_DIR = Path.of(".result-cache");
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	// Written in place of an answer for parts that have none, e.g. the second part of day 25
+	private static final String NO_ANSWER = "\0";
+
+	private final Path dir;
+	private final boolean bypass;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong stores = new AtomicLong();
+	private String codeVersion;
+
+	private ResultCache(Path dir, boolean bypass) {
+		this.dir = dir;
+		this.bypass = bypass;
+	}
+
+	// A cache backed by a directory, created when the first answer is stored
+	static ResultCache open(Path dir) {
+		return new ResultCache(dir, false);
+	}
+
+	// A cache that is never used
+	static ResultCache bypass() {
+		return new ResultCache(null, true);
+	}
+
+	/**
+	 * Looks up both answers of a day over an input.
+	 * Only a hit for both parts counts: with one missing the day has to be parsed anyway, and both are recomputed.
+	 * @param day The day
+	 * @param input The input the answers are for
+	 * @return The answers with the lookup as the parse phase and free parts, or null on a miss
+	 */
+	SolverResult lookup(int day, PuzzleInput input) {
+		if (bypass) {
+			return null;
+		}
+		PhaseMeter meter = PhaseMeter.start(day, "cache lookup");
+		String inputHash = inputHash(input);
+		Object[] answers = new Object[2];
+		for (int part = 1; part <= 2; part++) {
+			Path entry = dir.resolve(entryName(day, part, inputHash));
+			try {
+				String text = Files.readString(entry, StandardCharsets.UTF_8);
+				answers[part - 1] = text.equals(NO_ANSWER) ? null : text;
+			} catch (IOException e) {
+				misses.incrementAndGet();
+				return null;
+			}
+		}
+		hits.incrementAndGet();
+		PhaseStats none = new PhaseStats(0, 0, 0);
+		return new SolverResult(day, answers[0], answers[1], meter.stop(), none, none);
+	}
+
+	/**
+	 * Stores both answers of a computed result. Writes go through a temporary file and a rename, so days stored
+	 * concurrently, or another process reading the cache, never see half an entry.
+	 * A cache that can't be written is reported and otherwise ignored: the result itself is still good.
+	 * @param input The input the result was computed from
+	 * @param result The result to store
+	 */
+	void store(PuzzleInput input, SolverResult result) {
+		if (bypass) {
+			return;
+		}
+		String inputHash = inputHash(input);
+		try {
+			Files.createDirectories(dir);
+			write(entryName(result.day(), 1, inputHash), result.partOne());
+			write(entryName(result.day(), 2, inputHash), result.partTwo());
+			stores.incrementAndGet();
+		} catch (IOException e) {
+			System.err.println("Day " + result.day() + ": could not write result cache " + dir + ": " + e.getMessage());
+		}
+	}
+
+	private void write(String name, Object answer) throws IOException {
+		Path temporary = Files.createTempFile(dir, name, ".tmp");
+		Files.writeString(temporary, answer == null ? NO_ANSWER : answer.toString(), StandardCharsets.UTF_8);
+		Files.move(temporary, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	// Hits, misses and stores so far, for the end of a run
+	String stats() {
+		if (bypass) {
+			return "Result cache: bypassed";
+		}
+		return "Result cache: " + hits + " hits, " + misses + " misses, " + stores + " stored in " + dir;
+	}
+
+	// The file name of one part's answer: the hash of everything the answer depends on
+	private String entryName(int day, int part, String inputHash) {
+		MessageDigest digest = sha256();
+		String solver = Solvers.forDay(day).getClass().getName();
+		for (String field : List.of(solver, Integer.toString(part), inputHash, codeVersion())) {
+			digest.update(field.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+		}
+		return HEX.formatHex(digest.digest());
+	}
+
+	private static String inputHash(PuzzleInput input) {
+		MessageDigest digest = sha256();
+		digest.update(input.bytes());
+		return HEX.formatHex(digest.digest());
+	}
+
+	// Computed once per cache: hashing the classes takes a few milliseconds
+	private synchronized String codeVersion() {
+		if (codeVersion == null) {
+			String pinned = System.getProperty("aoc.codeVersion");
+			codeVersion = pinned != null ? pinned : hashCodeSource();
+		}
+		return codeVersion;
+	}
+
+	// Hashes the jar, or every class file under the directory, the solvers were loaded from
+	private static String hashCodeSource() {
+		CodeSource source = Solvers.class.getProtectionDomain().getCodeSource();
+		if (source == null) {
+			throw new IllegalStateException("Can't tell where the solvers were loaded from; set -Daoc.codeVersion");
+		}
+		MessageDigest digest = sha256();
+		try {
+			Path location = Path.of(source.getLocation().toURI());
+			List<Path> files;
+			if (Files.isDirectory(location)) {
+				try (Stream<Path> walk = Files.walk(location)) {
+					files = walk.filter(path -> path.toString().endsWith(".class")).sorted().toList();
+				}
+			} else {
+				files = List.of(location);
+			}
+			for (Path file : files) {
+				digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+				try (InputStream in = Files.newInputStream(file)) {
+					digest.update(in.readAllBytes());
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException("Unexpected code source " + source.getLocation(), e);
+		}
+		return HEX.formatHex(digest.digest());
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new AssertionError(e);
+		}
+	}
+}
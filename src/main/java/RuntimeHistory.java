@@ -0,0 +1,88 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * How long each day took the last time it was run, kept in a small properties file (day = nanoseconds) so the next
+ * suite run can start the slowest days first.
+ */
+final class RuntimeHistory {
+
+	// Where the history is kept unless the launcher is told otherwise, next to the inputs
+	static final Path DEFAULT_FILE = Path.of(".runtime-history");
+
+	private final Path file;
+	private final Properties runtimes = new Properties();
+
+	private RuntimeHistory(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Loads the history from a file; a missing or unreadable file just means no day has a known runtime yet.
+	 * @param file The history file
+	 * @return The history, backed by the file
+	 */
+	static RuntimeHistory load(Path file) {
+		RuntimeHistory history = new RuntimeHistory(file);
+		if (Files.isRegularFile(file)) {
+			try (Reader reader = Files.newBufferedReader(file)) {
+				history.runtimes.load(reader);
+			} catch (IOException | IllegalArgumentException e) {
+				System.err.println("Ignoring runtime history " + file + ": " + e.getMessage());
+			}
+		}
+		return history;
+	}
+
+	// A history that starts empty and is never saved, for runs whose runtimes shouldn't change the suite's order
+	static RuntimeHistory discarded() {
+		return new RuntimeHistory(null);
+	}
+
+	// The last total runtime of a day, or Long.MAX_VALUE if it has never been run so unknown days are started early
+	long runtime(int day) {
+		String nanos = runtimes.getProperty(Integer.toString(day));
+		if (nanos == null) {
+			return Long.MAX_VALUE;
+		}
+		try {
+			return Long.parseLong(nanos);
+		} catch (NumberFormatException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	// The days ordered slowest first, ties in ascending day order
+	List<Integer> longestFirst(Collection<Integer> days) {
+		List<Integer> order = new ArrayList<>(days);
+		order.sort(Comparator.comparingLong(this::runtime).reversed().thenComparing(Comparator.naturalOrder()));
+		return order;
+	}
+
+	// Records the runtime of a day that was actually solved, replacing what was known about it; safe to call from
+	// the threads of a concurrent run
+	void record(SolverResult result) {
+		runtimes.setProperty(Integer.toString(result.day()), Long.toString(result.totalNanos()));
+	}
+
+	/**
+	 * Writes the history back to its file; a discarded history has none and isn't written.
+	 * @throws IOException If there's an error writing the file
+	 */
+	void save() throws IOException {
+		if (file == null) {
+			return;
+		}
+		try (Writer writer = Files.newBufferedWriter(file)) {
+			runtimes.store(writer, "Total nanoseconds per day from the last run");
+		}
+	}
+}
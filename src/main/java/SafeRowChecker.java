@@ -1,34 +1,37 @@
 import java.util.*;
 import java.io.*;
+import java.nio.file.Path;
 
 // This program reads a file containing rows of integers and determines
 // how many rows are "safe". A row is considered safe if it is strictly
 // increasing or decreasing within a defined difference or can be made safe
-// by removing one element.
-public class SafeRowChecker {
+// by removing one element; a SafetyRule changes the difference and how many
+// elements may be removed.
+public class SafeRowChecker implements AppendableSolver<List<int[]>> {
 
+	// Usage: java SafeRowChecker [--steps MIN-MAX] [--removals K], e.g. --steps 1-3 --removals 1 for part two
 	public static void main(String[] args) {
+		// The policy to check the rows against, the puzzle's part two unless told otherwise
+		SafetyRule rule = SafetyRule.DAMPENED;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--steps" -> {
+					String[] range = args[++i].split("-", 2);
+					rule = new SafetyRule(Integer.parseInt(range[0]), Integer.parseInt(range[1]), rule.maxRemovals());
+				}
+				case "--removals" -> rule = new SafetyRule(rule.minStep(), rule.maxStep(), Integer.parseInt(args[++i]));
+				default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+			}
+		}
+
 		// Create a scanner to read user input
 		Scanner scanner = new Scanner(System.in);
 		System.out.println("Enter the file path of the document:");
 		String filePath = scanner.nextLine(); // Read the file path from the user
 
-		// Use a try-with-resources block to ensure the BufferedReader is closed automatically
-		try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-			String line; // Holds each line read from the file
-			int safeRowCount = 0; // Counter for the number of safe rows
-
-			// Loop through each line in the file
-			while ((line = br.readLine()) != null) {
-				// Split the line into parts based on whitespace and parse as integers
-				String[] parts = line.trim().split("\\s+");
-				int[] levels = Arrays.stream(parts).mapToInt(Integer::parseInt).toArray();
-
-				// Check if the row is safe or can be made safe
-				if (isSafeRow(levels) || canBeMadeSafe(levels)) {
-					safeRowCount++; // Increment the safe row counter
-				}
-			}
+		try {
+			// Count the rows that are safe or can be made safe
+			long safeRowCount = countSafeRows(readRows(PuzzleInput.map(Path.of(filePath))), rule);
 
 			// Output the total number of safe rows
 			System.out.println("Total safe rows: " + safeRowCount);
@@ -38,53 +41,68 @@ public class SafeRowChecker {
 		}
 	}
 
-	// Determines if a row is safe by checking if it is strictly increasing or decreasing
-	private static boolean isSafeRow(int[] levels) {
-		if (levels.length < 2) {
-			return true; // Rows with fewer than 2 levels are inherently safe
-		}
-
-		boolean increasing = true;  // Flag to check for strictly increasing sequence
-		boolean decreasing = true;  // Flag to check for strictly decreasing sequence
+	@Override
+	public List<int[]> parse(PuzzleInput input) {
+		return readRows(input);
+	}
 
-		// Iterate through the row to check differences between adjacent elements
-		for (int i = 1; i < levels.length; i++) {
-			int diff = levels[i] - levels[i - 1]; // Calculate the difference between adjacent levels
+	@Override
+	public void append(List<int[]> rows, PuzzleInput input, int from) {
+		readRows(new InputCursor(input, from, input.length()), rows);
+	}
 
-			// If the difference is outside the range [1, 3], the row is not safe
-			if (Math.abs(diff) < 1 || Math.abs(diff) > 3) {
-				return false;
-			}
+	@Override
+	public Object partOne(List<int[]> rows) {
+		return countSafeRows(rows, false);
+	}
 
-			// Update flags based on the difference's direction
-			if (diff < 0) {
-				increasing = false; // Not strictly increasing
-			} else if (diff > 0) {
-				decreasing = false; // Not strictly decreasing
-			}
-		}
+	@Override
+	public Object partTwo(List<int[]> rows) {
+		return countSafeRows(rows, true);
+	}
 
-		// The row is safe if it is either strictly increasing or strictly decreasing
-		return increasing || decreasing;
+	// Reads every line of the file as a row of levels
+	static List<int[]> readRows(PuzzleInput input) {
+		List<int[]> rows = new ArrayList<>();
+		readRows(input.cursor(), rows);
+		return rows;
 	}
 
-	// Determines if a row can be made safe by removing one element
-	private static boolean canBeMadeSafe(int[] levels) {
-		// Iterate through each element in the row
-		for (int i = 0; i < levels.length; i++) {
-			// Create a new array excluding the current element
-			int[] modifiedLevels = new int[levels.length - 1];
-			for (int j = 0, k = 0; j < levels.length; j++) {
-				if (j != i) {
-					modifiedLevels[k++] = levels[j];
+	// Reads each remaining line of the cursor as a row of levels, adding them to the rows and skipping blank lines
+	private static void readRows(InputCursor cursor, List<int[]> rows) {
+		int[] levels = new int[16]; // Scratch space for the current row, grown as needed
+		InputCursor line = new InputCursor(); // Reused for each line of the file
+
+		// Loop through each line in the file
+		while (cursor.nextLine(line)) {
+			// Parse the whitespace separated integers of the line
+			int count = 0;
+			while (line.hasNextNumber()) {
+				if (count == levels.length) {
+					levels = Arrays.copyOf(levels, count * 2);
 				}
+				levels[count++] = line.nextInt();
 			}
+			if (count > 0) { // A blank line is no row, rather than an empty one that would count as safe
+				rows.add(Arrays.copyOf(levels, count));
+			}
+		}
+	}
+
+	// Counts the safe rows, optionally also counting rows that can be made safe by removing one level
+	static long countSafeRows(List<int[]> rows, boolean allowRemoval) {
+		return countSafeRows(rows, allowRemoval ? SafetyRule.DAMPENED : SafetyRule.STRICT);
+	}
 
-			// Check if the modified row is safe
-			if (isSafeRow(modifiedLevels)) {
-				return true; // The row can be made safe by removing this element
+	// Counts the rows that are safe under a rule
+	static long countSafeRows(List<int[]> rows, SafetyRule rule) {
+		long safeRowCount = 0; // Counter for the number of safe rows
+		for (int[] levels : rows) {
+			// Check if the row is safe or can be made safe
+			if (rule.isSafe(levels)) {
+				safeRowCount++; // Increment the safe row counter
 			}
 		}
-		return false; // The row cannot be made safe by removing any single element
+		return safeRowCount;
 	}
 }
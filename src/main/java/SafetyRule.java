@@ -0,0 +1,100 @@
+/**
+ * When a row of levels counts as safe: every level moves from the one before it by minStep to maxStep in the same
+ * direction, all up or all down, once at most maxRemovals levels have been taken out of the row.
+ * The puzzle's parts are {@link #STRICT} and {@link #DAMPENED}; other step ranges and tolerances evaluate the same
+ * reports under a different policy.
+ * Taking out up to k levels is decided without trying combinations of them. A single removal only has to try the
+ * two levels of the first step that breaks the rule, one linear pass each; more use a dynamic program over which
+ * level was kept last before each one, see {@link #minimumRemovals}.
+ */
+record SafetyRule(int minStep, int maxStep, int maxRemovals) {
+
+	// Part one: steps of 1 to 3 and nothing removed
+	static final SafetyRule STRICT = new SafetyRule(1, 3, 0);
+	// Part two: the problem dampener removes one level
+	static final SafetyRule DAMPENED = new SafetyRule(1, 3, 1);
+
+	SafetyRule {
+		if (minStep < 0 || maxStep < minStep || maxRemovals < 0) {
+			throw new IllegalArgumentException("Steps of " + minStep + " to " + maxStep + " with " + maxRemovals + " removals");
+		}
+	}
+
+	// Whether the row is safe after removing at most maxRemovals levels
+	boolean isSafe(int[] levels) {
+		return minimumRemovals(levels) <= maxRemovals;
+	}
+
+	/**
+	 * The fewest levels to remove to make a row safe, looking no further than the rule allows.
+	 * For more than one removal this is a dynamic program per direction: the cost of keeping a level is the fewest
+	 * removals before it with it kept, found from the kept level before it, which is at most maxRemovals + 1 back
+	 * since everything in between is removed. That's O(n * k) for a row of n levels and k removals, with only the
+	 * last k + 2 costs kept.
+	 * @param levels The row
+	 * @return The fewest removals, or maxRemovals + 1 if more than maxRemovals are needed
+	 */
+	int minimumRemovals(int[] levels) {
+		return switch (maxRemovals) {
+			case 0 -> isSafeWithout(levels, -1, 1) || isSafeWithout(levels, -1, -1) ? 0 : 1;
+			case 1 -> isSafeWithout(levels, -1, 1) || isSafeWithout(levels, -1, -1) ? 0
+					: canBeMadeSafe(levels, 1) || canBeMadeSafe(levels, -1) ? 1 : 2;
+			default -> Math.min(minimumRemovals(levels, 1), minimumRemovals(levels, -1));
+		};
+	}
+
+	// The fewest removals to make the row safe in one direction, 1 for increasing and -1 for decreasing, capped
+	private int minimumRemovals(int[] levels, int direction) {
+		int tooMany = maxRemovals + 1;
+		int reach = maxRemovals + 1; // How far back the kept level before a kept level can be
+		int[] cost = new int[reach + 1]; // Ring of the last costs: the fewest removals up to a level that is kept
+		int best = tooMany;
+		for (int i = 0; i < levels.length; i++) {
+			// Keeping level i first removes every level before it
+			int keep = Math.min(i, tooMany);
+			for (int j = Math.max(0, i - reach); j < i; j++) {
+				int removed = cost[j % cost.length] + i - j - 1;
+				if (removed < keep && isSafeStep(levels[j], levels[i], direction)) {
+					keep = removed;
+				}
+			}
+			cost[i % cost.length] = keep;
+			// Keeping level i last removes every level after it
+			best = Math.min(best, keep + levels.length - 1 - i);
+		}
+		return levels.length == 0 ? 0 : best;
+	}
+
+	// Whether the row is safe in one direction after removing at most one level; see minimumRemovals
+	private boolean canBeMadeSafe(int[] levels, int direction) {
+		// If removing one level makes the row safe, that level is one of the first pair of neighbours that break the
+		// rule: any other removal leaves the pair next to each other
+		for (int i = 1; i < levels.length; i++) {
+			if (!isSafeStep(levels[i - 1], levels[i], direction)) {
+				return isSafeWithout(levels, i - 1, direction) || isSafeWithout(levels, i, direction);
+			}
+		}
+		return true;
+	}
+
+	// Whether the row is safe in one direction with the level at the skipped index left out, or none if it's -1
+	private boolean isSafeWithout(int[] levels, int skipped, int direction) {
+		int previous = -1; // Index of the last level kept
+		for (int i = 0; i < levels.length; i++) {
+			if (i == skipped) {
+				continue;
+			}
+			if (previous >= 0 && !isSafeStep(levels[previous], levels[i], direction)) {
+				return false;
+			}
+			previous = i;
+		}
+		return true;
+	}
+
+	// Whether one level to the next moves minStep to maxStep in the direction
+	private boolean isSafeStep(int from, int to, int direction) {
+		long diff = ((long) to - from) * direction;
+		return diff >= minStep && diff <= maxStep;
+	}
+}
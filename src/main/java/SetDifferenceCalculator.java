@@ -1,7 +1,51 @@
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.IntStream;
+
+public class SetDifferenceCalculator implements AppendableSolver<SetDifferenceCalculator.Columns> {
+
+	/**
+	 * The two columns of numbers read from the input file, each sorted ascending; neither part needs the file order.
+	 * The first time lines are appended the columns move into a {@link PairIndex}, which takes every new pair in
+	 * logarithmic time instead of sorting the columns again, and answers both parts from then on.
+	 */
+	static final class Columns {
+		private int[] left;
+		private int[] right;
+		private PairIndex index;
+
+		Columns(int[] left, int[] right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		// The sorted left column; only there until pairs are appended
+		int[] left() {
+			return left;
+		}
+
+		// The sorted right column; only there until pairs are appended
+		int[] right() {
+			return right;
+		}
+
+		// The columns as an index, built from the sorted arrays the first time it's needed
+		PairIndex index() {
+			if (index == null) {
+				index = PairIndex.of(left, right);
+				left = null;
+				right = null;
+			}
+			return index;
+		}
+	}
+
+	// Inputs smaller than this are parsed on the calling thread; splitting them costs more than it saves
+	private static final int PARALLEL_BYTES = 1 << 20;
+	// Columns shorter than this are scored on the calling thread, and longer ones in slices at least this long
+	private static final int PARALLEL_PAIRS = 1 << 16;
 
-public class SetDifferenceCalculator {
 	public static void main(String[] args) {
 		// Create a Scanner object to read input from the console
 		Scanner scanner = new Scanner(System.in);
@@ -10,93 +54,311 @@ public class SetDifferenceCalculator {
 		System.out.print("Enter the file path for the combined set file: ");
 		String filePath = scanner.nextLine();
 
-		// Display the file path being processed
-		System.out.println("Processing file: " + filePath);
+		// Note the file path being processed
+		Diagnostics.summary(() -> "Processing file: " + filePath);
 
-		// Create two lists to hold numbers from the two columns in the file
-		List<Integer> leftList = new ArrayList<>();
-		List<Integer> rightList = new ArrayList<>();
+		try {
+			// Read both columns of the file, in pieces if it's too large to map in one or compressed
+			Path path = Path.of(filePath);
+			Columns columns = PuzzleInput.isChunked(path)
+					? new SetDifferenceCalculator().parse(path)
+					: readColumns(PuzzleInput.map(path));
 
-		// Try-with-resources to automatically close resources (BufferedReader)
-		try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+			// Log the sorted lists
+			Diagnostics.trace(() -> "Sorted Left List: " + Arrays.toString(columns.left()));
+			Diagnostics.trace(() -> "Sorted Right List: " + Arrays.toString(columns.right()));
 
-			String line; // Temporary variable to hold each line from the file
+			// Display the total "distance" (sum of differences)
+			long totalDifference = totalDistance(columns);
+			System.out.println("The total distance between the lists is: " + totalDifference);
 
-			// Read the file line by line
-			while ((line = reader.readLine()) != null) {
-				System.out.println("Read line: " + line); // Log each line for debugging
+			// Display the calculated similarity score
+			long similarityScore = similarityScore(columns);
+			System.out.println("The similarity score between the lists is: " + similarityScore);
+		} catch (IOException e) {
+			// Handle file input/output errors (e.g., file not found, read failure)
+			System.err.println("Error reading file: " + e.getMessage());
+		} catch (ArithmeticException e) {
+			// Handle numbers in the file that do not fit in an int
+			System.err.println("Invalid number format in file: " + e.getMessage());
+		}
+	}
 
-				// Split the line into two numbers using whitespace as the delimiter
-				String[] numbers = line.trim().split("\\s+");
+	@Override
+	public Columns parse(PuzzleInput input) {
+		return readColumns(input);
+	}
 
-				// Validate the line format (it should contain exactly two numbers)
-				if (numbers.length != 2) {
-					System.err.println("Invalid line format: " + line);
-					continue; // Skip invalid lines
-				}
+	/**
+	 * Reads a file too large to map in one piece, or a compressed one, a piece at a time. Each piece is parsed like a
+	 * mapped input into lists of its own, and the columns are put together and sorted once at the end, rather than
+	 * adding every pair after the first piece to an index.
+	 * The columns are int arrays, so the file can hold at most {@code Integer.MAX_VALUE} pairs.
+	 */
+	@Override
+	public Columns parse(Path path) throws IOException {
+		List<IntList> leftLists = new ArrayList<>();
+		List<IntList> rightLists = new ArrayList<>();
+		PuzzleInput.readChunks(path, CHUNK_BYTES, piece -> readLists(piece, leftLists, rightLists));
+		return sortedColumns(leftLists, rightLists);
+	}
 
-				// Parse the two numbers from the split strings
-				int num1 = Integer.parseInt(numbers[0]);
-				int num2 = Integer.parseInt(numbers[1]);
+	@Override
+	public void append(Columns columns, PuzzleInput input, int from) {
+		IntList left = new IntList();
+		IntList right = new IntList();
+		readChunk(input, from, input.length(), left, right);
+		PairIndex index = columns.index();
+		for (int i = 0; i < left.size(); i++) {
+			index.add(left.get(i), right.get(i));
+		}
+	}
 
-				// Add the numbers to their respective lists
-				leftList.add(num1);
-				rightList.add(num2);
-			}
+	@Override
+	public Object partOne(Columns columns) {
+		return totalDistance(columns);
+	}
 
-			// Log the unsorted lists
-			System.out.println("Left List: " + leftList);
-			System.out.println("Right List: " + rightList);
+	@Override
+	public Object partTwo(Columns columns) {
+		return similarityScore(columns);
+	}
 
-			// Sort both lists to ensure the numbers are in ascending order
-			Collections.sort(leftList);
-			Collections.sort(rightList);
+	/**
+	 * Reads the two whitespace separated columns of the input file and radix sorts each.
+	 * A large file is split into chunks that end at line breaks, and the chunks are parsed at the same time into
+	 * lists of their own, which are then copied into the columns in file order. The input is memory-mapped, so every
+	 * thread reads its chunk straight from the page cache. The parallel work runs on the fork-join pool of the
+	 * calling thread when it's one of its workers, as in a {@link SuiteExecutor}, and on the common pool otherwise.
+	 * @param input The input file
+	 * @return The left and right columns, sorted
+	 */
+	static Columns readColumns(PuzzleInput input) {
+		List<IntList> leftLists = new ArrayList<>();
+		List<IntList> rightLists = new ArrayList<>();
+		readLists(input, leftLists, rightLists);
+		return sortedColumns(leftLists, rightLists);
+	}
 
-			// Log the sorted lists
-			System.out.println("Sorted Left List: " + leftList);
-			System.out.println("Sorted Right List: " + rightList);
+	// Parses an input in line-aligned chunks at the same time, adding two lists per chunk in file order
+	private static void readLists(PuzzleInput input, List<IntList> leftLists, List<IntList> rightLists) {
+		int[] bounds = lineAlignedChunks(input, input.length() < PARALLEL_BYTES ? 1 : slices());
+		int chunks = bounds.length - 1;
 
-			// Variable to hold the total difference between corresponding numbers
-			long totalDifference = 0;
+		// Create two lists per chunk to hold numbers from the two columns in the file
+		IntList[] left = new IntList[chunks];
+		IntList[] right = new IntList[chunks];
+		IntStream.range(0, chunks).parallel().forEach(chunk -> {
+			left[chunk] = new IntList(1024);
+			right[chunk] = new IntList(1024);
+			readChunk(input, bounds[chunk], bounds[chunk + 1], left[chunk], right[chunk]);
+		});
+		leftLists.addAll(Arrays.asList(left));
+		rightLists.addAll(Arrays.asList(right));
+	}
 
-			// Loop through both lists to calculate the absolute difference
-			for (int i = 0; i < leftList.size(); i++) {
-				int diff = Math.abs(leftList.get(i) - rightList.get(i)); // Calculate absolute difference
-				System.out.println("Pair: (" + leftList.get(i) + ", " + rightList.get(i) + "), Difference: " + diff);
-				totalDifference += diff; // Accumulate the difference
+	// Concatenates the lists of every chunk in order into the two columns and sorts each
+	private static Columns sortedColumns(List<IntList> leftLists, List<IntList> rightLists) {
+		int chunks = leftLists.size();
+		int[] offsets = new int[chunks + 1];
+		for (int chunk = 0; chunk < chunks; chunk++) {
+			int size = leftLists.get(chunk).size();
+			if (size > Integer.MAX_VALUE - offsets[chunk]) {
+				throw new IllegalArgumentException("More than " + Integer.MAX_VALUE + " pairs to sort");
 			}
+			offsets[chunk + 1] = offsets[chunk] + size;
+		}
+		int pairs = offsets[chunks];
+		Diagnostics.summary(() -> "Read " + pairs + " pairs in " + chunks + (chunks == 1 ? " chunk" : " chunks"));
+		int[] left = new int[pairs];
+		int[] right = new int[pairs];
+		IntStream.range(0, chunks).parallel().forEach(chunk -> {
+			leftLists.get(chunk).copyTo(left, offsets[chunk]);
+			rightLists.get(chunk).copyTo(right, offsets[chunk]);
+		});
+		RadixSort.parallelSort(left);
+		RadixSort.parallelSort(right);
+		return new Columns(left, right);
+	}
 
-			// Display the total "distance" (sum of differences)
-			System.out.println("The total distance between the lists is: " + totalDifference);
+	/**
+	 * Splits the input into about the given number of chunks, each ending just after a line break or at the end.
+	 * @return The chunks' boundaries: chunk i runs from bounds[i] to bounds[i + 1]
+	 */
+	private static int[] lineAlignedChunks(PuzzleInput input, int chunks) {
+		int[] bounds = new int[chunks + 1];
+		int count = 0;
+		for (int chunk = 1; chunk < chunks; chunk++) {
+			int end = Math.max(RadixSort.sliceStart(input.length(), chunks, chunk), bounds[count]);
+			while (end < input.length() && input.at(end - 1) != '\n') {
+				end++;
+			}
+			if (end > bounds[count] && end < input.length()) {
+				bounds[++count] = end;
+			}
+		}
+		bounds[++count] = input.length();
+		return Arrays.copyOf(bounds, count + 1);
+	}
 
-			// Variable to hold the similarity score
-			long similarityScore = 0;
+	// Parses the lines from one offset to another into the two lists
+	private static void readChunk(PuzzleInput input, int from, int to, IntList leftList, IntList rightList) {
+		InputCursor cursor = new InputCursor(input, from, to);
+		InputCursor line = new InputCursor(); // Reused for each line of the chunk
+		boolean trace = Diagnostics.isEnabled(Diagnostics.Level.TRACE); // Checked once, so no message is made when off
 
-			// Map to store the frequency of numbers in the right list
-			Map<Integer, Integer> rightListFrequency = new HashMap<>();
+		// Read the chunk line by line
+		while (cursor.nextLine(line)) {
+			if (trace) {
+				Diagnostics.trace(line::text); // Log each line for debugging
+			}
+			int start = line.position();
 
-			// Populate the frequency map for the right list
-			for (int num : rightList) {
-				rightListFrequency.put(num, rightListFrequency.getOrDefault(num, 0) + 1);
+			// Parse the numbers on the line, keeping the first two
+			int count = 0, num1 = 0, num2 = 0;
+			while (line.hasNextNumber()) {
+				int num = line.nextInt();
+				if (count == 0) {
+					num1 = num;
+				} else {
+					num2 = num;
+				}
+				count++;
 			}
 
-			// Calculate the similarity score by checking the presence of numbers in the left list
-			for (int num : leftList) {
-				int frequency = rightListFrequency.getOrDefault(num, 0); // Get frequency of the number in the right list
-				similarityScore += num * frequency; // Calculate contribution to the similarity score
-				System.out.println("Number: " + num + ", Frequency in Right List: " + frequency +
-						", Contribution to Similarity Score: " + (num * frequency));
+			// Validate the line format (it should contain exactly two numbers); a blank line is skipped quietly
+			if (count != 2) {
+				String text = input.text(start, line.limit());
+				if (!text.isBlank()) {
+					System.err.println("Invalid line format: " + text);
+				}
+				continue; // Skip invalid lines
 			}
 
-			// Display the calculated similarity score
-			System.out.println("The similarity score between the lists is: " + similarityScore);
+			// Add the numbers to their respective lists
+			leftList.add(num1);
+			rightList.add(num2);
+		}
+	}
 
-		} catch (IOException e) {
-			// Handle file input/output errors (e.g., file not found, read failure)
-			System.err.println("Error reading file: " + e.getMessage());
-		} catch (NumberFormatException e) {
-			// Handle invalid number formats in the file
-			System.err.println("Invalid number format in file: " + e.getMessage());
+	// How many pieces to split parallel work into: a few per core, so a slow one doesn't hold up the rest
+	private static int slices() {
+		return 4 * Runtime.getRuntime().availableProcessors();
+	}
+
+	// How many pieces to split a column into for a parallel pass, one if it's too short to be worth it
+	private static int slices(int pairs) {
+		return pairs < PARALLEL_PAIRS ? 1 : Math.min(slices(), pairs / PARALLEL_PAIRS);
+	}
+
+	/**
+	 * Pairs the smallest left number with the smallest right number, and so on, and sums the differences.
+	 * Long columns are summed in slices at the same time.
+	 * @param columns The two sorted columns, or their index once pairs have been appended
+	 * @return The total distance between the lists
+	 */
+	static long totalDistance(Columns columns) {
+		if (columns.left() == null) {
+			return columns.index().totalDistance();
+		}
+		int[] leftList = columns.left();
+		int[] rightList = columns.right();
+		int slices = slices(leftList.length);
+		return IntStream.range(0, slices).parallel()
+				.mapToLong(slice -> totalDistance(leftList, rightList,
+						RadixSort.sliceStart(leftList.length, slices, slice),
+						RadixSort.sliceStart(leftList.length, slices, slice + 1)))
+				.sum();
+	}
+
+	// The total distance of the pairs from one index to another
+	private static long totalDistance(int[] leftList, int[] rightList, int from, int to) {
+		// Variable to hold the total difference between corresponding numbers
+		long totalDifference = 0;
+		boolean trace = Diagnostics.isEnabled(Diagnostics.Level.TRACE);
+
+		// Both columns are sorted, so the numbers at the same index are a pair
+		for (int i = from; i < to; i++) {
+			int left = leftList[i];
+			int right = rightList[i];
+			long diff = Math.abs((long) left - right); // Calculate absolute difference
+			if (trace) {
+				Diagnostics.trace(() -> "Pair: (" + left + ", " + right + "), Difference: " + diff);
+			}
+			totalDifference += diff; // Accumulate the difference
+		}
+		return totalDifference;
+	}
+
+	/**
+	 * Sums each left number multiplied by how often it appears in the right list.
+	 * Both columns are sorted, so equal numbers form a run in each, and one merge-like pass over both finds them:
+	 * a number in a run of l on the left and r on the right contributes number * l * r, with no frequency map.
+	 * The contribution is linear in l, so a long left column can be cut anywhere into slices that are merged at the
+	 * same time, each starting at its first number's run in the right column.
+	 * @param columns The two sorted columns, or their index once pairs have been appended
+	 * @return The similarity score between the lists
+	 */
+	static long similarityScore(Columns columns) {
+		if (columns.left() == null) {
+			return columns.index().similarityScore();
+		}
+		int[] left = columns.left();
+		int[] right = columns.right();
+		int slices = slices(left.length);
+		return IntStream.range(0, slices).parallel()
+				.mapToLong(slice -> similarityScore(left, right,
+						RadixSort.sliceStart(left.length, slices, slice),
+						RadixSort.sliceStart(left.length, slices, slice + 1)))
+				.sum();
+	}
+
+	// The similarity score of the left numbers from one index to another
+	private static long similarityScore(int[] left, int[] right, int from, int to) {
+		// Variable to hold the similarity score
+		long similarityScore = 0;
+		boolean trace = Diagnostics.isEnabled(Diagnostics.Level.TRACE);
+
+		int i = from, j = from == to ? right.length : firstAtLeast(right, left[from]);
+		while (i < to && j < right.length) {
+			if (left[i] < right[j]) {
+				i++;
+			} else if (left[i] > right[j]) {
+				j++;
+			} else {
+				// Measure the run of this number in both columns
+				int num = left[i];
+				int leftRun = i;
+				while (i < to && left[i] == num) {
+					i++;
+				}
+				int rightRun = j;
+				while (j < right.length && right[j] == num) {
+					j++;
+				}
+				long frequency = j - rightRun; // How often the number appears in the right list
+				long contribution = (long) num * frequency * (i - leftRun);
+				similarityScore += contribution; // Calculate contribution to the similarity score
+				if (trace) {
+					Diagnostics.trace(() -> "Number: " + num + ", Frequency in Right List: " + frequency +
+							", Contribution to Similarity Score: " + contribution);
+				}
+			}
+		}
+		return similarityScore;
+	}
+
+	// Index of the first number in a sorted array that is at least the value, or the length if there is none
+	private static int firstAtLeast(int[] sorted, int value) {
+		int low = 0, high = sorted.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
 		}
+		return low;
 	}
 }
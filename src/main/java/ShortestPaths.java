@@ -0,0 +1,161 @@
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Single-source shortest paths over a graph whose states are the ints 0 to states - 1, such as cell indices or a cell
+ * index times four plus a heading. The graph is a callback that reports a state's edges, so it's never built, and
+ * the results are a distance and a predecessor per state in flat arrays instead of linked node records.
+ * Pick the search by the weights: {@link #breadthFirst} when every edge weighs 1, {@link #dial} when the weights are
+ * small integers, {@link #dijkstra} otherwise. One instance can run any number of searches over the same states;
+ * each search starts from scratch.
+ */
+final class ShortestPaths {
+
+	// Distance of a state the search never reached
+	static final int UNREACHED = Integer.MAX_VALUE;
+	// Predecessor of the start and of unreached states, and what a search returns if it reached no goal
+	static final int NONE = -1;
+
+	// The edges out of each state
+	@FunctionalInterface
+	interface Graph {
+		// Reports every edge out of a state to the sink
+		void edges(int state, Edges edges);
+	}
+
+	// Where a graph reports edges
+	@FunctionalInterface
+	interface Edges {
+		void edge(int to, int weight);
+	}
+
+	private final int[] distance;
+	private final int[] predecessor;
+	private int settling; // The state whose edges the running search is following
+	private int queued; // Size of the running search's queue, for progress reporting
+
+	ShortestPaths(int states) {
+		distance = new int[states];
+		predecessor = new int[states];
+	}
+
+	/**
+	 * Breadth-first search, for graphs whose edges all weigh 1; the weights the graph reports are ignored.
+	 * @param start The state to search from
+	 * @param graph The edges of every state
+	 * @param goal Stops the search at the first state it accepts, or null to reach every state
+	 * @return The goal state that stopped the search, or {@link #NONE}
+	 */
+	int breadthFirst(int start, Graph graph, IntPredicate goal) {
+		reset(start);
+		IntQueue queue = new IntQueue(64);
+		queue.add(start);
+		Edges edges = (to, weight) -> {
+			if (distance[to] == UNREACHED) {
+				distance[to] = distance[settling] + 1;
+				predecessor[to] = settling;
+				queue.add(to);
+			}
+		};
+		while (!queue.isEmpty()) {
+			int state = queue.remove();
+			if (goal != null && goal.test(state)) {
+				return state;
+			}
+			settling = state;
+			queued = queue.size();
+			graph.edges(state, edges);
+		}
+		return NONE;
+	}
+
+	/**
+	 * Dijkstra's search with a bucket queue, for graphs whose weights are non-negative and at most {@code maxWeight}.
+	 * States are settled in order of distance, so the goal test sees the nearest accepted state first.
+	 * @param start The state to search from
+	 * @param graph The edges of every state
+	 * @param maxWeight The largest weight of any edge
+	 * @param goal Stops the search at the first state it accepts, or null to reach every state
+	 * @return The goal state that stopped the search, or {@link #NONE}
+	 */
+	int dial(int start, Graph graph, int maxWeight, IntPredicate goal) {
+		reset(start);
+		BucketQueue queue = new BucketQueue(maxWeight);
+		queue.add(start, 0);
+		Edges edges = (to, weight) -> {
+			int through = distance[settling] + weight;
+			if (through < distance[to]) {
+				distance[to] = through;
+				predecessor[to] = settling;
+				queue.add(to, through);
+			}
+		};
+		while (!queue.isEmpty()) {
+			int state = queue.remove();
+			if (queue.priority() > distance[state]) {
+				continue; // A stale copy; the state was settled at a shorter distance already
+			}
+			if (goal != null && goal.test(state)) {
+				return state;
+			}
+			settling = state;
+			queued = queue.size();
+			graph.edges(state, edges);
+		}
+		return NONE;
+	}
+
+	/**
+	 * Dijkstra's search with an indexed heap, which lowers a queued state's distance in place rather than queueing it
+	 * again, for graphs with any non-negative weights.
+	 * @param start The state to search from
+	 * @param graph The edges of every state
+	 * @param goal Stops the search at the first state it accepts, or null to reach every state
+	 * @return The goal state that stopped the search, or {@link #NONE}
+	 */
+	int dijkstra(int start, Graph graph, IntPredicate goal) {
+		reset(start);
+		IndexedHeap queue = new IndexedHeap(distance.length);
+		queue.offer(start, 0);
+		Edges edges = (to, weight) -> {
+			int through = distance[settling] + weight;
+			if (through < distance[to]) {
+				distance[to] = through;
+				predecessor[to] = settling;
+				queue.offer(to, through);
+			}
+		};
+		while (!queue.isEmpty()) {
+			int state = queue.remove();
+			if (goal != null && goal.test(state)) {
+				return state;
+			}
+			settling = state;
+			queued = queue.size();
+			graph.edges(state, edges);
+		}
+		return NONE;
+	}
+
+	// Shortest distance from the start of the last search, or UNREACHED
+	int distance(int state) {
+		return distance[state];
+	}
+
+	// The state before this one on a shortest path found by the last search, or NONE
+	int predecessor(int state) {
+		return predecessor[state];
+	}
+
+	// How many states the running search has queued, as of the last state it settled
+	int queued() {
+		return queued;
+	}
+
+	private void reset(int start) {
+		Arrays.fill(distance, UNREACHED);
+		Arrays.fill(predecessor, NONE);
+		distance[start] = 0;
+		queued = 0;
+	}
+}
@@ -0,0 +1,38 @@
+/**
+ * A day's puzzle split into the phases every day shares, so it can be run without prompting on the console.
+ * The parsed model is handed to both parts, so a part must not change it in a way that changes the other part's answer.
+ * @param <M> The type the input is parsed into.
+ */
+interface Solver<M> {
+
+	/**
+	 * Parses the puzzle input into the model both parts are answered from.
+	 * @param input The raw bytes of the input
+	 * @return The parsed model
+	 */
+	M parse(PuzzleInput input);
+
+	/**
+	 * Answers part one of the puzzle.
+	 * @param model The parsed input
+	 * @return The answer, printed as-is
+	 */
+	Object partOne(M model);
+
+	/**
+	 * Answers part two of the puzzle.
+	 * @param model The parsed input
+	 * @return The answer, printed as-is, or null if the day has no second part
+	 */
+	Object partTwo(M model);
+
+	/**
+	 * Copies a model so a part can be answered from it again as if from a fresh parse, e.g. when benchmarking the parts
+	 * on one parsed input. Only a day whose parts leave something behind in the model, such as a memo, needs a copy.
+	 * @param model The parsed input, possibly already used by a part
+	 * @return A model the parts give the same answers and do the same work for as a freshly parsed one
+	 */
+	default M copy(M model) {
+		return model;
+	}
+}
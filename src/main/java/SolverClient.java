@@ -0,0 +1,56 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends solve requests to a running {@link SolverDaemon} and prints each response with its round-trip time.
+ * Usage: {@code java SolverClient [--port N | --socket PATH] [--repeat N] DAY=FILE ...}
+ * Every request goes over one connection; with {@code --repeat} the whole list is sent that many times, which shows
+ * the latency once the daemon has seen an input's code paths.
+ */
+public class SolverClient {
+
+	public static void main(String[] args) throws IOException {
+		int port = SolverDaemon.DEFAULT_PORT;
+		Path socket = null;
+		int repeat = 1;
+		List<String> requests = new ArrayList<>();
+
+		// Parse the command line
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--port" -> port = Integer.parseInt(args[++i]);
+				case "--socket" -> socket = Path.of(args[++i]);
+				case "--repeat" -> repeat = Math.max(1, Integer.parseInt(args[++i]));
+				default -> {
+					String[] dayAndFile = args[i].split("=", 2);
+					if (dayAndFile.length != 2) {
+						throw new IllegalArgumentException("Expected DAY=FILE: " + args[i]);
+					}
+					// The daemon resolves paths against its own working directory
+					requests.add("solve " + Integer.parseInt(dayAndFile[0]) + " " + Path.of(dayAndFile[1]).toAbsolutePath());
+				}
+			}
+		}
+
+		try (SocketChannel channel = SocketChannel.open(SolverDaemon.address(port, socket));
+			 BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+			 PrintWriter out = new PrintWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+			for (int i = 0; i < repeat; i++) {
+				for (String request : requests) {
+					long start = System.nanoTime();
+					out.println(request);
+					out.flush();
+					String response = in.readLine();
+					System.out.printf("%s\t(%.3f ms round trip)%n", response, (System.nanoTime() - start) / 1_000_000.0);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,186 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Keeps every solver loaded and JIT-compiled in one long-running JVM and solves inputs on request over a local socket,
+ * so a caller pays for a solve rather than for a JVM start.
+ * Usage: {@code java SolverDaemon [--port N | --socket PATH] [--workers N] [--warmup N]}
+ * It listens on a loopback TCP port (7224 by default) or a Unix-domain socket. Each connection is served on its own
+ * virtual thread and may send any number of requests, one per line, each answered by one line:
+ * <pre>
+ * solve DAY FILE   ok TAB day TAB part one TAB part two TAB parse ms TAB part one ms TAB part two ms
+ * ping             ok
+ * anything else    error TAB message
+ * </pre>
+ * FILE is resolved against the daemon's working directory, so callers should send absolute paths.
+ * Solves run on a pool of {@code --workers} threads, one per core by default. Before it starts listening the daemon
+ * runs every day {@code --warmup} times on small generated inputs, stopping early for days that are slow anyway, so
+ * the first real request already finds compiled code.
+ */
+public class SolverDaemon {
+
+	// Default loopback port
+	static final int DEFAULT_PORT = 7224;
+
+	// How long warming up one day may take before it's considered warm enough
+	private static final long WARMUP_BUDGET_NANOS = 1_000_000_000L;
+
+	private final ExecutorService workers;
+
+	private SolverDaemon(int workers) {
+		this.workers = Executors.newFixedThreadPool(workers);
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int port = DEFAULT_PORT;
+		Path socket = null;
+		int workers = Runtime.getRuntime().availableProcessors();
+		int warmup = 50;
+
+		// Parse the command line
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--port" -> port = Integer.parseInt(args[++i]);
+				case "--socket" -> socket = Path.of(args[++i]);
+				case "--workers" -> workers = Math.max(1, Integer.parseInt(args[++i]));
+				case "--warmup" -> warmup = Math.max(0, Integer.parseInt(args[++i]));
+				default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+
+		SolverDaemon daemon = new SolverDaemon(workers);
+		long start = System.nanoTime();
+		daemon.warmUp(warmup);
+		System.out.printf("Warmed up in %.0f ms%n", (System.nanoTime() - start) / 1_000_000.0);
+
+		ServerSocketChannel server = socket != null
+				? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+				: ServerSocketChannel.open();
+		if (socket != null) {
+			Files.deleteIfExists(socket); // Left behind by a daemon that didn't shut down cleanly
+			Path bound = socket;
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					Files.deleteIfExists(bound);
+				} catch (IOException ignored) {
+					// Nothing left to do on the way out
+				}
+			}));
+		}
+		server.bind(address(port, socket));
+		System.out.println("Listening on " + server.getLocalAddress() + " with " + workers + " workers");
+		daemon.serve(server);
+	}
+
+	/**
+	 * Runs every day repeatedly on a generated input a tenth of the puzzle's size, all days at once on the workers.
+	 * @param iterations Most runs per day; a day stops sooner once its runs have taken a second
+	 */
+	private void warmUp(int iterations) throws InterruptedException {
+		List<Future<?>> pending = new ArrayList<>();
+		for (int day : Solvers.days()) {
+			pending.add(workers.submit(() -> {
+				StringWriter text = new StringWriter();
+				InputGenerators.forDay(day).generate(new Random(day), 0.1, text);
+				PuzzleInput input = PuzzleInput.of(text.toString());
+				long start = System.nanoTime();
+				for (int i = 0; i < iterations && System.nanoTime() - start < WARMUP_BUDGET_NANOS; i++) {
+					Solvers.run(day, input);
+				}
+				return null;
+			}));
+		}
+		for (Future<?> future : pending) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				// A day that can't be warmed up can still be asked for; it'll just be slower the first time
+				System.err.println("Warm-up failed: " + e.getCause());
+			}
+		}
+	}
+
+	// Accepts connections until the process is stopped
+	private void serve(ServerSocketChannel server) throws IOException {
+		try (ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor()) {
+			while (true) {
+				SocketChannel connection = server.accept();
+				connections.submit(() -> handle(connection));
+			}
+		}
+	}
+
+	// Answers one connection's requests until it closes
+	private void handle(SocketChannel connection) {
+		try (connection;
+			 BufferedReader in = new BufferedReader(Channels.newReader(connection, StandardCharsets.UTF_8));
+			 PrintWriter out = new PrintWriter(Channels.newWriter(connection, StandardCharsets.UTF_8))) {
+			String request;
+			while ((request = in.readLine()) != null) {
+				out.println(respond(request.strip()));
+				out.flush();
+			}
+		} catch (IOException e) {
+			System.err.println("Connection failed: " + e.getMessage());
+		}
+	}
+
+	// One response line for one request line
+	String respond(String request) {
+		if (request.equals("ping")) {
+			return "ok";
+		}
+		String[] words = request.split("\\s+", 3);
+		if (words.length != 3 || !words[0].equals("solve")) {
+			return "error\tExpected: solve DAY FILE";
+		}
+		try {
+			int day = Integer.parseInt(words[1]);
+			Path input = Path.of(words[2]);
+			SolverResult result = workers.submit(() -> Solvers.run(day, input)).get();
+			return String.join("\t", "ok", Integer.toString(day), String.valueOf(result.partOne()),
+					result.partTwo() == null ? "-" : result.partTwo().toString(),
+					millis(result.parseNanos()), millis(result.partOneNanos()), millis(result.partTwoNanos()));
+		} catch (NumberFormatException e) {
+			return "error\tNot a day: " + words[1];
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			return "error\t" + (cause instanceof IOException ? "Can't read " + words[2] + ": " + cause.getMessage() : cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "error\tInterrupted";
+		}
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+	}
+
+	// The address a client should connect to, matching the daemon's --port or --socket option
+	static SocketAddress address(int port, Path socket) {
+		return socket != null
+				? UnixDomainSocketAddress.of(socket)
+				: new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+	}
+}
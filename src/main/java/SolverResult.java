@@ -0,0 +1,34 @@
+// Record holding both answers of one run of a day together with the cost of each phase
+record SolverResult(int day, Object partOne, Object partTwo, PhaseStats parse, PhaseStats first, PhaseStats second) {
+
+	long parseNanos() {
+		return parse.nanos();
+	}
+
+	long partOneNanos() {
+		return first.nanos();
+	}
+
+	long partTwoNanos() {
+		return second.nanos();
+	}
+
+	// Total time spent across all three phases
+	long totalNanos() {
+		return parse.nanos() + first.nanos() + second.nanos();
+	}
+
+	// Total bytes allocated across the phases whose allocation is known
+	long allocatedBytes() {
+		return known(parse) + known(first) + known(second);
+	}
+
+	private static long known(PhaseStats phase) {
+		return phase.allocationKnown() ? phase.allocatedBytes() : 0;
+	}
+
+	// Total garbage collections across all three phases
+	long gcCount() {
+		return parse.gcCount() + first.gcCount() + second.gcCount();
+	}
+}
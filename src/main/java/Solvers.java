@@ -0,0 +1,183 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+// Registry of every day's solver, keyed by day number
+final class Solvers {
+
+	private static final Map<Integer, Supplier<Solver<?>>> SOLVERS = new TreeMap<>();
+
+	static {
+		SOLVERS.put(1, SetDifferenceCalculator::new);
+		SOLVERS.put(2, SafeRowChecker::new);
+		SOLVERS.put(3, CorruptedMemorySolver::new);
+		SOLVERS.put(4, WordSearchSolver::new);
+		SOLVERS.put(5, Day05::new);
+		SOLVERS.put(6, GuardPatrol::new);
+		SOLVERS.put(7, Day7::new);
+		SOLVERS.put(8, Day8::new);
+		SOLVERS.put(9, Day9::new);
+		SOLVERS.put(10, Day10::new);
+		SOLVERS.put(11, Day11::new);
+		SOLVERS.put(12, Day12::new);
+		SOLVERS.put(13, Day13::new);
+		SOLVERS.put(14, Day14::new);
+		SOLVERS.put(15, Day15::new);
+		SOLVERS.put(16, Day16::new);
+		SOLVERS.put(17, Day17::new);
+		SOLVERS.put(18, Day18::new);
+		SOLVERS.put(19, Day19::new);
+		SOLVERS.put(20, Day20::new);
+		SOLVERS.put(21, Day21::new);
+		SOLVERS.put(22, Day22::new);
+		SOLVERS.put(23, Day23::new);
+		SOLVERS.put(24, Day24::new);
+		SOLVERS.put(25, Day25::new);
+	}
+
+	private Solvers() {
+	}
+
+	// All registered days in ascending order
+	static Set<Integer> days() {
+		return SOLVERS.keySet();
+	}
+
+	// Create the solver for a given day
+	static Solver<?> forDay(int day) {
+		var solver = SOLVERS.get(day);
+		if (solver == null) {
+			throw new IllegalArgumentException("No solver for day " + day);
+		}
+		return solver.get();
+	}
+
+	// The checked-in input for a day, e.g. Day7.txt in the working directory
+	static Path defaultInput(int day) {
+		return Path.of("Day" + day + ".txt");
+	}
+
+	/**
+	 * Runs one day over one input, measuring the parse and both parts separately.
+	 * A day whose model is built line by line reads a compressed file, or one too large to map, in pieces as part of
+	 * its parse phase; any other input is mapped whole first.
+	 * @param day The day to run
+	 * @param input Path to the input file
+	 * @return Both answers and the time spent in each phase
+	 * @throws IOException If there's an error reading the input
+	 */
+	static SolverResult run(int day, Path input) throws IOException {
+		if (readsInPieces(day, input)) {
+			return parseInPieces(day, forDay(day), input).solve();
+		}
+		return run(day, PuzzleInput.map(input));
+	}
+
+	/**
+	 * Whether a day reads an input in pieces rather than mapping it whole: the day is an {@link AppendableSolver} and
+	 * the file is compressed or too large to map. Such an input is never held in one piece, so it has no hash to look
+	 * up in a {@link ResultCache}.
+	 * @param day The day to run
+	 * @param input Path to the input file
+	 * @return True if {@link #run(int, Path)} reads the input in pieces
+	 * @throws IOException If the file can't be opened
+	 */
+	static boolean readsInPieces(int day, Path input) throws IOException {
+		return forDay(day) instanceof AppendableSolver<?> && PuzzleInput.isChunked(input);
+	}
+
+	// Parses a file piece by piece as it's read, the reading counted as part of the parse
+	private static <M> Parsed<M> parseInPieces(int day, Solver<M> solver, Path input) throws IOException {
+		PhaseMeter meter = PhaseMeter.start(day, "parse");
+		M model = ((AppendableSolver<M>) solver).parse(input);
+		return new Parsed<>(day, solver, model, meter.stop());
+	}
+
+	// Runs one day over an input that is already mapped or in memory
+	static SolverResult run(int day, PuzzleInput input) {
+		return parse(day, input).solve();
+	}
+
+	/**
+	 * Runs one day, answering from a cache when it has both parts. A result that had to be computed is stored in the
+	 * cache and its runtime in the history; a cached one says nothing about how long the day takes.
+	 * @param day The day to run
+	 * @param input The mapped or in-memory input
+	 * @param cache The cache to consult, possibly bypassed
+	 * @param history The runtimes to update when the day is solved
+	 * @return Both answers and the cost of each phase; the lookup is the only phase of a cached result
+	 */
+	static SolverResult run(int day, PuzzleInput input, ResultCache cache, RuntimeHistory history) {
+		SolverResult cached = cache.lookup(day, input);
+		if (cached != null) {
+			return cached;
+		}
+		SolverResult result = run(day, input);
+		cache.store(input, result);
+		history.record(result);
+		return result;
+	}
+
+	/**
+	 * Runs only the parse phase of a day, so the parts can be run later, possibly on another thread.
+	 * @param day The day to parse
+	 * @param input The mapped or in-memory input
+	 * @return The parsed model, bound to the solver that made it
+	 */
+	static Parsed<?> parse(int day, PuzzleInput input) {
+		return parse(day, forDay(day), input);
+	}
+
+	// Captures the model type so the parsed model can be handed back to the same solver
+	private static <M> Parsed<M> parse(int day, Solver<M> solver, PuzzleInput input) {
+		PhaseMeter meter = PhaseMeter.start(day, "parse");
+		M model = solver.parse(input);
+		return new Parsed<>(day, solver, model, meter.stop());
+	}
+
+	// A day's parsed model together with its solver and what the parse cost
+	static final class Parsed<M> {
+		private final int day;
+		private final Solver<M> solver;
+		private final M model;
+		private final PhaseStats parse;
+
+		private Parsed(int day, Solver<M> solver, M model, PhaseStats parse) {
+			this.day = day;
+			this.solver = solver;
+			this.model = model;
+			this.parse = parse;
+		}
+
+		// Runs both parts one after the other on the calling thread, measuring each
+		SolverResult solve() {
+			PhaseMeter meter = PhaseMeter.start(day, "part one");
+			Object partOne = solver.partOne(model);
+			PhaseStats first = meter.stop();
+			meter = PhaseMeter.start(day, "part two");
+			Object partTwo = solver.partTwo(model);
+			PhaseStats second = meter.stop();
+			return new SolverResult(day, partOne, partTwo, parse, first, second);
+		}
+
+		/**
+		 * Parses lines appended to the input into this model, when the solver can, instead of parsing it all again.
+		 * The model is extended in place, so this {@code Parsed} must not be solved again afterwards.
+		 * @param input The whole input, starting with the bytes this model was parsed from
+		 * @param from Where the appended lines start
+		 * @return The extended model, whose parse phase is just the append, or null if the solver can only parse
+		 * an input from the start
+		 */
+		Parsed<M> append(PuzzleInput input, int from) {
+			if (!(solver instanceof AppendableSolver<M> appendable)) {
+				return null;
+			}
+			PhaseMeter meter = PhaseMeter.start(day, "append");
+			appendable.append(model, input, from);
+			return new Parsed<>(day, solver, model, meter.stop());
+		}
+	}
+}
@@ -0,0 +1,116 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs a selection of days concurrently instead of one after the other.
+ * Mapping an input mostly waits on the file, so each day does that on its own virtual thread; parsing and the parts
+ * are computation and go to a fork-join pool with one thread per core. Being platform threads, its workers also let
+ * {@link PhaseMeter} count what a phase allocates, and the parallel streams a large parse starts run on that pool
+ * rather than the common one. Days are submitted slowest first according to the {@link RuntimeHistory}, so the long
+ * days are already running while the short ones fill the gaps and the whole suite takes about as long as its slowest
+ * day. Looking up and storing cached answers is file I/O too and stays on the virtual threads.
+ * The two parts of a day still run one after the other on the same thread: some solvers keep caches in their model
+ * that aren't safe to share between threads.
+ */
+final class SuiteExecutor implements AutoCloseable {
+
+	private final ExecutorService io = Executors.newVirtualThreadPerTaskExecutor();
+	private final ForkJoinPool cpu;
+
+	// An executor whose compute pool has one thread per available core
+	SuiteExecutor() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	SuiteExecutor(int parallelism) {
+		this.cpu = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * Runs every day once, all at the same time.
+	 * A day whose input can't be read or whose solver fails is reported on stderr and left out of the results.
+	 * @param inputs The input of each day to run
+	 * @param history Past runtimes, to decide which days to start first
+	 * @param cache Answers known from earlier runs; a day found there is neither parsed nor solved
+	 * (the history is updated with the runtime of every day that is solved)
+	 * @return The results of the days that succeeded, in ascending day order
+	 */
+	List<SolverResult> run(Map<Integer, Path> inputs, RuntimeHistory history, ResultCache cache) {
+		Map<Integer, CompletableFuture<SolverResult>> pending = new LinkedHashMap<>();
+		for (int day : history.longestFirst(inputs.keySet())) {
+			Path input = inputs.get(day);
+			pending.put(day, CompletableFuture
+					.supplyAsync(() -> map(day, input), io)
+					.thenCompose(puzzle -> {
+						if (puzzle == null) {
+							// Read in pieces as it's parsed, with nothing to look up in the cache
+							return CompletableFuture.supplyAsync(() -> solve(day, input), cpu)
+									.thenApply(result -> {
+										history.record(result);
+										return result;
+									});
+						}
+						SolverResult cached = cache.lookup(day, puzzle);
+						if (cached != null) {
+							return CompletableFuture.completedFuture(cached);
+						}
+						return CompletableFuture
+								.supplyAsync(() -> Solvers.parse(day, puzzle), cpu)
+								.thenApply(Solvers.Parsed::solve)
+								.thenApplyAsync(result -> {
+									cache.store(puzzle, result);
+									history.record(result);
+									return result;
+								}, io);
+					}));
+		}
+
+		List<SolverResult> results = new ArrayList<>();
+		for (Map.Entry<Integer, CompletableFuture<SolverResult>> entry : pending.entrySet()) {
+			try {
+				results.add(entry.getValue().join());
+			} catch (CompletionException e) {
+				Throwable cause = e.getCause() instanceof UncheckedIOException io ? io.getCause() : e.getCause();
+				System.err.println("Day " + entry.getKey() + ": failed on " + inputs.get(entry.getKey()) + ": " + cause);
+			}
+		}
+		results.sort(Comparator.comparingInt(SolverResult::day));
+		return results;
+	}
+
+	// Maps an input on the calling virtual thread, or returns null for one the day reads in pieces, rethrowing
+	// unchecked so it can complete a future
+	private static PuzzleInput map(int day, Path input) {
+		try {
+			return Solvers.readsInPieces(day, input) ? null : PuzzleInput.map(input);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// Reads an input in pieces and solves it on the calling thread
+	private static SolverResult solve(int day, Path input) {
+		try {
+			return Solvers.run(day, input);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		io.shutdown();
+		cpu.shutdown();
+	}
+}
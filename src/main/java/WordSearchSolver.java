@@ -1,18 +1,20 @@
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 
-public class WordSearchSolver {
-
-	// Directions for 8 possible ways: {row offset, col offset}
-	private static final int[][] DIRECTIONS = {
-			{0, 1},   // Right
-			{0, -1},  // Left
-			{1, 0},   // Down
-			{-1, 0},  // Up
-			{1, 1},   // Diagonal Down-Right
-			{1, -1},  // Diagonal Down-Left
-			{-1, 1},  // Diagonal Up-Right
-			{-1, -1}  // Diagonal Up-Left
+// Day 4: part one counts XMAS in every direction here, part two counts X-MAS crosses with XMASFinder
+public class WordSearchSolver implements Solver<ByteGrid> {
+
+	// Directions for 8 possible ways, as ByteGrid directions
+	private static final int[] DIRECTIONS = {
+			ByteGrid.EAST,       // Right
+			ByteGrid.WEST,       // Left
+			ByteGrid.SOUTH,      // Down
+			ByteGrid.NORTH,      // Up
+			ByteGrid.SOUTH_EAST, // Diagonal Down-Right
+			ByteGrid.SOUTH_WEST, // Diagonal Down-Left
+			ByteGrid.NORTH_EAST, // Diagonal Up-Right
+			ByteGrid.NORTH_WEST  // Diagonal Up-Left
 	};
 	private static final String TARGET_WORD = "XMAS";
 
@@ -23,17 +25,12 @@ public class WordSearchSolver {
 
 		try {
 			// Read the grid from the input file
-			List<String> grid = readGridFromFile(filePath);
-			int rowCount = grid.size();
-			int colCount = grid.get(0).length();
+			ByteGrid grid = ByteGrid.from(PuzzleInput.map(Path.of(filePath)));
 
-			System.out.println("Grid successfully loaded. Rows: " + rowCount + ", Columns: " + colCount);
-
-			// Convert the grid into a 2D character array
-			char[][] charGrid = convertToCharGrid(grid);
+			System.out.println("Grid successfully loaded. Rows: " + grid.height() + ", Columns: " + grid.width());
 
 			// Count occurrences of the target word
-			int totalOccurrences = countWordOccurrences(charGrid, TARGET_WORD);
+			int totalOccurrences = countWordOccurrences(grid, TARGET_WORD);
 
 			System.out.println("The word \"" + TARGET_WORD + "\" appears " + totalOccurrences + " times in the grid.");
 		} catch (IOException e) {
@@ -41,57 +38,37 @@ public class WordSearchSolver {
 		}
 	}
 
-	/**
-	 * Reads the word search grid from a file.
-	 * @param filePath The path to the input file.
-	 * @return A list of strings representing the rows of the grid.
-	 * @throws IOException If there is an error reading the file.
-	 */
-	private static List<String> readGridFromFile(String filePath) throws IOException {
-		List<String> grid = new ArrayList<>();
-		try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-			String line;
-			while ((line = reader.readLine()) != null) {
-				grid.add(line.trim());
-			}
-		}
-		return grid;
+	@Override
+	public ByteGrid parse(PuzzleInput input) {
+		return ByteGrid.from(input);
 	}
 
-	/**
-	 * Converts a list of strings into a 2D character array.
-	 * @param grid The list of strings representing the grid.
-	 * @return A 2D character array representing the grid.
-	 */
-	private static char[][] convertToCharGrid(List<String> grid) {
-		int rows = grid.size();
-		int cols = grid.get(0).length();
-		char[][] charGrid = new char[rows][cols];
+	@Override
+	public Object partOne(ByteGrid grid) {
+		return countWordOccurrences(grid, TARGET_WORD);
+	}
 
-		for (int i = 0; i < rows; i++) {
-			charGrid[i] = grid.get(i).toCharArray();
-		}
-		return charGrid;
+	@Override
+	public Object partTwo(ByteGrid grid) {
+		return XMASFinder.countXMASPatterns(grid);
 	}
 
 	/**
 	 * Counts the occurrences of the target word in the grid.
-	 * @param grid The 2D character array representing the word search grid.
+	 * @param grid The word search grid.
 	 * @param word The word to search for.
 	 * @return The total number of occurrences of the word in all 8 directions.
 	 */
-	private static int countWordOccurrences(char[][] grid, String word) {
-		int rowCount = grid.length;
-		int colCount = grid[0].length;
-		int wordLength = word.length();
+	static int countWordOccurrences(ByteGrid grid, String word) {
 		int totalOccurrences = 0;
 
 		// Iterate through each cell in the grid
-		for (int row = 0; row < rowCount; row++) {
-			for (int col = 0; col < colCount; col++) {
+		for (int row = 0; row < grid.height(); row++) {
+			for (int col = 0; col < grid.width(); col++) {
+				int start = grid.index(col, row);
 				// Check all 8 directions
-				for (int[] direction : DIRECTIONS) {
-					if (isWordInDirection(grid, word, row, col, direction[0], direction[1])) {
+				for (int direction : DIRECTIONS) {
+					if (isWordInDirection(grid, word, start, grid.offset(direction))) {
 						totalOccurrences++;
 					}
 				}
@@ -103,31 +80,19 @@ public class WordSearchSolver {
 
 	/**
 	 * Checks if the target word exists starting from a given position in a specific direction.
-	 * @param grid The 2D character array grid.
+	 * No bounds check is needed: the walk stops at the first mismatch, and the border matches no letter.
+	 * @param grid The word search grid.
 	 * @param word The target word to search for.
-	 * @param startRow The starting row index.
-	 * @param startCol The starting column index.
-	 * @param rowStep The row increment for the direction.
-	 * @param colStep The column increment for the direction.
+	 * @param start The index of the starting cell.
+	 * @param step The index offset for the direction.
 	 * @return True if the word is found in the specified direction, otherwise false.
 	 */
-	private static boolean isWordInDirection(char[][] grid, String word, int startRow, int startCol, int rowStep, int colStep) {
-		int rowCount = grid.length;
-		int colCount = grid[0].length;
+	private static boolean isWordInDirection(ByteGrid grid, String word, int start, int step) {
 		int wordLength = word.length();
 
-		// Check if the word can fit in the given direction
-		for (int i = 0; i < wordLength; i++) {
-			int currentRow = startRow + i * rowStep;
-			int currentCol = startCol + i * colStep;
-
-			// Check boundaries
-			if (currentRow < 0 || currentRow >= rowCount || currentCol < 0 || currentCol >= colCount) {
-				return false;
-			}
-
+		for (int i = 0, index = start; i < wordLength; i++, index += step) {
 			// Compare the character
-			if (grid[currentRow][currentCol] != word.charAt(i)) {
+			if (grid.get(index) != word.charAt(i)) {
 				return false;
 			}
 		}
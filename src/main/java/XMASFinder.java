@@ -1,12 +1,14 @@
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 
 public class XMASFinder {
 
 	private static final String MAS = "MAS"; // The word to search
 	private static final int MAS_LENGTH = MAS.length(); // Length of the word
-	private static final int[][] TOP_LEFT_TO_BOTTOM_RIGHT = {{-1, -1}, {0, 0}, {1, 1}}; // ↘ diagonal
-	private static final int[][] TOP_RIGHT_TO_BOTTOM_LEFT = {{-1, 1}, {0, 0}, {1, -1}}; // ↙ diagonal
+	private static final String SAM = new StringBuilder(MAS).reverse().toString(); // The word read backwards
+	private static final int TOP_LEFT_TO_BOTTOM_RIGHT = ByteGrid.SOUTH_EAST; // ↘ diagonal
+	private static final int TOP_RIGHT_TO_BOTTOM_LEFT = ByteGrid.SOUTH_WEST; // ↙ diagonal
 
 	public static void main(String[] args) {
 		Scanner scanner = new Scanner(System.in);
@@ -15,17 +17,12 @@ public class XMASFinder {
 
 		try {
 			// Read the grid from the input file
-			List<String> grid = readGridFromFile(filePath);
-			int rowCount = grid.size();
-			int colCount = grid.get(0).length();
+			ByteGrid grid = ByteGrid.from(PuzzleInput.map(Path.of(filePath)));
 
-			System.out.println("Grid successfully loaded. Rows: " + rowCount + ", Columns: " + colCount);
-
-			// Convert the grid into a 2D character array
-			char[][] charGrid = convertToCharGrid(grid);
+			System.out.println("Grid successfully loaded. Rows: " + grid.height() + ", Columns: " + grid.width());
 
 			// Count occurrences of X-MAS patterns
-			int totalOccurrences = countXMASPatterns(charGrid);
+			int totalOccurrences = countXMASPatterns(grid);
 
 			System.out.println("The X-MAS pattern appears " + totalOccurrences + " times in the grid.");
 		} catch (IOException e) {
@@ -33,47 +30,17 @@ public class XMASFinder {
 		}
 	}
 
-	/**
-	 * Reads the word search grid from a file.
-	 */
-	private static List<String> readGridFromFile(String filePath) throws IOException {
-		List<String> grid = new ArrayList<>();
-		try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-			String line;
-			while ((line = reader.readLine()) != null) {
-				grid.add(line.trim());
-			}
-		}
-		return grid;
-	}
-
-	/**
-	 * Converts a list of strings into a 2D character array.
-	 */
-	private static char[][] convertToCharGrid(List<String> grid) {
-		int rows = grid.size();
-		int cols = grid.get(0).length();
-		char[][] charGrid = new char[rows][cols];
-
-		for (int i = 0; i < rows; i++) {
-			charGrid[i] = grid.get(i).toCharArray();
-		}
-		return charGrid;
-	}
-
 	/**
 	 * Counts the occurrences of the X-MAS pattern in the grid.
 	 */
-	private static int countXMASPatterns(char[][] grid) {
-		int rowCount = grid.length;
-		int colCount = grid[0].length;
+	static int countXMASPatterns(ByteGrid grid) {
 		int totalOccurrences = 0;
 
 		// Iterate through each cell in the grid
-		for (int row = 0; row < rowCount; row++) {
-			for (int col = 0; col < colCount; col++) {
+		for (int row = 0; row < grid.height(); row++) {
+			for (int col = 0; col < grid.width(); col++) {
 				// Check for X-MAS centered at (row, col)
-				if (isXMASAt(grid, row, col)) {
+				if (isXMASAt(grid, grid.index(col, row))) {
 					totalOccurrences++;
 				}
 			}
@@ -84,39 +51,31 @@ public class XMASFinder {
 	/**
 	 * Checks if an X-MAS pattern is centered at a given position.
 	 */
-	private static boolean isXMASAt(char[][] grid, int centerRow, int centerCol) {
-		return checkMAS(grid, centerRow, centerCol, TOP_LEFT_TO_BOTTOM_RIGHT) &&
-				checkMAS(grid, centerRow, centerCol, TOP_RIGHT_TO_BOTTOM_LEFT);
+	private static boolean isXMASAt(ByteGrid grid, int center) {
+		return checkMAS(grid, center, TOP_LEFT_TO_BOTTOM_RIGHT) &&
+				checkMAS(grid, center, TOP_RIGHT_TO_BOTTOM_LEFT);
 	}
 
 	/**
 	 * Checks if the "MAS" sequence appears in the specified direction.
 	 * @param grid The grid.
-	 * @param centerRow The center row of the X.
-	 * @param centerCol The center column of the X.
-	 * @param direction The direction offsets to check.
+	 * @param center The index of the center of the X.
+	 * @param direction The ByteGrid direction of the diagonal to check.
 	 * @return True if "MAS" appears in this direction, else false.
 	 */
-	private static boolean checkMAS(char[][] grid, int centerRow, int centerCol, int[][] direction) {
-		return checkWordInDirection(grid, centerRow, centerCol, direction, MAS) ||
-				checkWordInDirection(grid, centerRow, centerCol, direction, new StringBuilder(MAS).reverse().toString());
+	private static boolean checkMAS(ByteGrid grid, int center, int direction) {
+		return checkWordInDirection(grid, center, grid.offset(direction), MAS) ||
+				checkWordInDirection(grid, center, grid.offset(direction), SAM);
 	}
 
 	/**
-	 * Checks if a word appears starting from the center in a given direction.
+	 * Checks if a word appears through the center in a given direction, starting one cell before it.
+	 * The center is inside the puzzle, so one cell either side is at worst the border, which matches no letter.
 	 */
-	private static boolean checkWordInDirection(char[][] grid, int centerRow, int centerCol, int[][] direction, String word) {
-		for (int i = 0; i < word.length(); i++) {
-			int row = centerRow + direction[i][0];
-			int col = centerCol + direction[i][1];
-
-			// Check boundaries
-			if (row < 0 || row >= grid.length || col < 0 || col >= grid[0].length) {
-				return false;
-			}
-
+	private static boolean checkWordInDirection(ByteGrid grid, int center, int step, String word) {
+		for (int i = 0, index = center - step; i < word.length(); i++, index += step) {
 			// Compare the character
-			if (grid[row][col] != word.charAt(i)) {
+			if (grid.get(index) != word.charAt(i)) {
 				return false;
 			}
 		}